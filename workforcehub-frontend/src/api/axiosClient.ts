@@ -9,6 +9,11 @@ export function registerTokenAccessor(fn: () => string | null) {
   _getToken = fn
 }
 
+/** Current bearer token — for requests made outside Axios (e.g. fetch-based streams). */
+export function getAccessToken(): string | null {
+  return getBackendAccessToken() ?? _getToken?.() ?? null
+}
+
 const client = axios.create({
   baseURL: import.meta.env.VITE_API_GATEWAY_URL || 'http://localhost:8080',
   timeout: 30_000,
@@ -19,7 +24,7 @@ const client = axios.create({
 
 // ── Request interceptor — attach Bearer token (backend JWT preferred) ───────
 client.interceptors.request.use((config: InternalAxiosRequestConfig) => {
-  const token = getBackendAccessToken() ?? _getToken?.()
+  const token = getAccessToken()
   if (token) {
     config.headers.Authorization = `Bearer ${token}`
   }
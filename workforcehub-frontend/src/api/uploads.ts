@@ -1,10 +1,16 @@
-import client from './axiosClient'
-import type { UploadJob } from '@/types'
+import client, { getAccessToken } from './axiosClient'
+import type { IngestMode, UploadJob, UploadProgress, UploadSession } from '@/types'
+
+/** Files above this size go through a resumable upload session instead of one multipart request */
+export const CHUNKED_UPLOAD_THRESHOLD = 32 * 1024 * 1024
+const CHUNK_CONCURRENCY = 4
+const CHUNK_ATTEMPTS = 4
 
 export async function uploadEmployeeFile(
   file: File,
   description?: string,
-  onProgress?: (pct: number) => void
+  onProgress?: (pct: number) => void,
+  mode: IngestMode = 'UPSERT'
 ): Promise<UploadJob> {
   const form = new FormData()
   form.append('file', file)
@@ -12,6 +18,7 @@ export async function uploadEmployeeFile(
 
   const { data } = await client.post<UploadJob>('/api/v1/uploads', form, {
     headers: { 'Content-Type': 'multipart/form-data' },
+    params: { mode },
     onUploadProgress: (e) => {
       if (e.total) onProgress?.(Math.round((e.loaded / e.total) * 100))
     },
@@ -19,6 +26,106 @@ export async function uploadEmployeeFile(
   return data
 }
 
+/**
+ * Uploads a large file in chunks through an upload session: up to
+ * CHUNK_CONCURRENCY chunks in flight, each retried on its own. The session id
+ * is remembered per file, so re-selecting the same file after a reload or a
+ * failure only sends the chunks the server does not have yet.
+ */
+export async function uploadEmployeeFileResumable(
+  file: File,
+  onProgress?: (pct: number) => void,
+  mode: IngestMode = 'UPSERT'
+): Promise<UploadJob> {
+  const resumeKey = `upload-session:${file.name}:${file.size}:${file.lastModified}`
+  const session = (await resumeSession(localStorage.getItem(resumeKey))) ?? (await createSession(file))
+  localStorage.setItem(resumeKey, session.id)
+
+  const received = new Set(session.receivedChunks)
+  const pending = Array.from({ length: session.totalChunks }, (_, i) => i).filter(i => !received.has(i))
+  const chunkBytes = (i: number) => Math.min(session.chunkSize, file.size - i * session.chunkSize)
+  let sent = session.receivedChunks.reduce((sum, i) => sum + chunkBytes(i), 0)
+  const inFlight = new Map<number, number>()
+  const report = () => {
+    const partial = Array.from(inFlight.values()).reduce((a, b) => a + b, 0)
+    onProgress?.(Math.min(99, Math.round(((sent + partial) / file.size) * 100)))
+  }
+
+  const worker = async () => {
+    for (let i = pending.shift(); i !== undefined; i = pending.shift()) {
+      await putChunk(session, file, i, loaded => { inFlight.set(i, loaded); report() })
+      inFlight.delete(i)
+      sent += chunkBytes(i)
+      report()
+    }
+  }
+  await Promise.all(Array.from({ length: CHUNK_CONCURRENCY }, worker))
+
+  const { data } = await client.post<UploadJob>(`/api/v1/uploads/sessions/${session.id}/complete`, null, {
+    params: { mode },
+  })
+  localStorage.removeItem(resumeKey)
+  onProgress?.(100)
+  return data
+}
+
+async function resumeSession(id: string | null): Promise<UploadSession | null> {
+  if (!id) return null
+  try {
+    const { data } = await client.get<UploadSession>(`/api/v1/uploads/sessions/${id}`)
+    return data.status === 'OPEN' ? data : null
+  } catch {
+    return null
+  }
+}
+
+async function createSession(file: File): Promise<UploadSession> {
+  const { data } = await client.post<UploadSession>('/api/v1/uploads/sessions', {
+    filename: file.name,
+    contentType: contentTypeOf(file),
+    fileSize: file.size,
+  })
+  return data
+}
+
+async function putChunk(
+  session: UploadSession,
+  file: File,
+  index: number,
+  onLoaded: (bytes: number) => void
+): Promise<void> {
+  const start = index * session.chunkSize
+  const chunk = file.slice(start, Math.min(start + session.chunkSize, file.size))
+  const digest = await crypto.subtle.digest('SHA-256', await chunk.arrayBuffer())
+  const sha256 = Array.from(new Uint8Array(digest), b => b.toString(16).padStart(2, '0')).join('')
+
+  for (let attempt = 1; ; attempt++) {
+    try {
+      await client.put(`/api/v1/uploads/sessions/${session.id}/chunks/${index}`, chunk, {
+        headers: { 'Content-Type': 'application/octet-stream', 'X-Chunk-SHA256': sha256 },
+        timeout: 120_000,
+        onUploadProgress: e => onLoaded(e.loaded),
+      })
+      return
+    } catch (err) {
+      onLoaded(0)
+      // Retry network errors, 5xx and 400 (a checksum mismatch means the bytes were damaged in transit);
+      // other 4xx responses will not change on retry
+      const status = (err as { response?: { status?: number } }).response?.status
+      if (attempt >= CHUNK_ATTEMPTS || (status && status >= 401 && status < 500)) throw err
+      await new Promise(resolve => setTimeout(resolve, 500 * 2 ** attempt))
+    }
+  }
+}
+
+function contentTypeOf(file: File): string {
+  if (file.name.endsWith('.gz')) return 'application/gzip'
+  if (file.name.endsWith('.zst')) return 'application/zstd'
+  if (file.name.endsWith('.csv')) return 'text/csv'
+  if (file.name.endsWith('.xls')) return 'application/vnd.ms-excel'
+  return 'application/vnd.openxmlformats-officedocument.spreadsheetml.sheet'
+}
+
 export async function fetchUploadJob(id: string): Promise<UploadJob> {
   const { data } = await client.get<UploadJob>(`/api/v1/uploads/${id}`)
   return data
@@ -28,3 +135,48 @@ export async function fetchUploadJobs(): Promise<UploadJob[]> {
   const { data } = await client.get<{ content: UploadJob[] }>('/api/v1/uploads')
   return data.content
 }
+
+/**
+ * Streams progress events for one upload job until the server completes the
+ * stream (job finished) or `signal` aborts it.
+ *
+ * Uses fetch rather than EventSource because the gateway only accepts the
+ * token in the Authorization header, which EventSource cannot set.
+ */
+export async function streamUploadEvents(
+  id: string,
+  onProgress: (progress: UploadProgress) => void,
+  signal: AbortSignal
+): Promise<void> {
+  const token = getAccessToken()
+  const res = await fetch(`${client.defaults.baseURL}/api/v1/uploads/${id}/events`, {
+    headers: {
+      Accept: 'text/event-stream',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    signal,
+  })
+  if (res.status === 401) window.dispatchEvent(new CustomEvent('auth:unauthorized'))
+  if (!res.ok || !res.body) throw new Error(`Upload event stream failed (${res.status})`)
+
+  const reader = res.body.pipeThrough(new TextDecoderStream()).getReader()
+  let buffer = ''
+  for (;;) {
+    const { value, done } = await reader.read()
+    if (done) return
+    buffer += value.replace(/\r\n?/g, '\n')
+
+    // Events are separated by a blank line; comment lines (":keepalive") carry no data
+    let end: number
+    while ((end = buffer.indexOf('\n\n')) >= 0) {
+      const frame = buffer.slice(0, end)
+      buffer = buffer.slice(end + 2)
+      const data = frame
+        .split('\n')
+        .filter(line => line.startsWith('data:'))
+        .map(line => line.slice(5).replace(/^ /, ''))
+        .join('\n')
+      if (data) onProgress(JSON.parse(data) as UploadProgress)
+    }
+  }
+}
@@ -1,6 +1,6 @@
 import { useState, useRef, useCallback } from 'react'
 import { useMutation, useQueryClient } from '@tanstack/react-query'
-import { uploadEmployeeFile } from '@/api/uploads'
+import { CHUNKED_UPLOAD_THRESHOLD, uploadEmployeeFile, uploadEmployeeFileResumable } from '@/api/uploads'
 import { Button } from '@/components/ui/Button'
 import { Badge } from '@/components/ui/Badge'
 import { cn } from '@/utils/cn'
@@ -8,20 +8,29 @@ import { Upload, FileSpreadsheet, X, CheckCircle, AlertCircle, CloudUpload } fro
 import toast from 'react-hot-toast'
 import type { UploadJob } from '@/types'
 
+const SUPPORTED_EXTENSIONS = ['.csv', '.csv.gz', '.csv.zst', '.xlsx', '.xls']
+
 export function FileUploadZone() {
   const [dragging, setDragging]   = useState(false)
   const [file, setFile]           = useState<File | null>(null)
   const [progress, setProgress]   = useState(0)
   const [result, setResult]       = useState<UploadJob | null>(null)
+  const [snapshot, setSnapshot]   = useState(false)
   const inputRef                  = useRef<HTMLInputElement>(null)
   const queryClient               = useQueryClient()
 
   const mutation = useMutation({
-    mutationFn: (f: File) => uploadEmployeeFile(f, undefined, setProgress),
+    mutationFn: (f: File) => f.size > CHUNKED_UPLOAD_THRESHOLD
+      ? uploadEmployeeFileResumable(f, setProgress, snapshot ? 'DIFF' : 'UPSERT')
+      : uploadEmployeeFile(f, undefined, setProgress, snapshot ? 'DIFF' : 'UPSERT'),
     onSuccess: (data) => {
       setResult(data)
       queryClient.invalidateQueries({ queryKey: ['uploads'] })
-      toast.success(`Upload accepted — Job ID: ${data.id.slice(0, 8)}…`)
+      if (data.duplicateOf) {
+        toast.success('Identical to your last upload — reused its result without reprocessing.')
+      } else {
+        toast.success(`Upload accepted — Job ID: ${data.id.slice(0, 8)}…`)
+      }
     },
     onError: () => {
       toast.error('Upload failed. Please check the file format and try again.')
@@ -29,8 +38,9 @@ export function FileUploadZone() {
   })
 
   const accept = (f: File) => {
-    const ok = f.name.endsWith('.csv') || f.name.endsWith('.xlsx') || f.name.endsWith('.xls')
-    if (!ok) { toast.error('Only CSV and Excel files are supported.'); return }
+    const name = f.name.toLowerCase()
+    const ok = SUPPORTED_EXTENSIONS.some(ext => name.endsWith(ext))
+    if (!ok) { toast.error('Only CSV (optionally .gz or .zst compressed) and Excel files are supported.'); return }
     setFile(f)
     setResult(null)
     setProgress(0)
@@ -67,7 +77,7 @@ export function FileUploadZone() {
           <input
             ref={inputRef}
             type="file"
-            accept=".csv,.xlsx,.xls"
+            accept={SUPPORTED_EXTENSIONS.join(',')}
             className="hidden"
             onChange={e => { const f = e.target.files?.[0]; if (f) accept(f) }}
           />
@@ -84,12 +94,12 @@ export function FileUploadZone() {
               {dragging ? 'Drop your file here' : 'Drop CSV or Excel file here'}
             </p>
             <p className="text-xs text-ink-muted">
-              or <span className="text-brand hover:text-brand-bright">click to browse</span> · max 50 MB
+              or <span className="text-brand hover:text-brand-bright">click to browse</span> · max 10 GB
             </p>
           </div>
 
           <div className="flex gap-2">
-            {['.csv', '.xlsx', '.xls'].map(ext => (
+            {SUPPORTED_EXTENSIONS.map(ext => (
               <span key={ext} className="px-2 py-1 bg-surface-3 rounded-lg text-xs font-mono text-ink-muted">{ext}</span>
             ))}
           </div>
@@ -144,6 +154,21 @@ export function FileUploadZone() {
             </div>
           </div>
 
+          {!mutation.isPending && !result && (
+            <label className="mt-4 flex items-start gap-2 text-xs text-ink-muted cursor-pointer">
+              <input
+                type="checkbox"
+                checked={snapshot}
+                onChange={e => setSnapshot(e.target.checked)}
+                className="mt-0.5 accent-brand"
+              />
+              <span>
+                <span className="text-ink">Full snapshot</span> — only changed rows are written, and
+                employees missing from this file are removed
+              </span>
+            </label>
+          )}
+
           {!mutation.isPending && !result && (
             <div className="mt-4 flex gap-2">
               <Button
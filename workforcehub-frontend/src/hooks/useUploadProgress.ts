@@ -0,0 +1,62 @@
+import { useEffect } from 'react'
+import { useQueryClient } from '@tanstack/react-query'
+import { streamUploadEvents } from '@/api/uploads'
+import type { UploadJob, UploadProgress } from '@/types'
+
+const ACTIVE: UploadJob['status'][] = ['PENDING', 'PROCESSING']
+const RECONNECT_DELAY_MS = 3000
+
+/**
+ * Keeps the ['uploads'] query up to date from server-sent progress events
+ * instead of polling. One stream is held per in-flight job; streams close
+ * when the job finishes, after which the list is refetched once.
+ */
+export function useUploadProgress(uploads: UploadJob[] | undefined) {
+  const queryClient = useQueryClient()
+
+  const activeIds = (uploads ?? [])
+    .filter(u => ACTIVE.includes(u.status))
+    .map(u => u.id)
+    .sort()
+    .join(',')
+
+  useEffect(() => {
+    if (!activeIds) return
+    const controller = new AbortController()
+
+    const apply = (p: UploadProgress) =>
+      queryClient.setQueryData<UploadJob[]>(['uploads'], jobs =>
+        jobs?.map(job =>
+          job.id === p.uploadJobId
+            ? {
+                ...job,
+                status: p.status,
+                totalRows: p.totalRows ?? job.totalRows,
+                processedRows: p.processedRows,
+                failedRows: p.failedRows,
+                etaSeconds: p.etaSeconds,
+                updatedAt: p.updatedAt ?? job.updatedAt,
+              }
+            : job
+        )
+      )
+
+    const follow = async (id: string) => {
+      while (!controller.signal.aborted) {
+        try {
+          await streamUploadEvents(id, apply, controller.signal)
+          break
+        } catch {
+          if (controller.signal.aborted) return
+          await new Promise(resolve => setTimeout(resolve, RECONNECT_DELAY_MS))
+        }
+      }
+      if (!controller.signal.aborted) {
+        queryClient.invalidateQueries({ queryKey: ['uploads'] })
+      }
+    }
+
+    activeIds.split(',').forEach(follow)
+    return () => controller.abort()
+  }, [activeIds, queryClient])
+}
@@ -1,19 +1,19 @@
 import { useQuery } from '@tanstack/react-query'
 import { fetchUploadJobs } from '@/api/uploads'
+import { useUploadProgress } from '@/hooks/useUploadProgress'
 import { FileUploadZone } from '@/components/upload/FileUploadZone'
 import { Badge } from '@/components/ui/Badge'
 import { Card, CardBody, CardHeader } from '@/components/ui/Card'
 import { Spinner } from '@/components/ui/Spinner'
-import { formatDateTime, STATUS_LABELS } from '@/utils/format'
+import { formatDateTime, formatEta, STATUS_LABELS } from '@/utils/format'
 import { Upload, FileSpreadsheet, BarChart2 } from 'lucide-react'
 
 export function UploadsPage() {
   const { data: uploads, isLoading } = useQuery({
     queryKey: ['uploads'],
     queryFn:  fetchUploadJobs,
-    refetchInterval: (data) =>
-      data?.some(u => u.status === 'PENDING' || u.status === 'PROCESSING') ? 3000 : false,
   })
+  useUploadProgress(uploads)
 
   return (
     <div className="space-y-6">
@@ -84,6 +84,9 @@ export function UploadsPage() {
                               {job.failedRows > 0 && (
                                 <span className="text-accent-rose ml-1">· {job.failedRows} failed</span>
                               )}
+                              {job.status === 'PROCESSING' && job.etaSeconds != null && (
+                                <span className="ml-1">· ~{formatEta(job.etaSeconds)} left</span>
+                              )}
                             </span>
                           </div>
                         )}
@@ -34,18 +34,49 @@ export interface PageParams {
 // ── Upload ────────────────────────────────────────────────────────────────────
 export type UploadStatus = 'PENDING' | 'PROCESSING' | 'COMPLETED' | 'FAILED' | 'PARTIAL'
 export type FileType = 'CSV' | 'EXCEL'
+/** DIFF treats the file as a full snapshot: employees missing from it are removed */
+export type IngestMode = 'UPSERT' | 'DIFF'
 
 export interface UploadJob {
   id: string
   originalFilename: string
   fileType: FileType
+  compression?: 'NONE' | 'GZIP' | 'ZSTD'
   status: UploadStatus
+  ingestMode?: IngestMode
   totalRows: number | null
   processedRows: number
   failedRows: number
   errorMessage: string | null
+  /** Set when the file was identical to this earlier upload and its result was reused */
+  duplicateOf?: string | null
   createdAt: string
   updatedAt: string
+  /** Only present while a progress stream is open for the job */
+  etaSeconds?: number | null
+}
+
+export interface UploadSession {
+  id: string
+  originalFilename: string
+  status: 'OPEN' | 'COMPLETING' | 'COMPLETED' | 'ABORTED' | 'EXPIRED'
+  fileSize: number
+  chunkSize: number
+  totalChunks: number
+  receivedChunks: number[]
+  uploadJobId: string | null
+  expiresAt: string
+}
+
+export interface UploadProgress {
+  uploadJobId: string
+  status: UploadStatus
+  ingestMode?: IngestMode
+  totalRows: number | null
+  processedRows: number
+  failedRows: number
+  etaSeconds: number | null
+  updatedAt: string | null
 }
 
 // ── Auth ──────────────────────────────────────────────────────────────────────
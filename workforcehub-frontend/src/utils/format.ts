@@ -22,3 +22,9 @@ export const STATUS_LABELS: Record<string, string> = {
 export function truncate(str: string, n = 30): string {
   return str.length > n ? str.slice(0, n) + '…' : str
 }
+
+export function formatEta(seconds: number): string {
+  if (seconds < 60) return `${Math.max(1, Math.round(seconds))}s`
+  if (seconds < 3600) return `${Math.round(seconds / 60)}m`
+  return `${Math.floor(seconds / 3600)}h ${Math.round((seconds % 3600) / 60)}m`
+}
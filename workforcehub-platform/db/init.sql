@@ -4,6 +4,8 @@
 -- ============================================================
 
 CREATE EXTENSION IF NOT EXISTS "pgcrypto";
+CREATE EXTENSION IF NOT EXISTS "pg_trgm";
+CREATE EXTENSION IF NOT EXISTS "btree_gin";
 
 -- ============================================================
 -- upload_jobs
@@ -13,10 +15,16 @@ CREATE TABLE IF NOT EXISTS upload_jobs (
     tenant_id         VARCHAR(128) NOT NULL,
     original_filename VARCHAR(500) NOT NULL,
     file_type         VARCHAR(20)  NOT NULL CHECK (file_type IN ('CSV', 'EXCEL')),
+    storage_key       VARCHAR(512),
     status            VARCHAR(20)  NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED', 'PARTIAL')),
     total_rows        INT,
     processed_rows    INT          DEFAULT 0,
     failed_rows       INT          DEFAULT 0,
+    checkpoint_row    BIGINT       NOT NULL DEFAULT 0,
+    content_hash      VARCHAR(100),
+    ingest_mode       VARCHAR(20)  NOT NULL DEFAULT 'UPSERT' CHECK (ingest_mode IN ('UPSERT', 'DIFF')),
+    compression       VARCHAR(10)  NOT NULL DEFAULT 'NONE' CHECK (compression IN ('NONE', 'GZIP', 'ZSTD')),
+    duplicate_of      UUID         REFERENCES upload_jobs(id),
     error_message     TEXT,
     created_by        VARCHAR(255),
     created_at        TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
@@ -27,6 +35,21 @@ CREATE TABLE IF NOT EXISTS upload_jobs (
 CREATE INDEX IF NOT EXISTS idx_upload_jobs_tenant_id     ON upload_jobs(tenant_id) WHERE deleted = FALSE;
 CREATE INDEX IF NOT EXISTS idx_upload_jobs_tenant_status ON upload_jobs(tenant_id, status) WHERE deleted = FALSE;
 CREATE INDEX IF NOT EXISTS idx_upload_jobs_created       ON upload_jobs(created_at DESC);
+-- Content-addressed lookup of a tenant's earlier upload of the same bytes
+CREATE INDEX IF NOT EXISTS idx_upload_jobs_tenant_content ON upload_jobs(tenant_id, content_hash, created_at DESC) WHERE deleted = FALSE;
+
+-- Checkpoints of a job processed in parallel segments (ParallelUploadProcessor).
+-- Segments commit out of order, so each records how far it got in place of
+-- upload_jobs.checkpoint_row; they are removed once the job is checkpointed whole
+CREATE TABLE IF NOT EXISTS upload_job_segments (
+    upload_job_id  UUID    NOT NULL REFERENCES upload_jobs(id) ON DELETE CASCADE,
+    first_row      BIGINT  NOT NULL,
+    end_row        BIGINT  NOT NULL,
+    checkpoint_row BIGINT  NOT NULL,
+    processed_rows INT     NOT NULL,
+    failed_rows    INT     NOT NULL,
+    PRIMARY KEY (upload_job_id, first_row)
+);
 
 -- ============================================================
 -- employees
@@ -42,16 +65,101 @@ CREATE TABLE IF NOT EXISTS employees (
     job_title     VARCHAR(255),
     hire_date     DATE,
     status        VARCHAR(20)  NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE', 'PENDING')),
+    fingerprint   BIGINT,
+    -- Lower-cased name, email local part and job title for directory search.
+    -- The domain is left out: it is shared by most of a tenant, so it would
+    -- make queries like "com" or "example" match every row
+    search_text   TEXT GENERATED ALWAYS AS (
+                      lower(first_name || ' ' || last_name || ' ' || split_part(email, '@', 1) || ' ' || coalesce(job_title, ''))
+                  ) STORED,
     created_at    TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
     updated_at    TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
     deleted       BOOLEAN      NOT NULL DEFAULT FALSE,
-    UNIQUE (tenant_id, email)
+    CONSTRAINT uq_employees_tenant_email UNIQUE (tenant_id, email)
+);
+
+-- Listing order is (created_at, id): keyset pages are a range scan from the cursor and need no sort
+CREATE INDEX IF NOT EXISTS idx_employees_tenant_created ON employees(tenant_id, created_at, id) WHERE deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_employees_tenant_status  ON employees(tenant_id, status, created_at, id) WHERE deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_employees_tenant_dept    ON employees(tenant_id, department, created_at, id) WHERE deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_employees_upload_job_id  ON employees(upload_job_id);
+-- Directory search (see EmployeeViewRepository). "Starts with" is a btree
+-- range; the key is cut to the longest query the service accepts, so long
+-- titles cannot overflow a btree entry
+CREATE INDEX IF NOT EXISTS idx_employees_search_prefix ON employees
+    (tenant_id, substr(search_text, 1, 100) text_pattern_ops) WHERE deleted = FALSE;
+-- Word starts and substrings by trigram; btree_gin lets tenant_id share the GIN index
+CREATE INDEX IF NOT EXISTS idx_employees_search ON employees
+    USING gin (tenant_id, search_text gin_trgm_ops) WHERE deleted = FALSE;
+
+-- ============================================================
+-- employee_headcount — per-tenant rollup for /employees/stats
+-- ============================================================
+-- Live (not deleted) employees per department, status and hire month.
+-- Triggers on employees append signed changes to employee_headcount_deltas;
+-- the processing service folds a tenant's deltas into employee_headcount
+-- when an upload job finishes. Readers add both tables, so counts are exact
+-- even before a fold.
+CREATE TABLE IF NOT EXISTS employee_headcount (
+    tenant_id   VARCHAR(128) NOT NULL,
+    department  VARCHAR(255),
+    status      VARCHAR(20)  NOT NULL,
+    hire_month  DATE,
+    headcount   BIGINT       NOT NULL,
+    CONSTRAINT uq_employee_headcount UNIQUE NULLS NOT DISTINCT (tenant_id, department, status, hire_month)
+);
+
+CREATE TABLE IF NOT EXISTS employee_headcount_deltas (
+    id          BIGINT       GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    tenant_id   VARCHAR(128) NOT NULL,
+    department  VARCHAR(255),
+    status      VARCHAR(20)  NOT NULL,
+    hire_month  DATE,
+    delta       BIGINT       NOT NULL
 );
 
-CREATE INDEX IF NOT EXISTS idx_employees_tenant_id     ON employees(tenant_id) WHERE deleted = FALSE;
-CREATE INDEX IF NOT EXISTS idx_employees_tenant_status ON employees(tenant_id, status) WHERE deleted = FALSE;
-CREATE INDEX IF NOT EXISTS idx_employees_tenant_dept   ON employees(tenant_id, department) WHERE deleted = FALSE;
-CREATE INDEX IF NOT EXISTS idx_employees_upload_job_id ON employees(upload_job_id);
+CREATE INDEX IF NOT EXISTS idx_employee_headcount_deltas_tenant ON employee_headcount_deltas(tenant_id);
+
+-- Statement-level, so a COPY merge of 10,000 rows appends one row per changed group
+CREATE OR REPLACE FUNCTION capture_employee_headcount()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO employee_headcount_deltas (tenant_id, department, status, hire_month, delta)
+        SELECT tenant_id, department, status, date_trunc('month', hire_date)::date, count(*)
+        FROM new_rows WHERE NOT deleted
+        GROUP BY 1, 2, 3, 4;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO employee_headcount_deltas (tenant_id, department, status, hire_month, delta)
+        SELECT tenant_id, department, status, hire_month, sum(delta)
+        FROM (SELECT tenant_id, department, status, date_trunc('month', hire_date)::date AS hire_month, -1 AS delta
+              FROM old_rows WHERE NOT deleted
+              UNION ALL
+              SELECT tenant_id, department, status, date_trunc('month', hire_date)::date, 1
+              FROM new_rows WHERE NOT deleted) changes
+        GROUP BY 1, 2, 3, 4
+        HAVING sum(delta) <> 0;
+    ELSE
+        INSERT INTO employee_headcount_deltas (tenant_id, department, status, hire_month, delta)
+        SELECT tenant_id, department, status, date_trunc('month', hire_date)::date, -count(*)
+        FROM old_rows WHERE NOT deleted
+        GROUP BY 1, 2, 3, 4;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER trg_employees_headcount_insert
+    AFTER INSERT ON employees REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION capture_employee_headcount();
+
+CREATE OR REPLACE TRIGGER trg_employees_headcount_update
+    AFTER UPDATE ON employees REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION capture_employee_headcount();
+
+CREATE OR REPLACE TRIGGER trg_employees_headcount_delete
+    AFTER DELETE ON employees REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION capture_employee_headcount();
 
 -- ============================================================
 -- upload_job_rows
@@ -70,8 +178,69 @@ CREATE TABLE IF NOT EXISTS upload_job_rows (
 );
 
 CREATE INDEX IF NOT EXISTS idx_upload_job_rows_tenant_id ON upload_job_rows(tenant_id);
-CREATE INDEX IF NOT EXISTS idx_upload_job_rows_job_id    ON upload_job_rows(upload_job_id);
 CREATE INDEX IF NOT EXISTS idx_upload_job_rows_status    ON upload_job_rows(row_status);
+-- Natural key: retried chunks overwrite their outcomes; also serves per-job, row-ordered listing
+CREATE UNIQUE INDEX IF NOT EXISTS uq_upload_job_rows_job_row ON upload_job_rows(upload_job_id, row_number);
+
+-- ============================================================
+-- outbox_events — transactional outbox
+-- Managed by: workforce-upload-service
+-- Entity:     com.workforce.upload.domain.OutboxEvent
+-- Written in the same transaction as upload_jobs; relayed to Kafka by OutboxRelay
+-- ============================================================
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              UUID         PRIMARY KEY DEFAULT gen_random_uuid(),
+    aggregate_id    UUID         NOT NULL,
+    tenant_id       VARCHAR(128) NOT NULL,
+    topic           VARCHAR(255) NOT NULL,
+    event_key       VARCHAR(255) NOT NULL,
+    payload         TEXT         NOT NULL,
+    status          VARCHAR(20)  NOT NULL CHECK (status IN ('PENDING', 'PUBLISHED', 'FAILED')),
+    attempts        INT          NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    next_attempt_at TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    published_at    TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(status, next_attempt_at);
+
+-- ============================================================
+-- upload_sessions — resumable chunked uploads
+-- Managed by: workforce-upload-service
+-- Entities:   com.workforce.upload.domain.UploadSession / UploadSessionChunk
+-- Chunks are written straight to storage (S3 multipart parts, or part files
+-- on local disk); completing a session creates the upload_jobs row.
+-- ============================================================
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id                UUID          PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id         VARCHAR(128)  NOT NULL,
+    original_filename VARCHAR(500)  NOT NULL,
+    file_type         VARCHAR(20)   NOT NULL CHECK (file_type IN ('CSV', 'EXCEL')),
+    file_size         BIGINT        NOT NULL,
+    chunk_size        INT           NOT NULL,
+    total_chunks      INT           NOT NULL,
+    storage_key       VARCHAR(512)  NOT NULL,
+    storage_upload_id VARCHAR(1024),
+    status            VARCHAR(20)   NOT NULL CHECK (status IN ('OPEN', 'COMPLETING', 'COMPLETED', 'ABORTED', 'EXPIRED')),
+    upload_job_id     UUID          REFERENCES upload_jobs(id),
+    created_by        VARCHAR(255),
+    expires_at        TIMESTAMPTZ   NOT NULL,
+    created_at        TIMESTAMPTZ   NOT NULL DEFAULT NOW(),
+    updated_at        TIMESTAMPTZ   NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_open_expiry ON upload_sessions(expires_at) WHERE status = 'OPEN';
+
+CREATE TABLE IF NOT EXISTS upload_session_chunks (
+    session_id  UUID         NOT NULL REFERENCES upload_sessions(id) ON DELETE CASCADE,
+    chunk_index INT          NOT NULL,
+    size        BIGINT       NOT NULL,
+    sha256      VARCHAR(64)  NOT NULL,
+    part_etag   VARCHAR(255) NOT NULL DEFAULT '',
+    received_at TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (session_id, chunk_index)
+);
 
 -- ============================================================
 -- auth_users — OAuth identity store
@@ -111,9 +280,11 @@ CREATE INDEX IF NOT EXISTS idx_auth_users_tenant_id      ON auth_users(tenant_id
 -- Row-level security (belt-and-suspenders tenant isolation)
 -- Application must SET app.current_tenant = 'tenant-id' before queries
 -- ============================================================
-ALTER TABLE upload_jobs     ENABLE ROW LEVEL SECURITY;
-ALTER TABLE employees       ENABLE ROW LEVEL SECURITY;
-ALTER TABLE upload_job_rows ENABLE ROW LEVEL SECURITY;
+ALTER TABLE upload_jobs               ENABLE ROW LEVEL SECURITY;
+ALTER TABLE employees                 ENABLE ROW LEVEL SECURITY;
+ALTER TABLE upload_job_rows           ENABLE ROW LEVEL SECURITY;
+ALTER TABLE employee_headcount        ENABLE ROW LEVEL SECURITY;
+ALTER TABLE employee_headcount_deltas ENABLE ROW LEVEL SECURITY;
 
 CREATE POLICY tenant_isolation_upload_jobs ON upload_jobs
     USING (tenant_id = current_setting('app.current_tenant', true));
@@ -124,6 +295,12 @@ CREATE POLICY tenant_isolation_employees ON employees
 CREATE POLICY tenant_isolation_upload_job_rows ON upload_job_rows
     USING (tenant_id = current_setting('app.current_tenant', true));
 
+CREATE POLICY tenant_isolation_employee_headcount ON employee_headcount
+    USING (tenant_id = current_setting('app.current_tenant', true));
+
+CREATE POLICY tenant_isolation_employee_headcount_deltas ON employee_headcount_deltas
+    USING (tenant_id = current_setting('app.current_tenant', true));
+
 -- ============================================================
 -- Auto-update updated_at trigger
 -- ============================================================
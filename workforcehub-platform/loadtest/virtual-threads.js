@@ -0,0 +1,52 @@
+// Concurrency test for the servlet services behind the gateway.
+//
+// Drives a fixed arrival rate that ramps well past the 200 Tomcat platform
+// threads, so requests mostly wait on Postgres and Redis. Run it once with
+// VIRTUAL_THREADS_ENABLED=false and once with true (same heap and container
+// memory, see docker-compose.fixed-memory.yml) and compare:
+//   - http_req_duration p95/p99 and dropped_iterations in the k6 summary
+//   - jvm_memory_used_bytes, jvm_threads_live_threads and
+//     jvm_threads_virtual_carrier_utilization in Prometheus
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<access token> loadtest/virtual-threads.js
+import http from 'k6/http'
+import { check } from 'k6'
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080'
+const PEAK_RATE = Number(__ENV.PEAK_RATE || 1500)
+
+const params = { headers: { Authorization: `Bearer ${__ENV.TOKEN}` }, timeout: '30s' }
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'ramping-arrival-rate',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 500,
+      maxVUs: 4000,
+      stages: [
+        { target: PEAK_RATE / 3, duration: '1m' },
+        { target: PEAK_RATE, duration: '2m' },
+        { target: PEAK_RATE, duration: '2m' },
+        { target: 0, duration: '30s' },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(95)<1000'],
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+}
+
+export default function () {
+  const page = Math.floor(Math.random() * 20)
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/v1/employees?page=${page}&size=20`, null, params],
+    ['GET', `${BASE_URL}/api/v1/uploads?page=0&size=10`, null, params],
+  ])
+  for (const res of responses) {
+    check(res, { 'status is 200': r => r.status === 200 })
+  }
+}
@@ -5,6 +5,8 @@ plugins {
 }
 
 dependencies {
+    implementation(project(":workforce-common"))
+
     // Web + Security
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-security")
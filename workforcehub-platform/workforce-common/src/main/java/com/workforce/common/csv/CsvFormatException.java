@@ -0,0 +1,12 @@
+package com.workforce.common.csv;
+
+/**
+ * Thrown by {@link CsvTokenizer} when a file cannot be split into records
+ * (unterminated quote, oversized field, too many columns). Each service maps
+ * it onto its own invalid-file exception.
+ */
+public class CsvFormatException extends RuntimeException {
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,217 @@
+package com.workforce.common.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 tokenizer.
+ *
+ * Shared so upload-service's pre-flight check and workforce-processing-service's
+ * CsvRowReader split a file into exactly the same records.
+ *
+ * Reads through a fixed 64KB char buffer and materialises one record at a time:
+ *   - Quoted fields, including embedded delimiters, line breaks and "" escapes
+ *   - LF, CRLF and bare CR line endings
+ *   - Delimiter sniffed from the first line (comma, semicolon, tab or pipe)
+ *
+ * Field and column counts are capped so a malformed file (e.g. an unterminated
+ * quote) fails fast instead of growing a single field until the heap runs out.
+ */
+public final class CsvTokenizer implements Closeable {
+
+    public static final int MAX_FIELD_LENGTH = 32 * 1024;
+    public static final int MAX_COLUMNS      = 256;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] CANDIDATE_DELIMITERS = {',', ';', '\t', '|'};
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(128);
+    private int position;
+    private int limit;
+    private char delimiter;
+    private int lastColumns = 16;
+    private long lineNumber = 1;
+    private boolean quotedLineBreak;
+
+    private CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** Tokenizes {@code reader}, picking the delimiter from its first line. */
+    public static CsvTokenizer sniffing(Reader reader) throws IOException {
+        CsvTokenizer csv = new CsvTokenizer(reader);
+        csv.delimiter = csv.sniffDelimiter();
+        return csv;
+    }
+
+    /** Tokenizes {@code reader} with a delimiter already known, e.g. for a range of a larger file. */
+    public static CsvTokenizer withDelimiter(Reader reader, char delimiter) {
+        CsvTokenizer csv = new CsvTokenizer(reader);
+        csv.delimiter = delimiter;
+        return csv;
+    }
+
+    public char delimiter() {
+        return delimiter;
+    }
+
+    /** Whether any record read so far had a line break inside a quoted field. */
+    public boolean sawQuotedLineBreak() {
+        return quotedLineBreak;
+    }
+
+    /** A blank line: a single field holding nothing but whitespace. */
+    public static boolean isBlank(List<String> record) {
+        return record.size() == 1 && record.get(0).isBlank();
+    }
+
+    /** The next record that is not {@linkplain #isBlank blank}, or null at end of input. */
+    public List<String> nextNonBlank() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+        } while (values != null && isBlank(values));
+        return values;
+    }
+
+    /** The next record, blank or not, or null at end of input. */
+    public List<String> readRecord() throws IOException {
+        List<String> values = new ArrayList<>(lastColumns);
+        field.setLength(0);
+        boolean quoted = false;
+        boolean started = false;
+        long recordStartLine = lineNumber;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new CsvFormatException("Unterminated quoted field starting on line " + recordStartLine);
+                }
+                if (!started) {
+                    return null;
+                }
+                return endRecord(values, recordStartLine);
+            }
+            started = true;
+            char ch = (char) c;
+
+            if (quoted) {
+                if (ch == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"', recordStartLine);
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineNumber++;
+                    }
+                    if (ch == '\n' || ch == '\r') {
+                        quotedLineBreak = true;
+                    }
+                    append(ch, recordStartLine);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (ch == delimiter) {
+                addField(values, recordStartLine);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && peek() == '\n') {
+                    read();
+                }
+                lineNumber++;
+                return endRecord(values, recordStartLine);
+            } else {
+                append(ch, recordStartLine);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private char sniffDelimiter() throws IOException {
+        fill();
+        int[] counts = new int[CANDIDATE_DELIMITERS.length];
+        boolean quoted = false;
+        for (int i = position; i < limit; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '\n' || c == '\r')) {
+                break;
+            } else if (!quoted) {
+                for (int d = 0; d < CANDIDATE_DELIMITERS.length; d++) {
+                    if (c == CANDIDATE_DELIMITERS[d]) {
+                        counts[d]++;
+                    }
+                }
+            }
+        }
+        int best = 0;
+        for (int d = 1; d < counts.length; d++) {
+            if (counts[d] > counts[best]) {
+                best = d;
+            }
+        }
+        return CANDIDATE_DELIMITERS[best];
+    }
+
+    private List<String> endRecord(List<String> values, long line) {
+        addField(values, line);
+        lastColumns = values.size();
+        return values;
+    }
+
+    private void addField(List<String> values, long line) {
+        if (values.size() >= MAX_COLUMNS) {
+            throw new CsvFormatException("Row on line " + line + " exceeds " + MAX_COLUMNS + " columns");
+        }
+        values.add(field.toString());
+        field.setLength(0);
+    }
+
+    private void append(char ch, long line) {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new CsvFormatException("Field on line " + line + " exceeds " + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append(ch);
+    }
+
+    private int read() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = reader.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) {
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.workforce.common.csv;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Detects the text encoding of an uploaded file from its leading bytes.
+ *
+ * Order of precedence:
+ *   1. Byte order mark (UTF-8, UTF-16LE, UTF-16BE) — the BOM is consumed
+ *   2. Strict UTF-8 decode of the first {@value #SNIFF_BYTES} bytes
+ *   3. windows-1252 (what Excel "Save as CSV" produces on Windows)
+ *
+ * Only the sniff window is ever buffered; the rest of the file is streamed.
+ */
+public final class EncodingDetector {
+
+    public static final int SNIFF_BYTES = 64 * 1024;
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private EncodingDetector() {}
+
+    /** Charset of a file and the length of the byte order mark preceding its content. */
+    public record Detection(Charset charset, int bomLength) {
+
+        /** True when '\n' and '"' can only ever appear as themselves, so raw bytes can be split on them. */
+        public boolean asciiCompatible() {
+            return !charset.name().startsWith("UTF-16");
+        }
+    }
+
+    public static Reader newReader(InputStream raw) throws IOException {
+        BufferedInputStream in = raw instanceof BufferedInputStream b ? b : new BufferedInputStream(raw, SNIFF_BYTES);
+        in.mark(SNIFF_BYTES);
+        byte[] sample = in.readNBytes(SNIFF_BYTES);
+        in.reset();
+
+        Detection detection = detect(sample);
+        in.skipNBytes(detection.bomLength());
+        return new InputStreamReader(in, detection.charset());
+    }
+
+    /** Detects the encoding from up to the first {@value #SNIFF_BYTES} bytes of a file. */
+    public static Detection detect(byte[] sample) {
+        if (startsWith(sample, 0xEF, 0xBB, 0xBF)) {
+            return new Detection(StandardCharsets.UTF_8, 3);
+        } else if (startsWith(sample, 0xFF, 0xFE)) {
+            return new Detection(StandardCharsets.UTF_16LE, 2);
+        } else if (startsWith(sample, 0xFE, 0xFF)) {
+            return new Detection(StandardCharsets.UTF_16BE, 2);
+        }
+        return new Detection(isValidUtf8(sample) ? StandardCharsets.UTF_8 : WINDOWS_1252, 0);
+    }
+
+    private static boolean startsWith(byte[] sample, int... prefix) {
+        if (sample.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((sample[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidUtf8(byte[] sample) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer bytes = ByteBuffer.wrap(sample);
+        CharBuffer chars = CharBuffer.allocate(sample.length);
+        // endOfInput=false: a multi-byte sequence cut off by the sniff window is not an error
+        CoderResult result = decoder.decode(bytes, chars, sample.length < SNIFF_BYTES);
+        return !result.isError();
+    }
+}
@@ -0,0 +1,60 @@
+package com.workforce.common.employee;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical employee columns and the header spellings accepted for each.
+ * Aliases are compared after {@link #normalize(String)}, so "First Name",
+ * "first_name" and "FIRST-NAME" all resolve to {@link #FIRST_NAME}.
+ *
+ * Shared so upload-service can check a file's header at upload time against
+ * the same columns workforce-processing-service reads.
+ */
+public enum EmployeeField {
+
+    FIRST_NAME(true,  "firstname", "givenname", "fname", "forename"),
+    LAST_NAME(true,   "lastname", "surname", "familyname", "lname"),
+    EMAIL(true,       "email", "emailaddress", "workemail", "mail"),
+    DEPARTMENT(false, "department", "dept", "division", "team"),
+    JOB_TITLE(false,  "jobtitle", "title", "position", "role"),
+    HIRE_DATE(false,  "hiredate", "startdate", "dateofhire", "joiningdate"),
+    STATUS(false,     "status", "employmentstatus", "employeestatus");
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final boolean required;
+    private final Set<String> aliases;
+
+    EmployeeField(boolean required, String... aliases) {
+        this.required = required;
+        this.aliases = Set.of(aliases);
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public boolean matches(String header) {
+        return aliases.contains(normalize(header));
+    }
+
+    /** The email check applied to {@link #EMAIL} values, both at upload and when processing. */
+    public static boolean isValidEmail(String value) {
+        return EMAIL_PATTERN.matcher(value).matches();
+    }
+
+    public static String normalize(String header) {
+        if (header == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(header.length());
+        for (char c : header.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
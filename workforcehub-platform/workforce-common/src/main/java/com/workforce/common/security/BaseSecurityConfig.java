@@ -1,6 +1,7 @@
 package com.workforce.common.security;
 
 import com.workforce.common.config.JwtProperties;
+import jakarta.servlet.DispatcherType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -17,6 +18,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  *  - Disables CSRF (REST API)
  *  - Installs JwtAuthenticationFilter before UsernamePasswordAuthenticationFilter
  *  - Permits /actuator/health and /actuator/info without auth
+ *  - Permits ASYNC re-dispatches (SSE / streaming responses were already authenticated on the original request)
  *  - All other paths require authentication
  */
 public abstract class BaseSecurityConfig {
@@ -39,6 +41,7 @@ public abstract class BaseSecurityConfig {
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**"
                         ).permitAll()
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 );
     }
@@ -0,0 +1,108 @@
+package com.workforce.common.threads;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Carrier (platform) threads of the virtual-thread scheduler:
+ *
+ *   jvm.threads.virtual.carriers              live carrier threads
+ *   jvm.threads.virtual.parallelism           carriers the scheduler aims to keep busy
+ *   jvm.threads.virtual.carrier.utilization   CPU time used by carriers since the previous
+ *                                             sample, as a share of parallelism x wall time
+ *
+ * Utilization near 1 with rising request latency means the carriers are
+ * CPU-saturated (or pinned); near 0 under load means requests are waiting on
+ * something else, typically the connection pool.
+ *
+ * Finding the carriers means walking every live thread, so the set is cached
+ * and rescanned at most once per refresh interval rather than on each scrape.
+ * Carriers are long-lived; one started since the last scan is missed until the
+ * next refresh, and one that has exited reports no CPU time.
+ */
+public class CarrierThreadMetrics implements MeterBinder {
+
+    private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final int parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+            Runtime.getRuntime().availableProcessors());
+    private final long refreshNanos;
+    private final Supplier<Thread[]> scan;
+    // Not synchronized: the scrape itself may run on a virtual thread
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private long lastWallNanos = System.nanoTime();
+    private long lastCpuNanos;
+    private Thread[] carriers;
+    private long scannedAtNanos;
+
+    public CarrierThreadMetrics(Duration refreshInterval) {
+        this(refreshInterval, CarrierThreadMetrics::scanCarriers);
+    }
+
+    CarrierThreadMetrics(Duration refreshInterval, Supplier<Thread[]> scan) {
+        this.refreshNanos = refreshInterval.toNanos();
+        this.scan = scan;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jvm.threads.virtual.carriers", this, m -> m.carriers().length)
+                .description("Live carrier threads of the virtual thread scheduler")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.parallelism", this, m -> m.parallelism)
+                .description("Target parallelism of the virtual thread scheduler")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.carrier.utilization", this, CarrierThreadMetrics::sampleUtilization)
+                .description("Share of carrier capacity spent on CPU since the previous sample")
+                .register(registry);
+    }
+
+    double sampleUtilization() {
+        sampleLock.lock();
+        try {
+            long cpu = 0;
+            for (Thread carrier : carriers()) {
+                long t = threads.getThreadCpuTime(carrier.threadId());
+                if (t > 0) {
+                    cpu += t;
+                }
+            }
+            long now = System.nanoTime();
+            long wall = now - lastWallNanos;
+            double utilization = wall > 0 ? (double) (cpu - lastCpuNanos) / ((double) wall * parallelism) : 0;
+            lastWallNanos = now;
+            lastCpuNanos = cpu;
+            return Math.max(0, Math.min(1, utilization));
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    Thread[] carriers() {
+        sampleLock.lock();
+        try {
+            long now = System.nanoTime();
+            if (carriers == null || now - scannedAtNanos >= refreshNanos) {
+                carriers = scan.get();
+                scannedAtNanos = now;
+            }
+            return carriers;
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    private static Thread[] scanCarriers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> CARRIER_THREAD_CLASS.equals(t.getClass().getName()))
+                .toArray(Thread[]::new);
+    }
+}
@@ -0,0 +1,22 @@
+package com.workforce.common.threads;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the virtual-thread diagnostics in {@link VirtualThreadsAutoConfiguration}.
+ * Virtual threads themselves are switched on with spring.threads.virtual.enabled.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "workforce.threads.virtual")
+public class VirtualThreadProperties {
+    /** Pinned intervals shorter than this are not recorded */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+    /** Log the stack of each distinct pinning site once, at WARN */
+    private boolean logPinnedStacks = true;
+    /** How long the carrier thread set behind the carrier gauges is cached between rescans */
+    private Duration carrierRefreshInterval = Duration.ofSeconds(30);
+}
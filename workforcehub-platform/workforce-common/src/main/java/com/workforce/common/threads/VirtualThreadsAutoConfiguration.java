@@ -0,0 +1,33 @@
+package com.workforce.common.threads;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Diagnostics for services started with spring.threads.virtual.enabled=true.
+ *
+ * Spring Boot moves Tomcat request handling, @Async, @Scheduled and Kafka
+ * listener containers onto virtual threads when that property is set. What it
+ * does not give is visibility: a virtual thread that blocks inside a
+ * synchronized block (a JDBC call under a lock, say) pins its carrier, and with
+ * only as many carriers as cores that shows up as unexplained latency. This
+ * configuration records those pins and how busy the carriers are.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadsAutoConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadProperties properties) {
+        return new VirtualThreadPinningMonitor(properties);
+    }
+
+    @Bean
+    public CarrierThreadMetrics carrierThreadMetrics(VirtualThreadProperties properties) {
+        return new CarrierThreadMetrics(properties.getCarrierRefreshInterval());
+    }
+}
@@ -0,0 +1,65 @@
+package com.workforce.common.threads;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CarrierThreadMetricsTest {
+
+    private final AtomicInteger scans = new AtomicInteger();
+    private final Supplier<Thread[]> scan = () -> {
+        scans.incrementAndGet();
+        return new Thread[] {Thread.currentThread()};
+    };
+
+    @Test
+    void scrapesReuseTheCarrierSetWithinTheRefreshInterval() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CarrierThreadMetrics(Duration.ofMinutes(5), scan).bindTo(registry);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(registry.get("jvm.threads.virtual.carriers").gauge().value()).isEqualTo(1);
+            registry.get("jvm.threads.virtual.carrier.utilization").gauge().value();
+        }
+
+        assertThat(scans).hasValue(1);
+    }
+
+    @Test
+    void rescansOnceTheRefreshIntervalHasPassed() {
+        CarrierThreadMetrics metrics = new CarrierThreadMetrics(Duration.ZERO, scan);
+
+        metrics.carriers();
+        metrics.carriers();
+
+        assertThat(scans).hasValue(2);
+    }
+
+    @Test
+    void utilizationStaysWithinZeroAndOne() throws InterruptedException {
+        CarrierThreadMetrics metrics = new CarrierThreadMetrics(Duration.ofMinutes(5), scan);
+        long busyUntil = System.nanoTime() + Duration.ofMillis(50).toNanos();
+        while (System.nanoTime() < busyUntil) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(metrics.sampleUtilization()).isBetween(0.0, 1.0);
+        Thread.sleep(20);
+        assertThat(metrics.sampleUtilization()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void findsTheCarriersOfRunningVirtualThreads() throws InterruptedException {
+        Thread.ofVirtual().start(() -> { }).join();
+
+        CarrierThreadMetrics metrics = new CarrierThreadMetrics(Duration.ofMinutes(5));
+
+        assertThat(metrics.carriers()).isNotEmpty()
+                .allSatisfy(t -> assertThat(t.getClass().getName()).isEqualTo("jdk.internal.misc.CarrierThread"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.workforce.common.threads;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void recordsVirtualThreadsParkedInsideSynchronized() throws InterruptedException {
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setPinnedThreshold(Duration.ofMillis(5));
+        properties.setLogPinnedStacks(false);
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        monitor.bindTo(registry);
+        monitor.start();
+        try {
+            Object lock = new Object();
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(Duration.ofMillis(50));
+                }
+            }).join();
+
+            Timer pinned = registry.get("jvm.threads.virtual.pinned").timer();
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (pinned.count() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(pinned.count()).isPositive();
+        } finally {
+            monitor.stop();
+        }
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.workforce.common.threads;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VirtualThreadsAutoConfigurationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(VirtualThreadsAutoConfiguration.class));
+
+    @Test
+    void registersDiagnosticsOnlyWhenVirtualThreadsAreEnabled() {
+        runner.run(context -> assertThat(context)
+                .doesNotHaveBean(VirtualThreadPinningMonitor.class)
+                .doesNotHaveBean(CarrierThreadMetrics.class));
+
+        runner.withPropertyValues("spring.threads.virtual.enabled=true",
+                        "workforce.threads.virtual.carrier-refresh-interval=1m")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class)
+                            .hasSingleBean(CarrierThreadMetrics.class);
+                    assertThat(context.getBean(VirtualThreadProperties.class).getCarrierRefreshInterval())
+                            .isEqualTo(Duration.ofMinutes(1));
+                });
+    }
+}
@@ -1,16 +1,30 @@
 package com.workforce.processing.config;
 
+import com.workforce.processing.exception.InvalidUploadFileException;
+import com.workforce.processing.service.UploadFailureReporter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.util.backoff.ExponentialBackOff;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Slf4j
 @Configuration
 public class KafkaConfig {
@@ -33,21 +47,59 @@ public class KafkaConfig {
                 .partitions(3).replicas(1).build();
     }
 
+    @Bean
+    public NewTopic employeeChangedTopic() {
+        return TopicBuilder.name(KafkaTopics.EMPLOYEE_CHANGED)
+                .partitions(3).replicas(1).build();
+    }
+
     @Bean
     public NewTopic uploadRequestedDltTopic() {
         return TopicBuilder.name(KafkaTopics.EMPLOYEE_UPLOAD_REQUESTED + ".DLT")
                 .partitions(1).replicas(1).build();
     }
 
+    /**
+     * Retries with backoff, then sends the record to the DLT and publishes the
+     * job's FAILED result so upload-service and open event streams see it end.
+     */
     @Bean
-    public CommonErrorHandler errorHandler(KafkaTemplate<String, Object> kafkaTemplate) {
-        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate);
+    public CommonErrorHandler errorHandler(KafkaTemplate<String, Object> kafkaTemplate,
+                                           ProducerFactory<String, Object> producerFactory,
+                                           UploadFailureReporter failureReporter) {
+        // Records that failed deserialisation carry their raw bytes; forward those to the DLT untouched
+        KafkaTemplate<String, byte[]> rawTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(), new StringSerializer(), new ByteArraySerializer()));
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, rawTemplate);
+        templates.put(Object.class, kafkaTemplate);
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates);
 
         ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
         backOff.setMaxElapsedTime(30000L); // max 30s total retry
 
-        DefaultErrorHandler handler = new DefaultErrorHandler(recoverer, backOff);
-        handler.addNotRetryableExceptions(IllegalArgumentException.class);
+        DefaultErrorHandler handler = new DefaultErrorHandler((record, e) -> {
+            recoverer.accept(record, e);
+            failureReporter.reportFailed(record, e);
+        }, backOff);
+        handler.addNotRetryableExceptions(IllegalArgumentException.class, InvalidUploadFileException.class);
         return handler;
     }
+
+    /**
+     * Batch listener factory for processing.listener.mode=batch, the default. The Boot
+     * configurer applies the same settings and error handler as the default
+     * record factory; DefaultErrorHandler then routes individual records to
+     * the DLT when the listener throws BatchListenerFailedException.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "processing.listener.mode", havingValue = "batch", matchIfMissing = true)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
 }
@@ -4,6 +4,7 @@ public final class KafkaTopics {
     public static final String EMPLOYEE_UPLOAD_REQUESTED = "employee.upload.requested";
     public static final String EMPLOYEE_UPLOAD_PROCESSED = "employee.upload.processed";
     public static final String EMPLOYEE_UPLOAD_FAILED    = "employee.upload.failed";
+    public static final String EMPLOYEE_CHANGED          = "employee.changed";
 
     private KafkaTopics() {}
 }
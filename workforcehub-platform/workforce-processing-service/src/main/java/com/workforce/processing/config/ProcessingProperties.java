@@ -0,0 +1,82 @@
+package com.workforce.processing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning for upload ingestion.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "processing")
+public class ProcessingProperties {
+
+    /** How employee rows are written: "copy" (PostgreSQL COPY, default) or "jdbc" (batched upserts) */
+    private String writeMode = "copy";
+
+    /** Source rows per chunk; each chunk is written, checkpointed and committed on its own */
+    private int batchSize = 1000;
+
+    /** Minimum time between PROCESSING progress events for a job */
+    private Duration progressInterval = Duration.ofSeconds(2);
+
+    private Parallel parallel = new Parallel();
+
+    private Listener listener = new Listener();
+
+    private RowOutcomes rowOutcomes = new RowOutcomes();
+
+    private Diff diff = new Diff();
+
+    @Getter
+    @Setter
+    public static class Parallel {
+        /** Split large CSV files into line-aligned ranges processed concurrently */
+        private boolean enabled = true;
+        /** Files smaller than this are processed sequentially */
+        private DataSize minFileSize = DataSize.ofMegabytes(32);
+        /** Concurrent segments per job; each holds a pooled DB connection while writing */
+        private int threads = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Listener {
+        /** "batch" (a whole poll per call, the default) or "record" (one upload per listener call) */
+        private String mode = "batch";
+        /** Records returned per poll in batch mode */
+        private int maxPollRecords = 50;
+        /** Listener containers; more than the topic's partition count is wasted */
+        private int concurrency = 3;
+        /** In batch mode, uncompressed CSV uploads up to this size share DB batches with others in the same poll */
+        private DataSize coalesceMaxFileSize = DataSize.ofMegabytes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class RowOutcomes {
+        /** Also record a PROCESSED row per accepted row (failed rows are always recorded) */
+        private boolean recordProcessed = false;
+        /** Outcomes buffered ahead of the background writer before producers block */
+        private int queueCapacity = 50_000;
+        /** Rows per multi-row insert */
+        private int batchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Diff {
+        /**
+         * A DIFF upload that would remove more than this share of the tenant's
+         * employees is treated as a truncated or wrong file: its inserts and
+         * updates are applied, its deletions are not
+         */
+        private double maxDeleteRatio = 0.25;
+    }
+}
@@ -0,0 +1,88 @@
+package com.workforce.processing.consumer;
+
+import com.workforce.processing.config.KafkaTopics;
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.service.CoalescingUploadProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Batch-mode counterpart of {@link EmployeeUploadConsumer}, enabled unless
+ * processing.listener.mode=record.
+ *
+ * A failing record is reported with {@link BatchListenerFailedException}: the
+ * error handler commits the records before it, retries it and finally sends
+ * it to the .DLT topic, then redelivers the rest of the poll. Uploads
+ * buffered ahead of the failure are written first so their offsets can be
+ * committed safely.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "processing.listener.mode", havingValue = "batch", matchIfMissing = true)
+public class EmployeeUploadBatchConsumer {
+
+    private final CoalescingUploadProcessor processor;
+
+    @KafkaListener(
+            topics = KafkaTopics.EMPLOYEE_UPLOAD_REQUESTED,
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "${processing.listener.concurrency:3}",
+            properties = "max.poll.records:${processing.listener.max-poll-records:50}"
+    )
+    public void onUploadsRequested(List<ConsumerRecord<String, EmployeeUploadRequestedEvent>> records) {
+        log.info("Received {} upload event(s) from partition(s) {}", records.size(),
+                records.stream().map(ConsumerRecord::partition).distinct().toList());
+
+        CoalescingUploadProcessor.Poll poll = processor.newPoll();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, EmployeeUploadRequestedEvent> record = records.get(i);
+            EmployeeUploadRequestedEvent event = record.value();
+            try {
+                if (event == null) {
+                    DeserializationException cause = SerializationUtils.getExceptionFromHeader(
+                            record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, null);
+                    throw cause != null ? cause : new IllegalArgumentException("Upload event has no payload");
+                }
+                MDC.put("correlationId", event.getEventId());
+                MDC.put("uploadJobId", event.getUploadJobId().toString());
+                log.info("Received upload event: jobId={}, file={}, partition={}, offset={}",
+                        event.getUploadJobId(), event.getOriginalFilename(), record.partition(), record.offset());
+                poll.add(i, event);
+            } catch (Exception e) {
+                throw failed(poll, i, e);
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        try {
+            poll.complete();
+        } catch (RuntimeException e) {
+            throw new BatchListenerFailedException("Failed to write coalesced uploads", e, poll.firstPendingIndex());
+        }
+    }
+
+    private static BatchListenerFailedException failed(CoalescingUploadProcessor.Poll poll, int index, Exception cause) {
+        try {
+            poll.complete();
+        } catch (RuntimeException e) {
+            // The shared write failed too; report the earliest record whose rows were lost with it
+            e.addSuppressed(cause);
+            return new BatchListenerFailedException("Failed to write coalesced uploads", e, poll.firstPendingIndex());
+        }
+        log.warn("Upload event at index {} failed: {}", index, cause.getMessage());
+        return new BatchListenerFailedException("Failed to process upload event", cause, index);
+    }
+}
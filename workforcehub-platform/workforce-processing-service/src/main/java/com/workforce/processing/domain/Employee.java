@@ -10,10 +10,11 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "employees", indexes = {
-        @Index(name = "idx_employees_email", columnList = "email"),
-        @Index(name = "idx_employees_tenant_id", columnList = "tenant_id"),
-        @Index(name = "idx_employees_tenant_status", columnList = "tenant_id, status"),
+@Table(name = "employees", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_employees_tenant_email", columnNames = {"tenant_id", "email"})
+}, indexes = {
+        @Index(name = "idx_employees_tenant_created", columnList = "tenant_id, created_at, id"),
+        @Index(name = "idx_employees_tenant_status", columnList = "tenant_id, status, created_at, id"),
         @Index(name = "idx_employees_upload_job_id", columnList = "upload_job_id")
 })
 @Getter
@@ -40,7 +41,7 @@ public class Employee {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Column(name = "department")
@@ -56,6 +57,10 @@ public class Employee {
     @Enumerated(EnumType.STRING)
     private EmployeeStatus status;
 
+    /** Hash of the row's data fields, see EmployeeFingerprint; null for rows written before it existed */
+    @Column(name = "fingerprint")
+    private Long fingerprint;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private Instant createdAt;
@@ -1,5 +1,6 @@
 package com.workforce.processing.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,8 +17,26 @@ public class EmployeeUploadRequestedEvent {
     private String eventId;
     private String eventVersion;
     private UUID uploadJobId;
+    private String tenantId;
+    private String storageKey;
     private String originalFilename;
     private String fileType;
     private Instant requestedAt;
     private String requestedBy;
+    /** "UPSERT" (default when absent) or "DIFF": the file is a full snapshot and absent employees are removed */
+    private String ingestMode;
+    /** "NONE" (default when absent), "GZIP" or "ZSTD": the stored file is compressed and decoded while reading */
+    private String compression;
+    /** Data rows counted by upload-service's pre-flight scan, or null when the file was not scanned */
+    private Integer totalRows;
+
+    @JsonIgnore
+    public boolean isDiffMode() {
+        return "DIFF".equals(ingestMode);
+    }
+
+    @JsonIgnore
+    public boolean isCompressed() {
+        return compression != null && !"NONE".equals(compression);
+    }
 }
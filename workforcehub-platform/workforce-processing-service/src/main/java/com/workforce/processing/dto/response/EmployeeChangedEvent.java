@@ -0,0 +1,21 @@
+package com.workforce.processing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Employees of one tenant that a committed write updated or soft-deleted. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+    private String eventId;
+    private String eventVersion;
+    private String tenantId;
+    private List<UUID> employeeIds;
+}
@@ -16,9 +16,14 @@ public class EmployeeUploadProcessedEvent {
     private String eventId;
     private String eventVersion;
     private UUID uploadJobId;
-    private int totalRows;
+    /** Null on progress events when the row count is not known yet */
+    private Integer totalRows;
     private int processedRows;
     private int failedRows;
+    /** PROCESSING for progress events; COMPLETED, PARTIAL or FAILED for the final result */
     private String status;
+    /** Why the job FAILED; null otherwise */
+    private String errorMessage;
+    private Instant startedAt;
     private Instant processedAt;
 }
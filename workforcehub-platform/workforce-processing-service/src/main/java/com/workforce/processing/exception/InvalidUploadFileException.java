@@ -0,0 +1,13 @@
+package com.workforce.processing.exception;
+
+/**
+ * Thrown when an uploaded file cannot be processed at all (missing required
+ * columns, unsupported format, malformed structure). Not retryable — the
+ * record is routed straight to the dead-letter topic.
+ */
+public class InvalidUploadFileException extends RuntimeException {
+
+    public InvalidUploadFileException(String message) {
+        super(message);
+    }
+}
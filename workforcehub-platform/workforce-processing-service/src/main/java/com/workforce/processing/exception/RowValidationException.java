@@ -0,0 +1,18 @@
+package com.workforce.processing.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a single data row fails validation. The row is counted as
+ * failed and processing continues with the next row.
+ */
+@Getter
+public class RowValidationException extends RuntimeException {
+
+    private final long rowNumber;
+
+    public RowValidationException(long rowNumber, String message) {
+        super("Row " + rowNumber + ": " + message);
+        this.rowNumber = rowNumber;
+    }
+}
@@ -0,0 +1,103 @@
+package com.workforce.processing.ingest;
+
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.workforce.processing.exception.InvalidUploadFileException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streaming decompression for compressed CSV uploads.
+ *
+ * Compressed uploads are stored as sent and decoded here on the fly through
+ * fixed-size buffers, so a file is never inflated in full on disk or heap.
+ * The codec named by the upload event is checked against the stream's magic
+ * bytes. On close, the ratio of decoded to stored bytes is recorded in the
+ * upload.compression.ratio summary, tagged by codec.
+ */
+public final class CompressedInput {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b};
+    private static final byte[] ZSTD_MAGIC = {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd};
+
+    private CompressedInput() {}
+
+    /** Wraps {@code raw} in a decoder for {@code codec} ("GZIP" or "ZSTD"). Closing the result closes {@code raw}. */
+    public static InputStream open(InputStream raw, String codec, MeterRegistry meterRegistry) throws IOException {
+        byte[] magic = switch (codec) {
+            case "GZIP" -> GZIP_MAGIC;
+            case "ZSTD" -> ZSTD_MAGIC;
+            default -> throw new InvalidUploadFileException("Unsupported compression: " + codec);
+        };
+        Counting stored = new Counting(raw);
+        PushbackInputStream in = new PushbackInputStream(stored, magic.length);
+        byte[] head = in.readNBytes(magic.length);
+        if (!Arrays.equals(head, magic)) {
+            throw new InvalidUploadFileException("File is not " + codec.toLowerCase(Locale.ROOT) + "-compressed");
+        }
+        in.unread(head);
+
+        InputStream decoded = "GZIP".equals(codec)
+                ? new GZIPInputStream(in, BUFFER_SIZE)
+                : new ZstdInputStreamNoFinalizer(in);
+        DistributionSummary ratio = DistributionSummary.builder("upload.compression.ratio")
+                .description("Decompressed bytes per stored byte of compressed uploads")
+                .tag("codec", codec.toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        return new Counting(decoded) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (stored.count > 0) {
+                        ratio.record((double) count / stored.count);
+                    }
+                }
+            }
+        };
+    }
+
+    /** Counts the bytes read through it. */
+    private static class Counting extends FilterInputStream {
+
+        long count;
+
+        Counting(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
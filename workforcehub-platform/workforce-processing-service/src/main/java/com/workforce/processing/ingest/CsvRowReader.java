@@ -0,0 +1,93 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.common.csv.CsvFormatException;
+import com.workforce.common.csv.CsvTokenizer;
+import com.workforce.common.csv.EncodingDetector;
+import com.workforce.processing.exception.InvalidUploadFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader over the shared {@link CsvTokenizer}, which
+ * upload-service's pre-flight check also uses, so both agree on what a row is.
+ *
+ * Adds what a {@link RowReader} needs on top of the tokenizer:
+ *   - Encoding detected from the leading bytes (see {@link EncodingDetector})
+ *   - The first record read as the header row
+ *   - Blank lines skipped and the remaining rows numbered from 1
+ *   - Malformed input reported as an {@link InvalidUploadFileException}
+ */
+public final class CsvRowReader implements RowReader {
+
+    private final CsvTokenizer tokenizer;
+    private List<String> headers;
+    private long rowNumber;
+
+    private CsvRowReader(CsvTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    /** Opens a reader over raw bytes, detecting the encoding and reading the header row. */
+    public static CsvRowReader open(InputStream in) throws IOException {
+        CsvRowReader csv = new CsvRowReader(CsvTokenizer.sniffing(EncodingDetector.newReader(in)));
+        List<String> header;
+        try {
+            header = csv.tokenizer.readRecord();
+        } catch (CsvFormatException e) {
+            throw new InvalidUploadFileException(e.getMessage());
+        }
+        if (header == null) {
+            throw new InvalidUploadFileException("File is empty — expected a header row");
+        }
+        csv.headers = List.copyOf(header);
+        return csv;
+    }
+
+    /**
+     * Opens a reader over one line-aligned byte range of a larger file. The
+     * encoding, delimiter and headers come from the whole-file plan; rows are
+     * numbered from {@code firstRowNumber}.
+     */
+    static CsvRowReader openSegment(InputStream segment, Charset charset, char delimiter,
+                                    List<String> headers, long firstRowNumber) {
+        CsvRowReader csv = new CsvRowReader(
+                CsvTokenizer.withDelimiter(new InputStreamReader(segment, charset), delimiter));
+        csv.headers = headers;
+        csv.rowNumber = firstRowNumber - 1;
+        return csv;
+    }
+
+    char delimiter() {
+        return tokenizer.delimiter();
+    }
+
+    /** Whether any record read so far had a line break inside a quoted field. */
+    boolean sawQuotedLineBreak() {
+        return tokenizer.sawQuotedLineBreak();
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    public SourceRow next() throws IOException {
+        List<String> values;
+        try {
+            values = tokenizer.nextNonBlank();
+        } catch (CsvFormatException e) {
+            throw new InvalidUploadFileException(e.getMessage());
+        }
+        return values == null ? null : new SourceRow(++rowNumber, values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+}
@@ -0,0 +1,221 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.common.csv.EncodingDetector;
+import com.workforce.processing.exception.InvalidUploadFileException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Splits a local CSV file into byte ranges that can be parsed independently.
+ *
+ * Ranges start on line boundaries (LF, CRLF or bare CR), which is only correct
+ * when no quoted field spans lines. A parallel pre-pass reads every range with
+ * the same {@link CsvRowReader} that later processes it, so rows are counted
+ * exactly as they will be numbered (blank lines, including a lone {@code ""},
+ * are skipped by both) and each range knows the number of its first row. A
+ * range that contains a quoted line break or ends inside a quoted field fails
+ * the check. Files that fail it, or whose encoding is not ASCII-compatible
+ * (UTF-16), are not split and {@link #plan} returns empty — callers fall back
+ * to a sequential read.
+ */
+public final class CsvSegmentPlanner {
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /** A line-aligned byte range [start, end) whose first row is {@code firstRowNumber}. */
+    public record Segment(long start, long end, long firstRowNumber) {}
+
+    public record Plan(Path file, Charset charset, char delimiter, List<String> headers,
+                       List<Segment> segments, long totalRows) {
+
+        /** Opens a reader over one segment of the file. */
+        public RowReader open(Segment segment) throws IOException {
+            return openRange(file, charset, delimiter, headers, segment.start(), segment.end(), segment.firstRowNumber());
+        }
+    }
+
+    private record Scan(long rows, boolean lineAligned) {}
+
+    private CsvSegmentPlanner() {}
+
+    public static Optional<Plan> plan(Path file, int segmentCount, Executor executor) throws IOException {
+        EncodingDetector.Detection encoding;
+        try (InputStream in = Files.newInputStream(file)) {
+            encoding = EncodingDetector.detect(in.readNBytes(EncodingDetector.SNIFF_BYTES));
+        }
+        if (!encoding.asciiCompatible()) {
+            return Optional.empty();
+        }
+
+        List<String> headers;
+        char delimiter;
+        try (CsvRowReader header = CsvRowReader.open(Files.newInputStream(file))) {
+            headers = header.headers();
+            delimiter = header.delimiter();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long dataStart = endOfHeader(channel, encoding.bomLength());
+            long size = channel.size();
+            if (dataStart >= size) {
+                return Optional.empty();
+            }
+
+            List<Long> bounds = new ArrayList<>();
+            bounds.add(dataStart);
+            for (int i = 1; i < segmentCount; i++) {
+                long boundary = nextLineStart(channel, dataStart + (size - dataStart) * i / segmentCount);
+                if (boundary > bounds.get(bounds.size() - 1) && boundary < size) {
+                    bounds.add(boundary);
+                }
+            }
+            bounds.add(size);
+
+            List<CompletableFuture<Scan>> scans = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.size(); i++) {
+                long start = bounds.get(i);
+                long end = bounds.get(i + 1);
+                scans.add(CompletableFuture.supplyAsync(
+                        () -> scan(file, encoding.charset(), delimiter, headers, start, end), executor));
+            }
+
+            List<Segment> segments = new ArrayList<>(scans.size());
+            long nextRow = 1;
+            for (int i = 0; i < scans.size(); i++) {
+                Scan scan = scans.get(i).join();
+                if (!scan.lineAligned()) {
+                    return Optional.empty();
+                }
+                segments.add(new Segment(bounds.get(i), bounds.get(i + 1), nextRow));
+                nextRow += scan.rows();
+            }
+            return Optional.of(new Plan(file, encoding.charset(), delimiter, headers, segments, nextRow - 1));
+        }
+    }
+
+    /** Offset just past the header line, honouring quotes so a quoted line break stays in the header. */
+    private static long endOfHeader(FileChannel channel, long from) throws IOException {
+        return lineEnd(channel, from, true);
+    }
+
+    private static long nextLineStart(FileChannel channel, long from) throws IOException {
+        return lineEnd(channel, from, false);
+    }
+
+    /**
+     * Offset just past the first line break at or after {@code from}, with the
+     * reader's rules: LF, CRLF or a bare CR ends a line, and CRLF is never split.
+     */
+    private static long lineEnd(FileChannel channel, long from, boolean honourQuotes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        boolean quoted = false;
+        boolean afterCr = false;
+        while (true) {
+            buffer.clear();
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                return position;
+            }
+            for (int i = 0; i < n; i++) {
+                byte b = buffer.get(i);
+                if (afterCr) {
+                    return b == '\n' ? position + i + 1 : position + i;
+                }
+                if (b == '"' && honourQuotes) {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    return position + i + 1;
+                } else if (b == '\r' && !quoted) {
+                    afterCr = true;
+                }
+            }
+            position += n;
+        }
+    }
+
+    private static Scan scan(Path file, Charset charset, char delimiter, List<String> headers, long start, long end) {
+        long rows = 0;
+        try (CsvRowReader reader = openRange(file, charset, delimiter, headers, start, end, 1)) {
+            while (reader.next() != null) {
+                rows++;
+            }
+            return new Scan(rows, !reader.sawQuotedLineBreak());
+        } catch (InvalidUploadFileException e) {
+            // Typically a range ending inside a quoted field; the sequential read reports real errors
+            return new Scan(rows, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CsvRowReader openRange(Path file, Charset charset, char delimiter, List<String> headers,
+                                          long start, long end, long firstRowNumber) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            channel.position(start);
+            InputStream in = new BufferedInputStream(
+                    new RangeInputStream(Channels.newInputStream(channel), end - start), SCAN_BUFFER_SIZE);
+            return CsvRowReader.openSegment(in, charset, delimiter, headers, firstRowNumber);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Reads at most {@code remaining} bytes from the underlying stream. */
+    private static final class RangeInputStream extends InputStream {
+
+        private final InputStream in;
+        private long remaining;
+
+        RangeInputStream(InputStream in, long length) {
+            this.in = in;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
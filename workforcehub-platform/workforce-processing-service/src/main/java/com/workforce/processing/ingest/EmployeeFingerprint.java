@@ -0,0 +1,55 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.processing.domain.Employee;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 64-bit fingerprints of employee data, stored in employees.fingerprint.
+ *
+ * Two rows with the same fingerprint carry the same data, so comparing the
+ * fingerprint of an incoming row with the stored one tells whether the row
+ * needs writing at all. Fields are hashed after validation and normalisation
+ * (trimmed, email lower-cased, dates ISO), so formatting-only differences in
+ * the source file do not count as changes. Changing what is hashed makes
+ * every stored fingerprint stale, which costs one full rewrite per tenant.
+ */
+public final class EmployeeFingerprint {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char NULL_MARKER = '\u0000';
+
+    private EmployeeFingerprint() {}
+
+    public static long of(Employee employee) {
+        StringBuilder canonical = new StringBuilder(128);
+        append(canonical, employee.getFirstName());
+        append(canonical, employee.getLastName());
+        append(canonical, employee.getEmail());
+        append(canonical, employee.getDepartment());
+        append(canonical, employee.getJobTitle());
+        append(canonical, employee.getHireDate() != null ? employee.getHireDate().toString() : null);
+        append(canonical, employee.getStatus() != null ? employee.getStatus().name() : null);
+        return hash64(canonical.toString());
+    }
+
+    /** First 64 bits of the SHA-256 of {@code value}. */
+    public static long hash64(String value) {
+        return ByteBuffer.wrap(sha256().digest(value.getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    private static void append(StringBuilder canonical, String value) {
+        canonical.append(value == null ? String.valueOf(NULL_MARKER) : value).append(FIELD_SEPARATOR);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
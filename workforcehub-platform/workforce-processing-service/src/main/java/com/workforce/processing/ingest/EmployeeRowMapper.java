@@ -0,0 +1,87 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.common.employee.EmployeeField;
+import com.workforce.processing.domain.Employee;
+import com.workforce.processing.exception.RowValidationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Validates a {@link SourceRow} and converts it into an {@link Employee}.
+ * Column length limits mirror the {@code employees} table in db/init.sql.
+ */
+@Component
+public class EmployeeRowMapper {
+
+    private static final int MAX_NAME_LENGTH  = 255;
+    private static final int MAX_EMAIL_LENGTH = 320;
+
+    public Employee toEmployee(SourceRow row, HeaderMapping mapping, String tenantId, UUID uploadJobId) {
+        long n = row.rowNumber();
+
+        String email = required(row, mapping, EmployeeField.EMAIL, MAX_EMAIL_LENGTH).toLowerCase(Locale.ROOT);
+        if (!EmployeeField.isValidEmail(email)) {
+            throw new RowValidationException(n, "invalid email '" + email + "'");
+        }
+
+        Employee employee = Employee.builder()
+                .tenantId(tenantId)
+                .uploadJobId(uploadJobId)
+                .firstName(required(row, mapping, EmployeeField.FIRST_NAME, MAX_NAME_LENGTH))
+                .lastName(required(row, mapping, EmployeeField.LAST_NAME, MAX_NAME_LENGTH))
+                .email(email)
+                .department(optional(row, mapping, EmployeeField.DEPARTMENT, MAX_NAME_LENGTH))
+                .jobTitle(optional(row, mapping, EmployeeField.JOB_TITLE, MAX_NAME_LENGTH))
+                .hireDate(parseHireDate(n, mapping.value(row, EmployeeField.HIRE_DATE)))
+                .status(parseStatus(n, mapping.value(row, EmployeeField.STATUS)))
+                .build();
+        employee.setFingerprint(EmployeeFingerprint.of(employee));
+        return employee;
+    }
+
+    private String required(SourceRow row, HeaderMapping mapping, EmployeeField field, int maxLength) {
+        String value = mapping.value(row, field);
+        if (value == null) {
+            throw new RowValidationException(row.rowNumber(), field + " is required");
+        }
+        return checkLength(row.rowNumber(), field, value, maxLength);
+    }
+
+    private String optional(SourceRow row, HeaderMapping mapping, EmployeeField field, int maxLength) {
+        String value = mapping.value(row, field);
+        return value == null ? null : checkLength(row.rowNumber(), field, value, maxLength);
+    }
+
+    private String checkLength(long rowNumber, EmployeeField field, String value, int maxLength) {
+        if (value.length() > maxLength) {
+            throw new RowValidationException(rowNumber, field + " exceeds " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private LocalDate parseHireDate(long rowNumber, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RowValidationException(rowNumber, "invalid hire date '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+
+    private Employee.EmployeeStatus parseStatus(long rowNumber, String value) {
+        if (value == null) {
+            return Employee.EmployeeStatus.ACTIVE;
+        }
+        try {
+            return Employee.EmployeeStatus.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RowValidationException(rowNumber, "invalid status '" + value + "'");
+        }
+    }
+}
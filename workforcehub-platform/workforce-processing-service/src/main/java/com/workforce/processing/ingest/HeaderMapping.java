@@ -0,0 +1,62 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.common.employee.EmployeeField;
+import com.workforce.processing.exception.InvalidUploadFileException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolved position of each {@link EmployeeField} in an uploaded file.
+ * Built once per file from the header row; unknown columns are ignored.
+ */
+public final class HeaderMapping {
+
+    private final Map<EmployeeField, Integer> positions;
+
+    private HeaderMapping(Map<EmployeeField, Integer> positions) {
+        this.positions = positions;
+    }
+
+    public static HeaderMapping resolve(List<String> headers) {
+        Map<EmployeeField, Integer> positions = new EnumMap<>(EmployeeField.class);
+        for (int i = 0; i < headers.size(); i++) {
+            for (EmployeeField field : EmployeeField.values()) {
+                if (field.matches(headers.get(i))) {
+                    if (positions.putIfAbsent(field, i) != null) {
+                        throw new InvalidUploadFileException(
+                                "Duplicate column for " + field + ": '" + headers.get(i) + "'");
+                    }
+                    break;
+                }
+            }
+        }
+
+        List<EmployeeField> missing = new ArrayList<>();
+        for (EmployeeField field : EmployeeField.values()) {
+            if (field.isRequired() && !positions.containsKey(field)) {
+                missing.add(field);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidUploadFileException("Missing required column(s): " + missing);
+        }
+        return new HeaderMapping(positions);
+    }
+
+    /** Trimmed value of the field in the given row, or {@code null} if absent or blank. */
+    public String value(SourceRow row, EmployeeField field) {
+        Integer column = positions.get(field);
+        if (column == null) {
+            return null;
+        }
+        String raw = row.value(column);
+        if (raw == null) {
+            return null;
+        }
+        String trimmed = raw.strip();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
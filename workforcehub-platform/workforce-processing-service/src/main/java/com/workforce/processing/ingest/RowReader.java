@@ -0,0 +1,19 @@
+package com.workforce.processing.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Pull-based, forward-only reader over the rows of an uploaded file.
+ * Implementations hold at most one row (plus a fixed-size read buffer)
+ * in memory, so heap usage does not depend on file size.
+ */
+public interface RowReader extends Closeable {
+
+    /** Column headers from the first row of the file. */
+    List<String> headers();
+
+    /** Next data row, or {@code null} once the file is exhausted. */
+    SourceRow next() throws IOException;
+}
@@ -0,0 +1,46 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.exception.InvalidUploadFileException;
+import com.workforce.processing.storage.UploadStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens the stored file for an upload event and picks the reader for its type.
+ * Compressed CSV files are decoded as they are read, see {@link CompressedInput}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RowReaderFactory {
+
+    private final UploadStorage uploadStorage;
+    private final MeterRegistry meterRegistry;
+
+    public RowReader open(EmployeeUploadRequestedEvent event) throws IOException {
+        if (event.isCompressed() && !"CSV".equals(event.getFileType())) {
+            throw new InvalidUploadFileException("Only CSV files can be uploaded compressed");
+        }
+        if ("EXCEL".equals(event.getFileType())) {
+            return XlsxRowReader.open(uploadStorage.openLocal(event.getStorageKey()));
+        }
+
+        InputStream in = uploadStorage.open(event.getStorageKey());
+        try {
+            if (event.isCompressed()) {
+                in = CompressedInput.open(in, event.getCompression(), meterRegistry);
+            }
+            if ("CSV".equals(event.getFileType())) {
+                return CsvRowReader.open(in);
+            }
+            throw new InvalidUploadFileException("Unsupported file type: " + event.getFileType());
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+}
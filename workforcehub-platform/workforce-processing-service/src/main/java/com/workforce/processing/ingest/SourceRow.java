@@ -0,0 +1,16 @@
+package com.workforce.processing.ingest;
+
+import java.util.List;
+
+/**
+ * One data row pulled from an uploaded file.
+ *
+ * @param rowNumber 1-based data row number (the header row is not counted)
+ * @param values    raw cell values in column order
+ */
+public record SourceRow(long rowNumber, List<String> values) {
+
+    public String value(int column) {
+        return column < values.size() ? values.get(column) : null;
+    }
+}
@@ -0,0 +1,408 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.processing.exception.InvalidUploadFileException;
+import com.workforce.processing.storage.LocalFileHandle;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Event-driven XLSX reader for the first worksheet of a workbook.
+ *
+ * The worksheet XML is pulled through StAX one {@code <row>} at a time — the
+ * workbook is never opened as a DOM. Shared strings are spilled to disk
+ * ({@link XlsxSharedStrings}) and only the cell style → date format table from
+ * styles.xml is kept in memory, so heap usage stays fixed regardless of the
+ * number of rows.
+ *
+ * Date-formatted numeric cells are emitted as ISO yyyy-MM-dd strings so they
+ * flow through the same {@link EmployeeRowMapper} validation as CSV input.
+ */
+public final class XlsxRowReader implements RowReader {
+
+    private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+    private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    private static final int MAX_COLUMNS = 256;
+
+    private final LocalFileHandle file;
+    private final ZipFile zip;
+    private final XlsxSharedStrings sharedStrings;
+    private final BitSet dateStyles;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private final List<String> headers;
+    private long rowNumber;
+
+    private XlsxRowReader(LocalFileHandle file, ZipFile zip, XlsxSharedStrings sharedStrings,
+                          BitSet dateStyles, InputStream sheetStream) throws IOException {
+        this.file = file;
+        this.zip = zip;
+        this.sharedStrings = sharedStrings;
+        this.dateStyles = dateStyles;
+        this.sheetStream = sheetStream;
+        try {
+            this.sheet = newXmlReader(sheetStream);
+            List<String> header = readRow();
+            if (header == null) {
+                throw new InvalidUploadFileException("Worksheet is empty — expected a header row");
+            }
+            this.headers = List.copyOf(header);
+        } catch (XMLStreamException e) {
+            throw new InvalidUploadFileException("Malformed worksheet: " + e.getMessage());
+        }
+    }
+
+    /** Opens the workbook; the reader takes ownership of {@code file} and closes it. */
+    public static XlsxRowReader open(LocalFileHandle file) throws IOException {
+        ZipFile zip;
+        try {
+            zip = new ZipFile(file.path().toFile());
+        } catch (ZipException e) {
+            closeQuietly(file);
+            throw new InvalidUploadFileException(
+                    "Not an XLSX workbook — legacy .xls files must be re-saved as .xlsx or CSV");
+        }
+
+        XlsxSharedStrings sharedStrings = null;
+        InputStream sheetStream = null;
+        try {
+            ZipEntry sst = zip.getEntry("xl/sharedStrings.xml");
+            if (sst == null) {
+                sharedStrings = XlsxSharedStrings.empty();
+            } else {
+                try (InputStream in = zip.getInputStream(sst)) {
+                    sharedStrings = XlsxSharedStrings.load(in);
+                }
+            }
+
+            BitSet dateStyles = readDateStyles(zip);
+
+            ZipEntry sheetEntry = zip.getEntry(resolveFirstSheet(zip));
+            if (sheetEntry == null) {
+                throw new InvalidUploadFileException("Workbook has no worksheet");
+            }
+            sheetStream = zip.getInputStream(sheetEntry);
+            return new XlsxRowReader(file, zip, sharedStrings, dateStyles, sheetStream);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(sheetStream);
+            closeQuietly(sharedStrings);
+            closeQuietly(zip);
+            closeQuietly(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    public SourceRow next() throws IOException {
+        try {
+            List<String> values;
+            do {
+                values = readRow();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.stream().allMatch(String::isBlank));
+            return new SourceRow(++rowNumber, values);
+        } catch (XMLStreamException e) {
+            throw new InvalidUploadFileException("Malformed worksheet near row " + (rowNumber + 1) + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException ignored) {
+            // underlying stream is closed below
+        }
+        closeQuietly(sheetStream);
+        closeQuietly(sharedStrings);
+        try {
+            zip.close();
+        } finally {
+            file.close();
+        }
+    }
+
+    /** Advances to the next {@code <row>} and returns its cells, or {@code null} at end of sheet data. */
+    private List<String> readRow() throws XMLStreamException, IOException {
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                return readCells();
+            }
+            if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(sheet.getLocalName())) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private List<String> readCells() throws XMLStreamException, IOException {
+        List<String> values = new ArrayList<>(headers != null ? headers.size() : 16);
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(sheet.getLocalName())) {
+                int column = columnIndex(sheet.getAttributeValue(null, "r"), values.size());
+                if (column >= MAX_COLUMNS) {
+                    throw new InvalidUploadFileException("Row exceeds " + MAX_COLUMNS + " columns");
+                }
+                String type = sheet.getAttributeValue(null, "t");
+                String style = sheet.getAttributeValue(null, "s");
+                String value = readCellValue(type, style);
+                while (values.size() < column) {
+                    values.add("");
+                }
+                values.add(value);
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                return values;
+            }
+        }
+        return values;
+    }
+
+    private String readCellValue(String type, String style) throws XMLStreamException, IOException {
+        String raw = null;
+        StringBuilder inline = null;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = sheet.getLocalName();
+                if ("v".equals(name)) {
+                    raw = sheet.getElementText();
+                } else if ("t".equals(name)) {
+                    if (inline == null) {
+                        inline = new StringBuilder();
+                    }
+                    inline.append(sheet.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+                break;
+            }
+        }
+
+        if ("inlineStr".equals(type)) {
+            return inline == null ? "" : inline.toString();
+        }
+        if (raw == null) {
+            return "";
+        }
+        return switch (type == null ? "n" : type) {
+            case "s" -> sharedStrings.get(parseIndex(raw));
+            case "b" -> "1".equals(raw) ? "TRUE" : "FALSE";
+            case "e" -> "";
+            case "n" -> isDateStyle(style) ? toIsoDate(raw) : raw;
+            default -> raw;
+        };
+    }
+
+    private boolean isDateStyle(String style) {
+        return style != null && dateStyles.get(parseIndex(style));
+    }
+
+    private static String toIsoDate(String serial) {
+        try {
+            double days = Double.parseDouble(serial);
+            return EXCEL_EPOCH.plusDays((long) Math.floor(days)).toString();
+        } catch (NumberFormatException e) {
+            return serial;
+        }
+    }
+
+    private static int parseIndex(String raw) {
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidUploadFileException("Invalid index in workbook: '" + raw + "'");
+        }
+    }
+
+    /** Zero-based column from an A1-style reference; falls back to the next position if absent. */
+    private static int columnIndex(String reference, int fallback) {
+        if (reference == null) {
+            return fallback;
+        }
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column == 0 ? fallback : column - 1;
+    }
+
+    /** Path of the first sheet listed in workbook.xml, via its relationship id. */
+    private static String resolveFirstSheet(ZipFile zip) throws IOException {
+        String relationshipId = firstAttribute(zip, "xl/workbook.xml", "sheet",
+                "http://schemas.openxmlformats.org/officeDocument/2006/relationships", "id");
+        if (relationshipId == null) {
+            return DEFAULT_SHEET;
+        }
+        ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (rels == null) {
+            return DEFAULT_SHEET;
+        }
+        try (InputStream in = zip.getInputStream(rels)) {
+            XMLStreamReader reader = newXmlReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT
+                            && "Relationship".equals(reader.getLocalName())
+                            && relationshipId.equals(reader.getAttributeValue(null, "Id"))) {
+                        String target = reader.getAttributeValue(null, "Target");
+                        return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new InvalidUploadFileException("Malformed workbook relationships: " + e.getMessage());
+        }
+        return DEFAULT_SHEET;
+    }
+
+    private static String firstAttribute(ZipFile zip, String entryName, String element,
+                                         String namespace, String attribute) throws IOException {
+        ZipEntry entry = zip.getEntry(entryName);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = newXmlReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && element.equals(reader.getLocalName())) {
+                        return reader.getAttributeValue(namespace, attribute);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new InvalidUploadFileException("Malformed " + entryName + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Indexes into {@code cellXfs} whose number format renders a date.
+     * Built-in formats 14–22 and 45–47 are dates; custom formats are treated as
+     * dates when their code contains d/m/y outside quoted literals and brackets.
+     */
+    private static BitSet readDateStyles(ZipFile zip) throws IOException {
+        BitSet dateStyles = new BitSet();
+        ZipEntry styles = zip.getEntry("xl/styles.xml");
+        if (styles == null) {
+            return dateStyles;
+        }
+        Map<Integer, Boolean> customDateFormats = new HashMap<>();
+        try (InputStream in = zip.getInputStream(styles)) {
+            XMLStreamReader reader = newXmlReader(in);
+            try {
+                boolean inCellXfs = false;
+                int xfIndex = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        switch (reader.getLocalName()) {
+                            case "numFmt" -> customDateFormats.put(
+                                    parseIndex(reader.getAttributeValue(null, "numFmtId")),
+                                    isDateFormatCode(reader.getAttributeValue(null, "formatCode")));
+                            case "cellXfs" -> inCellXfs = true;
+                            case "xf" -> {
+                                if (inCellXfs) {
+                                    String numFmtId = reader.getAttributeValue(null, "numFmtId");
+                                    int id = numFmtId == null ? 0 : parseIndex(numFmtId);
+                                    boolean builtInDate = (id >= 14 && id <= 22) || (id >= 45 && id <= 47);
+                                    if (builtInDate || customDateFormats.getOrDefault(id, false)) {
+                                        dateStyles.set(xfIndex);
+                                    }
+                                    xfIndex++;
+                                }
+                            }
+                            default -> { }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && "cellXfs".equals(reader.getLocalName())) {
+                        break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new InvalidUploadFileException("Malformed styles.xml: " + e.getMessage());
+        }
+        return dateStyles;
+    }
+
+    private static boolean isDateFormatCode(String code) {
+        if (code == null) {
+            return false;
+        }
+        boolean quoted = false;
+        int bracketDepth = 0;
+        for (char c : code.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == '[') {
+                bracketDepth++;
+            } else if (!quoted && c == ']') {
+                bracketDepth--;
+            } else if (!quoted && bracketDepth == 0 && (c == 'd' || c == 'm' || c == 'y')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static XMLStreamReader newXmlReader(InputStream in) throws IOException {
+        try {
+            return XML_FACTORY.createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            throw new InvalidUploadFileException("Malformed workbook XML: " + e.getMessage());
+        }
+    }
+
+    private static XMLInputFactory createXmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Workbook parts never need DTDs — disabling them blocks XXE and entity expansion
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // best-effort cleanup on a failed open
+        }
+    }
+}
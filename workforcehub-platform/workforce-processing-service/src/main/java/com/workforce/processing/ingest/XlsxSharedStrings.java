@@ -0,0 +1,154 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.processing.exception.InvalidUploadFileException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Disk-backed shared strings table for a workbook.
+ *
+ * xl/sharedStrings.xml is streamed once and each string is appended to a temp
+ * file; only an int offset per string stays on the heap. Lookups read from the
+ * temp file through a small LRU cache, which covers the common case of
+ * low-cardinality columns (department, status, job title).
+ */
+final class XlsxSharedStrings implements Closeable {
+
+    private static final int CACHE_SIZE = 4096;
+
+    private final Path spillFile;
+    private final FileChannel channel;
+    private final Map<Integer, String> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final int[] offsets;
+    private final int count;
+
+    private XlsxSharedStrings(Path spillFile, int[] offsets, int count) throws IOException {
+        this.spillFile = spillFile;
+        this.offsets = offsets;
+        this.count = count;
+        this.channel = FileChannel.open(spillFile, StandardOpenOption.READ);
+    }
+
+    static XlsxSharedStrings empty() throws IOException {
+        return load(null);
+    }
+
+    static XlsxSharedStrings load(InputStream xml) throws IOException {
+        Path spill = Files.createTempFile("xlsx-sst-", ".bin");
+        int[] offsets = new int[1024];
+        int count = 0;
+        long written = 0;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spill), 64 * 1024))) {
+            if (xml != null) {
+                XMLStreamReader reader = XlsxRowReader.newXmlReader(xml);
+                try {
+                    StringBuilder text = new StringBuilder();
+                    boolean inSi = false;
+                    boolean inText = false;
+                    int phoneticDepth = 0;
+                    while (reader.hasNext()) {
+                        int event = reader.next();
+                        if (event == XMLStreamConstants.START_ELEMENT) {
+                            switch (reader.getLocalName()) {
+                                case "si" -> { inSi = true; text.setLength(0); }
+                                case "rPh" -> phoneticDepth++;
+                                case "t" -> inText = inSi && phoneticDepth == 0;
+                                default -> { }
+                            }
+                        } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                            if (inText) {
+                                text.append(reader.getText());
+                            }
+                        } else if (event == XMLStreamConstants.END_ELEMENT) {
+                            switch (reader.getLocalName()) {
+                                case "t" -> inText = false;
+                                case "rPh" -> phoneticDepth--;
+                                case "si" -> {
+                                    inSi = false;
+                                    if (written > Integer.MAX_VALUE) {
+                                        throw new InvalidUploadFileException("Shared strings table exceeds 2GB");
+                                    }
+                                    if (count == offsets.length) {
+                                        offsets = Arrays.copyOf(offsets, count * 2);
+                                    }
+                                    offsets[count++] = (int) written;
+                                    byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+                                    out.writeInt(bytes.length);
+                                    out.write(bytes);
+                                    written += 4L + bytes.length;
+                                }
+                                default -> { }
+                            }
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        } catch (XMLStreamException e) {
+            Files.deleteIfExists(spill);
+            throw new InvalidUploadFileException("Malformed shared strings table: " + e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spill);
+            throw e;
+        }
+        return new XlsxSharedStrings(spill, offsets, count);
+    }
+
+    String get(int index) throws IOException {
+        if (index < 0 || index >= count) {
+            throw new InvalidUploadFileException("Shared string index out of range: " + index);
+        }
+        String cached = cache.get(index);
+        if (cached != null) {
+            return cached;
+        }
+        ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(length, offsets[index]);
+        ByteBuffer bytes = ByteBuffer.allocate(length.flip().getInt());
+        readFully(bytes, offsets[index] + 4L);
+        String value = new String(bytes.array(), StandardCharsets.UTF_8);
+        cache.put(index, value);
+        return value;
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int n = channel.read(target, position + target.position());
+            if (n < 0) {
+                throw new IOException("Unexpected end of shared strings spill file");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+}
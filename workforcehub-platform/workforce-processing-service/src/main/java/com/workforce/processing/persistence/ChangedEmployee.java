@@ -0,0 +1,6 @@
+package com.workforce.processing.persistence;
+
+import java.util.UUID;
+
+/** An existing employee row that a write changed, so readers may hold a stale copy of it. */
+public record ChangedEmployee(String tenantId, UUID id) {}
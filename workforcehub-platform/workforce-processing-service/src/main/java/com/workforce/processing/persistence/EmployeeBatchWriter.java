@@ -0,0 +1,21 @@
+package com.workforce.processing.persistence;
+
+import com.workforce.processing.domain.Employee;
+
+import java.util.List;
+
+/**
+ * Persists validated employee rows for an upload, one batch at a time.
+ * Called inside the caller's transaction.
+ */
+public interface EmployeeBatchWriter {
+
+    /**
+     * Upserts the batch on (tenant_id, email). Every row is accepted: a row
+     * that matches an existing employee updates it instead of failing.
+     *
+     * @return the existing employees whose row actually changed; new rows and
+     *         rows whose fingerprint matched are not included
+     */
+    List<ChangedEmployee> write(List<Employee> batch);
+}
@@ -0,0 +1,60 @@
+package com.workforce.processing.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and applies the per-tenant state that diff ingestion compares against.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeFingerprints {
+
+    private static final String LOAD = """
+            SELECT id, email, fingerprint FROM employees
+            WHERE tenant_id = ? AND deleted = FALSE""";
+
+    private static final String SOFT_DELETE = """
+            UPDATE employees SET deleted = TRUE, upload_job_id = ?, updated_at = NOW()
+            WHERE tenant_id = ? AND id = ANY(?) AND deleted = FALSE""";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Streams the tenant's live employees into an index; runs in a transaction so the cursor is honoured. */
+    @Transactional(readOnly = true)
+    public FingerprintIndex load(String tenantId) {
+        FingerprintIndex index = new FingerprintIndex();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOAD);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setString(1, tenantId);
+            return ps;
+        }, rs -> {
+            long fingerprint = rs.getLong(3);
+            index.put(rs.getString(2), rs.wasNull() ? null : fingerprint, rs.getObject(1, UUID.class));
+        });
+        log.debug("Loaded {} employee fingerprints for tenant {}", index.size(), tenantId);
+        return index;
+    }
+
+    /** Soft-deletes the given employees, attributing the change to {@code uploadJobId}. */
+    public int softDelete(String tenantId, UUID uploadJobId, List<UUID> ids) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SOFT_DELETE);
+            ps.setObject(1, uploadJobId);
+            ps.setString(2, tenantId);
+            ps.setArray(3, con.createArrayOf("uuid", ids.toArray()));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.workforce.processing.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains employee_headcount, the per-tenant rollup behind the query
+ * service's /employees/stats.
+ *
+ * Database triggers record every change to employees as signed deltas, so
+ * writers need no extra code. {@link #fold} moves a tenant's pending deltas
+ * into the rollup; its cost follows the number of changed groups since the
+ * last fold, not the tenant's headcount.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeHeadcountRollup {
+
+    // Ordered so concurrent folds for one tenant lock rollup rows in the same order
+    private static final String FOLD = """
+            WITH folded AS (
+                DELETE FROM employee_headcount_deltas WHERE tenant_id = ?
+                RETURNING department, status, hire_month, delta
+            )
+            INSERT INTO employee_headcount (tenant_id, department, status, hire_month, headcount)
+            SELECT ?, department, status, hire_month, sum(delta) FROM folded
+            GROUP BY department, status, hire_month
+            ORDER BY department, status, hire_month
+            ON CONFLICT ON CONSTRAINT uq_employee_headcount
+            DO UPDATE SET headcount = employee_headcount.headcount + EXCLUDED.headcount""";
+
+    private static final String PRUNE = "DELETE FROM employee_headcount WHERE tenant_id = ? AND headcount = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Applies the tenant's pending deltas to the rollup. Returns the number of rollup rows touched. */
+    @Transactional
+    public int fold(String tenantId) {
+        int touched = jdbcTemplate.update(FOLD, tenantId, tenantId);
+        if (touched > 0) {
+            jdbcTemplate.update(PRUNE, tenantId);
+        }
+        log.debug("Folded headcount deltas for tenant {} into {} rollup row(s)", tenantId, touched);
+        return touched;
+    }
+}
@@ -0,0 +1,36 @@
+package com.workforce.processing.persistence;
+
+/**
+ * SQL shared by the batch writers. Rows are keyed on (tenant_id, email), the
+ * table's natural key, so re-uploading a roster updates the existing rows in
+ * place instead of failing on the unique constraint.
+ */
+final class EmployeeUpsertSql {
+
+    static final String COLUMNS =
+            "tenant_id, upload_job_id, first_name, last_name, email, department, job_title, hire_date, status, fingerprint";
+
+    /**
+     * Merges into the existing row and revives soft-deleted ones. Rows whose
+     * fingerprint is unchanged are left alone, so a repeated upload writes no
+     * new tuple versions; upload_job_id therefore records the job that last
+     * changed the row. Rows without a fingerprint yet are rewritten once.
+     */
+    static final String ON_CONFLICT_MERGE = """
+            ON CONFLICT (tenant_id, email) DO UPDATE SET
+                upload_job_id = EXCLUDED.upload_job_id,
+                first_name    = EXCLUDED.first_name,
+                last_name     = EXCLUDED.last_name,
+                department    = EXCLUDED.department,
+                job_title     = EXCLUDED.job_title,
+                hire_date     = EXCLUDED.hire_date,
+                status        = EXCLUDED.status,
+                fingerprint   = EXCLUDED.fingerprint,
+                deleted       = FALSE,
+                updated_at    = NOW()
+            WHERE employees.deleted
+               OR employees.fingerprint IS DISTINCT FROM EXCLUDED.fingerprint""";
+
+    private EmployeeUpsertSql() {
+    }
+}
@@ -0,0 +1,66 @@
+package com.workforce.processing.persistence;
+
+import com.workforce.processing.domain.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link EmployeeBatchWriter} that sends one batched JDBC upsert per chunk.
+ * Slower than COPY for large files but needs no temp table, which makes it
+ * the fallback for poolers that do not support session state.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "processing.write-mode", havingValue = "jdbc")
+public class JdbcEmployeeBatchWriter implements EmployeeBatchWriter {
+
+    private static final String UPSERT = "INSERT INTO employees (" + EmployeeUpsertSql.COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + EmployeeUpsertSql.ON_CONFLICT_MERGE;
+
+    // Batched statements cannot return rows. NOW() is fixed for the transaction, so rows that
+    // ON CONFLICT updated in it carry updated_at = NOW(), and those it inserted created_at = NOW() too.
+    private static final String CHANGED = """
+            SELECT DISTINCT e.tenant_id, e.id
+            FROM employees e
+            JOIN unnest(?::varchar[], ?::varchar[]) AS b(tenant_id, email)
+              ON e.tenant_id = b.tenant_id AND e.email = b.email
+            WHERE e.updated_at = NOW() AND e.created_at < NOW()""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ChangedEmployee> write(List<Employee> batch) {
+        // Statements run in order, so a repeated email later in the batch simply wins
+        jdbcTemplate.batchUpdate(UPSERT, batch, batch.size(), (ps, e) -> {
+            ps.setString(1, e.getTenantId());
+            ps.setObject(2, e.getUploadJobId());
+            ps.setString(3, e.getFirstName());
+            ps.setString(4, e.getLastName());
+            ps.setString(5, e.getEmail());
+            ps.setString(6, e.getDepartment());
+            ps.setString(7, e.getJobTitle());
+            if (e.getHireDate() != null) {
+                ps.setDate(8, Date.valueOf(e.getHireDate()));
+            } else {
+                ps.setNull(8, Types.DATE);
+            }
+            ps.setString(9, e.getStatus().name());
+            ps.setObject(10, e.getFingerprint(), Types.BIGINT);
+        });
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CHANGED);
+            ps.setArray(1, con.createArrayOf("varchar", batch.stream().map(Employee::getTenantId).toArray()));
+            ps.setArray(2, con.createArrayOf("varchar", batch.stream().map(Employee::getEmail).toArray()));
+            return ps;
+        }, (rs, rowNum) -> new ChangedEmployee(rs.getString(1), rs.getObject(2, UUID.class)));
+    }
+}
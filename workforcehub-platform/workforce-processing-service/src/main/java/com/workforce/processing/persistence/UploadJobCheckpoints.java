@@ -0,0 +1,96 @@
+package com.workforce.processing.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Progress markers on upload_jobs that let an interrupted job resume.
+ *
+ * The checkpoint is the number of the last source row whose outcome has been
+ * committed. It is written in the same transaction as the chunk it covers, so
+ * after a crash or Kafka redelivery the job restarts exactly after the last
+ * committed chunk and the running counts still add up.
+ *
+ * Only the checkpoint and the counts are written here. upload_jobs.status
+ * belongs to upload-service, which moves it forward from the processed events
+ * under its rank guard; writing it here would let a late chunk commit reopen
+ * a job that had already finished or failed.
+ *
+ * A job processed in parallel segments keeps one checkpoint per segment in
+ * upload_job_segments instead, since its segments commit out of order.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadJobCheckpoints {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Checkpoint(long lastRow, int processedRows, int failedRows) {
+        public static final Checkpoint START = new Checkpoint(0, 0, 0);
+    }
+
+    /** Rows firstRow..endRow of a parallel job, committed through lastRow. */
+    public record SegmentCheckpoint(long firstRow, long endRow, long lastRow, int processedRows, int failedRows) {
+
+        public static SegmentCheckpoint start(long firstRow, long endRow) {
+            return new SegmentCheckpoint(firstRow, endRow, firstRow - 1, 0, 0);
+        }
+
+        public boolean finished() {
+            return lastRow >= endRow;
+        }
+    }
+
+    public Checkpoint load(UUID uploadJobId) {
+        return jdbcTemplate.query("""
+                        SELECT checkpoint_row, COALESCE(processed_rows, 0), COALESCE(failed_rows, 0)
+                        FROM upload_jobs WHERE id = ?""",
+                rs -> rs.next() ? new Checkpoint(rs.getLong(1), rs.getInt(2), rs.getInt(3)) : Checkpoint.START,
+                uploadJobId);
+    }
+
+    /** Must run inside the transaction that committed the chunk. */
+    public void save(UUID uploadJobId, Checkpoint checkpoint) {
+        jdbcTemplate.update("""
+                        UPDATE upload_jobs
+                        SET checkpoint_row = ?, processed_rows = ?, failed_rows = ?
+                        WHERE id = ?""",
+                checkpoint.lastRow(), checkpoint.processedRows(), checkpoint.failedRows(), uploadJobId);
+    }
+
+    /** Segment checkpoints of a job, keyed by their first row. */
+    public Map<Long, SegmentCheckpoint> loadSegments(UUID uploadJobId) {
+        Map<Long, SegmentCheckpoint> segments = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT first_row, end_row, checkpoint_row, processed_rows, failed_rows
+                        FROM upload_job_segments WHERE upload_job_id = ?""",
+                rs -> {
+                    segments.put(rs.getLong(1), new SegmentCheckpoint(
+                            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getInt(5)));
+                },
+                uploadJobId);
+        return segments;
+    }
+
+    /** Must run inside the transaction that committed the segment's chunk. */
+    public void saveSegment(UUID uploadJobId, SegmentCheckpoint checkpoint) {
+        jdbcTemplate.update("""
+                        INSERT INTO upload_job_segments
+                            (upload_job_id, first_row, end_row, checkpoint_row, processed_rows, failed_rows)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        ON CONFLICT (upload_job_id, first_row) DO UPDATE
+                        SET end_row = EXCLUDED.end_row, checkpoint_row = EXCLUDED.checkpoint_row,
+                            processed_rows = EXCLUDED.processed_rows, failed_rows = EXCLUDED.failed_rows""",
+                uploadJobId, checkpoint.firstRow(), checkpoint.endRow(), checkpoint.lastRow(),
+                checkpoint.processedRows(), checkpoint.failedRows());
+    }
+
+    public void clearSegments(UUID uploadJobId) {
+        jdbcTemplate.update("DELETE FROM upload_job_segments WHERE upload_job_id = ?", uploadJobId);
+    }
+}
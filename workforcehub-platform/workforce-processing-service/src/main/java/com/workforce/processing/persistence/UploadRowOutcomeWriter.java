@@ -0,0 +1,220 @@
+package com.workforce.processing.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workforce.processing.config.ProcessingProperties;
+import com.workforce.processing.ingest.SourceRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records per-row outcomes in upload_job_rows off the ingestion path.
+ *
+ * Callers enqueue outcomes into a bounded queue (blocking only if the writer
+ * falls far behind) and a background thread drains them in multi-row inserts.
+ * raw_data is stored for failed rows only; processed rows are recorded only
+ * when processing.row-outcomes.record-processed is set.
+ *
+ * Outcomes are diagnostic: a failed write is logged and dropped rather than
+ * failing the upload. Inserts are keyed on (upload_job_id, row_number) so a
+ * retried chunk overwrites instead of duplicating.
+ *
+ * Outstanding outcomes are counted per job, so a finishing job waits only for
+ * its own rows. Waiting uses a Lock/Condition rather than a monitor, so virtual
+ * threads are not pinned while they wait.
+ */
+@Slf4j
+@Component
+public class UploadRowOutcomeWriter implements DisposableBean {
+
+    private static final String INSERT = """
+            INSERT INTO upload_job_rows (tenant_id, upload_job_id, row_number, row_status, raw_data, error_message)
+            VALUES (?, ?, ?, ?, ?::jsonb, ?)
+            ON CONFLICT (upload_job_id, row_number) DO UPDATE SET
+                row_status    = EXCLUDED.row_status,
+                raw_data      = EXCLUDED.raw_data,
+                error_message = EXCLUDED.error_message,
+                updated_at    = NOW()""";
+
+    private record Outcome(String tenantId, UUID uploadJobId, long rowNumber, String status,
+                           List<String> headers, List<String> values, String errorMessage) {}
+
+    /** Outcomes of one job that are queued or being written; removed from the map when it reaches zero. */
+    private static final class Pending {
+        private final AtomicLong outstanding = new AtomicLong();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition drained = lock.newCondition();
+
+        private void signalDrained() {
+            lock.lock();
+            try {
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProcessingProperties.RowOutcomes config;
+    private final BlockingQueue<Outcome> queue;
+    private final Thread drainer;
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    public UploadRowOutcomeWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ProcessingProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.config = properties.getRowOutcomes();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.drainer = Thread.ofPlatform().daemon().name("upload-row-outcomes").start(this::drain);
+    }
+
+    public void failed(String tenantId, UUID uploadJobId, SourceRow row, List<String> headers, String errorMessage) {
+        enqueue(new Outcome(tenantId, uploadJobId, row.rowNumber(), "FAILED", headers, row.values(), errorMessage));
+    }
+
+    public void processed(String tenantId, UUID uploadJobId, SourceRow row) {
+        if (config.isRecordProcessed()) {
+            enqueue(new Outcome(tenantId, uploadJobId, row.rowNumber(), "PROCESSED", null, null, null));
+        }
+    }
+
+    /**
+     * Blocks until every outcome of {@code uploadJobId} enqueued before this
+     * call has been written (or dropped), so a job's rows are visible once it
+     * reports completion. Other jobs' outcomes are not waited for.
+     */
+    public void awaitWritten(UUID uploadJobId) {
+        Pending job = pending.get(uploadJobId);
+        if (job == null) {
+            return;
+        }
+        job.lock.lock();
+        try {
+            while (job.outstanding.get() > 0 && running) {
+                job.drained.await(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            job.lock.unlock();
+        }
+    }
+
+    private void enqueue(Outcome outcome) {
+        pending.compute(outcome.uploadJobId(), (id, job) -> {
+            Pending counted = job != null ? job : new Pending();
+            counted.outstanding.incrementAndGet();
+            return counted;
+        });
+        try {
+            queue.put(outcome);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            markWritten(outcome.uploadJobId(), 1);
+        }
+    }
+
+    private void drain() {
+        List<Outcome> batch = new ArrayList<>(config.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Outcome first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                markWritten(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Outcome> batch) {
+        // Batches are rewritten into one multi-row INSERT, where ON CONFLICT may not hit a row twice;
+        // a retried chunk can enqueue the same row again, so keep only its latest outcome
+        Map<String, Outcome> latest = new LinkedHashMap<>();
+        for (Outcome o : batch) {
+            latest.put(o.uploadJobId() + ":" + o.rowNumber(), o);
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT, List.copyOf(latest.values()), latest.size(), (ps, o) -> {
+                ps.setString(1, o.tenantId());
+                ps.setObject(2, o.uploadJobId());
+                ps.setInt(3, (int) o.rowNumber());
+                ps.setString(4, o.status());
+                ps.setString(5, rawData(o));
+                ps.setString(6, o.errorMessage());
+            });
+        } catch (RuntimeException e) {
+            log.error("Dropped {} upload row outcome(s): {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private String rawData(Outcome o) {
+        if (o.values() == null) {
+            return null;
+        }
+        Map<String, String> data = new LinkedHashMap<>();
+        for (int i = 0; i < o.values().size(); i++) {
+            String column = o.headers() != null && i < o.headers().size() ? o.headers().get(i) : "column_" + (i + 1);
+            data.put(column, o.values().get(i));
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void markWritten(List<Outcome> batch) {
+        Map<UUID, Integer> perJob = new HashMap<>();
+        for (Outcome o : batch) {
+            perJob.merge(o.uploadJobId(), 1, Integer::sum);
+        }
+        perJob.forEach(this::markWritten);
+    }
+
+    private void markWritten(UUID uploadJobId, int count) {
+        Pending[] drained = new Pending[1];
+        pending.computeIfPresent(uploadJobId, (id, job) -> {
+            if (job.outstanding.addAndGet(-count) > 0) {
+                return job;
+            }
+            drained[0] = job;
+            return null;
+        });
+        if (drained[0] != null) {
+            drained[0].signalDrained();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        drainer.join(10_000);
+    }
+}
@@ -11,7 +11,7 @@ import java.util.UUID;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
 
-    Optional<Employee> findByEmailAndDeletedFalse(String email);
+    Optional<Employee> findByTenantIdAndEmailAndDeletedFalse(String tenantId, String email);
 
     List<Employee> findByUploadJobId(UUID uploadJobId);
 }
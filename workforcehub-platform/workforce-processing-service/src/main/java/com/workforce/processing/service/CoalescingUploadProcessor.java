@@ -0,0 +1,149 @@
+package com.workforce.processing.service;
+
+import com.workforce.processing.config.ProcessingProperties;
+import com.workforce.processing.domain.Employee;
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.exception.RowValidationException;
+import com.workforce.processing.ingest.EmployeeRowMapper;
+import com.workforce.processing.ingest.HeaderMapping;
+import com.workforce.processing.ingest.RowReader;
+import com.workforce.processing.ingest.RowReaderFactory;
+import com.workforce.processing.ingest.SourceRow;
+import com.workforce.processing.persistence.EmployeeBatchWriter;
+import com.workforce.processing.persistence.UploadJobCheckpoints;
+import com.workforce.processing.persistence.UploadRowOutcomeWriter;
+import com.workforce.processing.persistence.UploadJobCheckpoints.Checkpoint;
+import com.workforce.processing.storage.UploadStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processes the uploads from one Kafka poll, sharing DB batches between small jobs.
+ *
+ * A small upload (up to processing.listener.coalesce-max-file-size) is parsed
+ * completely in memory and its rows join a buffer shared with the other small
+ * uploads in the poll. The buffer is written in one transaction, together
+ * with the final checkpoint of every job it contains, once it reaches
+ * processing.batch-size rows — so fifty 20-row uploads cost one COPY instead
+ * of fifty. A job's rows never straddle two writes.
+ *
+ * Only plain CSV files qualify, because for them the stored size bounds the
+ * parsed size. A gzip, zstd or XLSX (zip) file of the same stored size can
+ * inflate to hundreds of megabytes. Those files, larger uploads, and DIFF
+ * uploads (which must see the whole file before removing anyone) go through
+ * {@link EmployeeProcessingService} unchanged, which streams them.
+ * Events must be added in offset order; {@link Poll#complete()} must be called
+ * before acknowledging (or failing) any later offset.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoalescingUploadProcessor {
+
+    private final EmployeeProcessingService processingService;
+    private final RowReaderFactory rowReaderFactory;
+    private final EmployeeRowMapper rowMapper;
+    private final EmployeeBatchWriter batchWriter;
+    private final UploadJobCheckpoints checkpoints;
+    private final TransactionTemplate transactionTemplate;
+    private final UploadStorage uploadStorage;
+    private final UploadRowOutcomeWriter rowOutcomes;
+    private final ProcessingProperties properties;
+    private final EmployeeChangePublisher changePublisher;
+
+    public Poll newPoll() {
+        return new Poll();
+    }
+
+    private static boolean isPlainCsv(EmployeeUploadRequestedEvent event) {
+        return "CSV".equals(event.getFileType()) && !event.isCompressed();
+    }
+
+    private record PendingJob(int index, EmployeeUploadRequestedEvent event, long lastRow, int processed, int failed) {}
+
+    /** State for one listener invocation. Not thread-safe. */
+    public final class Poll {
+
+        private final List<Employee> buffer = new ArrayList<>();
+        private final List<PendingJob> pending = new ArrayList<>();
+
+        private Poll() {}
+
+        /** Processes (or buffers) the upload at position {@code index} of the poll. */
+        public void add(int index, EmployeeUploadRequestedEvent event) throws IOException {
+            if (event.getTenantId() == null || event.getStorageKey() == null) {
+                throw new IllegalArgumentException("Upload event " + event.getUploadJobId() + " is missing tenantId or storageKey");
+            }
+            long maxSize = properties.getListener().getCoalesceMaxFileSize().toBytes();
+            if (event.isDiffMode() || !isPlainCsv(event) || uploadStorage.size(event.getStorageKey()) > maxSize) {
+                // Keep offset order: everything buffered so far completes before this job starts
+                complete();
+                processingService.processUpload(event);
+                return;
+            }
+
+            List<Employee> rows = new ArrayList<>();
+            long lastRow = 0;
+            int failed = 0;
+            try (RowReader reader = rowReaderFactory.open(event)) {
+                HeaderMapping mapping = HeaderMapping.resolve(reader.headers());
+                SourceRow row;
+                while ((row = reader.next()) != null) {
+                    lastRow = row.rowNumber();
+                    try {
+                        rows.add(rowMapper.toEmployee(row, mapping, event.getTenantId(), event.getUploadJobId()));
+                        rowOutcomes.processed(event.getTenantId(), event.getUploadJobId(), row);
+                    } catch (RowValidationException e) {
+                        log.warn("Failed to process employee row: {}", e.getMessage());
+                        rowOutcomes.failed(event.getTenantId(), event.getUploadJobId(), row, reader.headers(), e.getMessage());
+                        failed++;
+                    }
+                }
+            }
+
+            buffer.addAll(rows);
+            pending.add(new PendingJob(index, event, lastRow, rows.size(), failed));
+            if (buffer.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        /** Index of the earliest upload whose rows are buffered but not yet written, or -1. */
+        public int firstPendingIndex() {
+            return pending.isEmpty() ? -1 : pending.get(0).index();
+        }
+
+        /** Writes anything still buffered and publishes the processed events for those jobs. */
+        public void complete() {
+            if (!pending.isEmpty()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Writers upsert, so every buffered row is accepted and per-job counts stand as parsed
+                if (!buffer.isEmpty()) {
+                    changePublisher.publishAfterCommit(batchWriter.write(buffer));
+                }
+                for (PendingJob job : pending) {
+                    checkpoints.save(job.event().getUploadJobId(),
+                            new Checkpoint(job.lastRow(), job.processed(), job.failed()));
+                }
+            });
+            log.debug("Wrote {} rows shared by {} upload job(s)", buffer.size(), pending.size());
+
+            for (PendingJob job : pending) {
+                processingService.publishProcessedEvent(job.event(), job.processed(), job.failed());
+            }
+            buffer.clear();
+            pending.clear();
+        }
+    }
+}
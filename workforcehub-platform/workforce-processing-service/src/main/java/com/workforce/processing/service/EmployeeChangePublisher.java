@@ -0,0 +1,68 @@
+package com.workforce.processing.service;
+
+import com.workforce.processing.config.KafkaTopics;
+import com.workforce.processing.dto.response.EmployeeChangedEvent;
+import com.workforce.processing.persistence.ChangedEmployee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tells readers which existing employees a write changed, so query-service
+ * can evict them from its caches.
+ *
+ * Events are sent only once the surrounding transaction commits: before
+ * that a reader would reload and re-cache the old row, and after a rollback
+ * nothing changed. They are keyed by tenant, one event per tenant in the
+ * write. Inserted rows are not reported; nothing can have cached them yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeChangePublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    /** Publishes {@code changed} after the current transaction commits. */
+    public void publishAfterCommit(List<ChangedEmployee> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<String, List<UUID>> byTenant = new LinkedHashMap<>();
+        for (ChangedEmployee employee : changed) {
+            byTenant.computeIfAbsent(employee.tenantId(), t -> new ArrayList<>()).add(employee.id());
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                byTenant.forEach(EmployeeChangePublisher.this::send);
+            }
+        });
+    }
+
+    private void send(String tenantId, List<UUID> ids) {
+        EmployeeChangedEvent event = EmployeeChangedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventVersion("1.0")
+                .tenantId(tenantId)
+                .employeeIds(ids)
+                .build();
+        kafkaTemplate.send(KafkaTopics.EMPLOYEE_CHANGED, tenantId, event)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        // Cached copies then expire with their TTL instead
+                        log.warn("Failed to publish change of {} employee(s) for tenant {}: {}",
+                                ids.size(), tenantId, e.getMessage());
+                    }
+                });
+    }
+}
@@ -1,69 +1,240 @@
 package com.workforce.processing.service;
 
+import com.workforce.common.employee.EmployeeField;
 import com.workforce.processing.config.KafkaTopics;
+import com.workforce.processing.config.ProcessingProperties;
 import com.workforce.processing.domain.Employee;
 import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
 import com.workforce.processing.dto.response.EmployeeUploadProcessedEvent;
-import com.workforce.processing.repository.EmployeeRepository;
+import com.workforce.processing.exception.RowValidationException;
+import com.workforce.processing.ingest.EmployeeRowMapper;
+import com.workforce.processing.ingest.HeaderMapping;
+import com.workforce.processing.ingest.RowReader;
+import com.workforce.processing.ingest.RowReaderFactory;
+import com.workforce.processing.ingest.SourceRow;
+import com.workforce.processing.persistence.ChangedEmployee;
+import com.workforce.processing.persistence.EmployeeBatchWriter;
+import com.workforce.processing.persistence.EmployeeFingerprints;
+import com.workforce.processing.persistence.EmployeeHeadcountRollup;
+import com.workforce.processing.persistence.FingerprintIndex;
+import com.workforce.processing.persistence.UploadJobCheckpoints;
+import com.workforce.processing.persistence.UploadRowOutcomeWriter;
+import com.workforce.processing.persistence.UploadJobCheckpoints.Checkpoint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Ingests an uploaded file in independently committed chunks.
+ *
+ * Not @Transactional: each chunk of processing.batch-size rows is written and
+ * checkpointed in its own transaction, so a failure late in a large file only
+ * loses the chunk in flight and a redelivered event resumes after the last
+ * checkpoint instead of row 0.
+ *
+ * Large CSV files are handed to {@link ParallelUploadProcessor} first; it
+ * declines files it cannot split and they take the sequential path, as does a
+ * job resuming from a sequential checkpoint. The parallel path keeps its own
+ * per-segment checkpoints until the run finishes, then checkpoints the job's
+ * last row, so a redelivery of it re-reads the file without re-writing anything.
+ *
+ * In DIFF mode the file is a full snapshot of the tenant's headcount. Each
+ * row's fingerprint is compared with the tenant's current employees, so only
+ * new and changed rows reach the writer, and employees the file no longer
+ * mentions are soft-deleted at the end. Writes scale with the change volume
+ * rather than the headcount. A DIFF job restarts from the first row instead of
+ * its checkpoint: rows it already applied now match and are skipped. When the
+ * deletions would exceed processing.diff.max-delete-ratio they are skipped and
+ * the job finishes PARTIAL with the reason as its error message. upload-service
+ * keys DIFF requests by tenant, so one tenant's snapshots never run at once.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmployeeProcessingService {
 
-    private static final int BATCH_SIZE = 100;
-
-    private final EmployeeRepository employeeRepository;
+    private final EmployeeBatchWriter batchWriter;
+    private final UploadJobCheckpoints checkpoints;
+    private final TransactionTemplate transactionTemplate;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final RowReaderFactory rowReaderFactory;
+    private final EmployeeRowMapper rowMapper;
+    private final ProcessingProperties properties;
+    private final ParallelUploadProcessor parallelProcessor;
+    private final UploadRowOutcomeWriter rowOutcomes;
+    private final UploadProgressReporter progressReporter;
+    private final EmployeeFingerprints employeeFingerprints;
+    private final EmployeeHeadcountRollup headcountRollup;
+    private final EmployeeChangePublisher changePublisher;
 
-    @Transactional
     public void processUpload(EmployeeUploadRequestedEvent event) {
-        // NOTE: In full implementation (Prompt 3+), this reads from storage.
-        // For Prompt 1, we demonstrate the batch-insert pattern with mock data.
-        log.info("Processing upload job: {}", event.getUploadJobId());
-
-        List<Employee> batch = new ArrayList<>();
-        int processed = 0;
-        int failed = 0;
-
-        // Simulate processing (real impl streams CSV/Excel from object storage)
-        List<Employee> mockEmployees = buildMockEmployees(event.getUploadJobId(), 10);
-
-        for (Employee employee : mockEmployees) {
-            try {
-                batch.add(employee);
-                if (batch.size() >= BATCH_SIZE) {
-                    employeeRepository.saveAll(batch);
-                    processed += batch.size();
+        if (event.getTenantId() == null || event.getStorageKey() == null) {
+            throw new IllegalArgumentException("Upload event " + event.getUploadJobId() + " is missing tenantId or storageKey");
+        }
+        UUID jobId = event.getUploadJobId();
+
+        FingerprintIndex current = event.isDiffMode() ? employeeFingerprints.load(event.getTenantId()) : null;
+        Checkpoint checkpoint = current != null ? Checkpoint.START : checkpoints.load(jobId);
+
+        // Parallel runs only set checkpoint_row once finished, so one here came from the sequential path
+        if (checkpoint.lastRow() == 0 && parallelProcessor.accepts(event)) {
+            Optional<ParallelUploadProcessor.Result> result = parallelProcessor.process(event);
+            if (result.isPresent()) {
+                ParallelUploadProcessor.Result r = result.get();
+                transactionTemplate.executeWithoutResult(status -> {
+                    checkpoints.save(jobId, new Checkpoint(r.totalRows(), r.processedRows(), r.failedRows()));
+                    checkpoints.clearSegments(jobId);
+                });
+                publishProcessedEvent(event, r.processedRows(), r.failedRows());
+                return;
+            }
+        }
+
+        if (checkpoint.lastRow() > 0) {
+            log.info("Resuming upload job {} after row {}", jobId, checkpoint.lastRow());
+        } else {
+            log.info("Processing upload job: {}, storageKey: {}", jobId, event.getStorageKey());
+        }
+
+        UploadProgressReporter.Tracker progress = progressReporter.start(event, event.getTotalRows());
+        int batchSize = properties.getBatchSize();
+        List<Employee> batch = new ArrayList<>(batchSize);
+        long lastRow = checkpoint.lastRow();
+        int processed = checkpoint.processedRows();
+        int failed = checkpoint.failedRows();
+        int failedInChunk = 0;
+        int unchanged = 0;
+
+        // Rows are pulled one at a time from storage — heap usage is bounded by the batch size, not file size
+        try (RowReader reader = rowReaderFactory.open(event)) {
+            HeaderMapping mapping = HeaderMapping.resolve(reader.headers());
+
+            SourceRow row;
+            while ((row = reader.next()) != null) {
+                if (row.rowNumber() <= checkpoint.lastRow()) {
+                    continue;   // committed by an earlier attempt
+                }
+                lastRow = row.rowNumber();
+                try {
+                    Employee employee = rowMapper.toEmployee(row, mapping, event.getTenantId(), jobId);
+                    if (current != null && current.markSeen(employee.getEmail(), employee.getFingerprint())) {
+                        unchanged++;
+                    } else {
+                        batch.add(employee);
+                    }
+                    rowOutcomes.processed(event.getTenantId(), jobId, row);
+                } catch (RowValidationException e) {
+                    log.warn("Failed to process employee row: {}", e.getMessage());
+                    rowOutcomes.failed(event.getTenantId(), jobId, row, reader.headers(), e.getMessage());
+                    failedInChunk++;
+                    if (current != null) {
+                        // An invalid row still says the employee exists; never delete on the strength of a typo
+                        String email = mapping.value(row, EmployeeField.EMAIL);
+                        if (email != null) {
+                            current.markSeen(email.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+
+                if (batch.size() + failedInChunk >= batchSize) {
+                    checkpoint = commitChunk(jobId, batch, failedInChunk, lastRow, processed, failed);
+                    processed = checkpoint.processedRows();
+                    failed = checkpoint.failedRows();
                     batch.clear();
-                    log.debug("Flushed batch of {} employees for job {}", BATCH_SIZE, event.getUploadJobId());
+                    failedInChunk = 0;
                 }
-            } catch (Exception e) {
-                log.warn("Failed to process employee row: {}", e.getMessage());
-                failed++;
+                progress.report(processed + unchanged, failed);
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read upload " + jobId, e);
         }
 
         // Flush remaining
-        if (!batch.isEmpty()) {
-            employeeRepository.saveAll(batch);
-            processed += batch.size();
+        if (!batch.isEmpty() || failedInChunk > 0) {
+            checkpoint = commitChunk(jobId, batch, failedInChunk, lastRow, processed, failed);
+            processed = checkpoint.processedRows();
+            failed = checkpoint.failedRows();
+        }
+
+        String warning = null;
+        if (current != null) {
+            log.info("Diff upload job {}: {} row(s) written, {} unchanged", jobId, processed, unchanged);
+            warning = removeAbsentEmployees(event, current);
+        }
+        publishProcessedEvent(event, processed + unchanged, failed, warning);
+    }
+
+    /**
+     * Soft-deletes the employees a DIFF snapshot no longer contains. Returns
+     * why the deletions were skipped, or null if they were applied.
+     */
+    private String removeAbsentEmployees(EmployeeUploadRequestedEvent event, FingerprintIndex current) {
+        List<UUID> absent = current.unseen();
+        if (absent.isEmpty()) {
+            return null;
         }
+        double maxRatio = properties.getDiff().getMaxDeleteRatio();
+        if (absent.size() > current.size() * maxRatio) {
+            String warning = "Deletions skipped: the file would remove " + absent.size() + " of " + current.size()
+                    + " employees (limit " + Math.round(maxRatio * 100) + "%)";
+            log.warn("Diff upload job {}: {}", event.getUploadJobId(), warning);
+            return warning;
+        }
+        int removed = 0;
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < absent.size(); from += batchSize) {
+            List<UUID> ids = absent.subList(from, Math.min(from + batchSize, absent.size()));
+            Integer n = transactionTemplate.execute(status -> {
+                changePublisher.publishAfterCommit(ids.stream()
+                        .map(id -> new ChangedEmployee(event.getTenantId(), id)).toList());
+                return employeeFingerprints.softDelete(event.getTenantId(), event.getUploadJobId(), ids);
+            });
+            removed += n != null ? n : 0;
+        }
+        log.info("Diff upload job {} removed {} employee(s) absent from the file", event.getUploadJobId(), removed);
+        return null;
+    }
 
-        publishProcessedEvent(event, processed, failed);
+    private Checkpoint commitChunk(UUID jobId, List<Employee> batch, int failedInChunk,
+                                   long lastRow, int processed, int failed) {
+        Checkpoint next = transactionTemplate.execute(status -> {
+            if (!batch.isEmpty()) {
+                changePublisher.publishAfterCommit(batchWriter.write(batch));
+            }
+            Checkpoint cp = new Checkpoint(lastRow, processed + batch.size(), failed + failedInChunk);
+            checkpoints.save(jobId, cp);
+            return cp;
+        });
+        log.debug("Committed chunk for job {} through row {}", jobId, lastRow);
+        return next;
     }
 
-    private void publishProcessedEvent(EmployeeUploadRequestedEvent event, int processed, int failed) {
+    void publishProcessedEvent(EmployeeUploadRequestedEvent event, int processed, int failed) {
+        publishProcessedEvent(event, processed, failed, null);
+    }
+
+    /** A non-null {@code warning} marks the job PARTIAL even if every row was accepted. */
+    private void publishProcessedEvent(EmployeeUploadRequestedEvent event, int processed, int failed, String warning) {
+        // Row outcomes are written asynchronously; make them visible before the job reports done
+        rowOutcomes.awaitWritten(event.getUploadJobId());
+        try {
+            headcountRollup.fold(event.getTenantId());
+        } catch (RuntimeException e) {
+            // Unfolded deltas are still counted by readers; the tenant's next job folds them
+            log.warn("Failed to refresh headcount rollup for tenant {}: {}", event.getTenantId(), e.getMessage());
+        }
+
         EmployeeUploadProcessedEvent processedEvent = EmployeeUploadProcessedEvent.builder()
                 .eventId(UUID.randomUUID().toString())
                 .eventVersion("1.0")
@@ -71,7 +242,8 @@ public class EmployeeProcessingService {
                 .totalRows(processed + failed)
                 .processedRows(processed)
                 .failedRows(failed)
-                .status(failed == 0 ? "COMPLETED" : "PARTIAL")
+                .status(failed == 0 && warning == null ? "COMPLETED" : "PARTIAL")
+                .errorMessage(warning)
                 .processedAt(Instant.now())
                 .build();
 
@@ -79,20 +251,4 @@ public class EmployeeProcessingService {
                 event.getUploadJobId().toString(), processedEvent);
         log.info("Published processed event for job {}: processed={}, failed={}", event.getUploadJobId(), processed, failed);
     }
-
-    private List<Employee> buildMockEmployees(UUID uploadJobId, int count) {
-        List<Employee> employees = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            employees.add(Employee.builder()
-                    .uploadJobId(uploadJobId)
-                    .firstName("First" + i)
-                    .lastName("Last" + i)
-                    .email("employee" + i + "_" + UUID.randomUUID() + "@example.com")
-                    .department("Engineering")
-                    .jobTitle("Developer")
-                    .status(Employee.EmployeeStatus.ACTIVE)
-                    .build());
-        }
-        return employees;
-    }
 }
@@ -0,0 +1,243 @@
+package com.workforce.processing.service;
+
+import com.workforce.processing.config.ProcessingProperties;
+import com.workforce.processing.domain.Employee;
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.exception.RowValidationException;
+import com.workforce.processing.ingest.CsvSegmentPlanner;
+import com.workforce.processing.ingest.EmployeeRowMapper;
+import com.workforce.processing.ingest.HeaderMapping;
+import com.workforce.processing.ingest.RowReader;
+import com.workforce.processing.ingest.SourceRow;
+import com.workforce.processing.persistence.EmployeeBatchWriter;
+import com.workforce.processing.persistence.UploadJobCheckpoints;
+import com.workforce.processing.persistence.UploadJobCheckpoints.SegmentCheckpoint;
+import com.workforce.processing.persistence.UploadRowOutcomeWriter;
+import com.workforce.processing.storage.LocalFileHandle;
+import com.workforce.processing.storage.UploadStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes one large CSV upload on several cores at once.
+ *
+ * The file is split into line-aligned byte ranges ({@link CsvSegmentPlanner});
+ * each range is parsed, validated and written on its own virtual thread, in
+ * chunk transactions on its own pooled connection. Concurrency is capped at
+ * processing.parallel.threads so a single job cannot drain the pool.
+ *
+ * Segments finish out of order, so instead of upload_jobs.checkpoint_row each
+ * segment checkpoints its own progress with every chunk it commits (see
+ * {@link UploadJobCheckpoints#saveSegment}). When a segment fails the job is
+ * redelivered and planned again; the plan is a function of the file and
+ * processing.parallel.threads, so each segment picks up after its last
+ * committed chunk and finished segments are skipped. A segment whose bounds
+ * changed (the thread count was changed in between) starts over, which is
+ * safe because writes are upserts on (tenant_id, email). Jobs that already
+ * have a sequential checkpoint are resumed sequentially and never reach this
+ * class.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParallelUploadProcessor {
+
+    public record Result(long totalRows, int processedRows, int failedRows) {}
+
+    private record SegmentResult(int processed, int failed) {}
+
+    /** Running totals across all segments of a job, feeding one progress tracker. */
+    private static final class Progress {
+        private final UploadProgressReporter.Tracker tracker;
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        Progress(UploadProgressReporter.Tracker tracker) {
+            this.tracker = tracker;
+        }
+
+        void add(int processedDelta, int failedDelta) {
+            tracker.report(processed.addAndGet(processedDelta), failed.addAndGet(failedDelta));
+        }
+    }
+
+    private final UploadStorage uploadStorage;
+    private final EmployeeBatchWriter batchWriter;
+    private final EmployeeRowMapper rowMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ProcessingProperties properties;
+    private final UploadRowOutcomeWriter rowOutcomes;
+    private final UploadProgressReporter progressReporter;
+    private final EmployeeChangePublisher changePublisher;
+    private final UploadJobCheckpoints checkpoints;
+
+    public boolean accepts(EmployeeUploadRequestedEvent event) {
+        // Diff ingestion tracks which employees the file mentions in a single-threaded index;
+        // compressed files have no byte offsets to split at without inflating them first
+        return properties.getParallel().isEnabled() && "CSV".equals(event.getFileType())
+                && !event.isDiffMode() && !event.isCompressed();
+    }
+
+    /**
+     * Processes the upload in parallel, or returns empty without writing
+     * anything when the file is too small or cannot be split safely.
+     * Remote files are downloaded to a temp file first, since ranges need
+     * random access.
+     */
+    public Optional<Result> process(EmployeeUploadRequestedEvent event) {
+        ProcessingProperties.Parallel config = properties.getParallel();
+        try (LocalFileHandle file = uploadStorage.openLocal(event.getStorageKey())) {
+            if (Files.size(file.path()) < config.getMinFileSize().toBytes()) {
+                return Optional.empty();
+            }
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(config.getThreads(),
+                    Thread.ofVirtual().name("upload-segment-", 0).factory())) {
+
+                Optional<CsvSegmentPlanner.Plan> plan = CsvSegmentPlanner.plan(file.path(), config.getThreads(), executor);
+                if (plan.isEmpty()) {
+                    log.info("Upload job {} cannot be split on line boundaries; processing sequentially",
+                            event.getUploadJobId());
+                    return Optional.empty();
+                }
+                return Optional.of(run(event, plan.get(), executor));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read upload " + event.getUploadJobId(), e);
+        }
+    }
+
+    private Result run(EmployeeUploadRequestedEvent event, CsvSegmentPlanner.Plan plan, ExecutorService executor) {
+        HeaderMapping mapping = HeaderMapping.resolve(plan.headers());
+        Progress progress = new Progress(progressReporter.start(event, Math.toIntExact(plan.totalRows())));
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        log.info("Processing upload job {} in {} segments ({} rows)",
+                event.getUploadJobId(), plan.segments().size(), plan.totalRows());
+
+        Map<Long, SegmentCheckpoint> committed = checkpoints.loadSegments(event.getUploadJobId());
+        if (!committed.isEmpty()) {
+            log.info("Resuming upload job {} from {} segment checkpoint(s)", event.getUploadJobId(), committed.size());
+        }
+
+        List<CsvSegmentPlanner.Segment> segments = plan.segments();
+        List<Future<SegmentResult>> futures = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            CsvSegmentPlanner.Segment segment = segments.get(i);
+            long endRow = i + 1 < segments.size() ? segments.get(i + 1).firstRowNumber() - 1 : plan.totalRows();
+            SegmentCheckpoint previous = committed.get(segment.firstRowNumber());
+            SegmentCheckpoint start = previous != null && previous.endRow() == endRow
+                    ? previous
+                    : SegmentCheckpoint.start(segment.firstRowNumber(), endRow);
+            futures.add(executor.submit(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    return processSegment(event, plan, segment, start, mapping, progress);
+                } finally {
+                    MDC.clear();
+                }
+            }));
+        }
+
+        int processed = 0;
+        int failed = 0;
+        try {
+            for (Future<SegmentResult> future : futures) {
+                SegmentResult result = future.get();
+                processed += result.processed();
+                failed += result.failed();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IllegalStateException("Interrupted while processing upload " + event.getUploadJobId(), e);
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Segment failed for upload " + event.getUploadJobId(), e.getCause());
+        }
+        return new Result(plan.totalRows(), processed, failed);
+    }
+
+    private SegmentResult processSegment(EmployeeUploadRequestedEvent event, CsvSegmentPlanner.Plan plan,
+                                         CsvSegmentPlanner.Segment segment, SegmentCheckpoint start,
+                                         HeaderMapping mapping, Progress progress) throws IOException {
+        SegmentCheckpoint checkpoint = start;
+        progress.add(checkpoint.processedRows(), checkpoint.failedRows());
+        if (checkpoint.finished()) {
+            return new SegmentResult(checkpoint.processedRows(), checkpoint.failedRows());
+        }
+
+        int batchSize = properties.getBatchSize();
+        List<Employee> batch = new ArrayList<>(batchSize);
+        long lastRow = checkpoint.lastRow();
+        int failedInChunk = 0;
+
+        try (RowReader reader = plan.open(segment)) {
+            SourceRow row;
+            while ((row = reader.next()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Segment cancelled");
+                }
+                if (row.rowNumber() <= start.lastRow()) {
+                    continue;   // committed by an earlier attempt
+                }
+                lastRow = row.rowNumber();
+                try {
+                    batch.add(rowMapper.toEmployee(row, mapping, event.getTenantId(), event.getUploadJobId()));
+                    rowOutcomes.processed(event.getTenantId(), event.getUploadJobId(), row);
+                } catch (RowValidationException e) {
+                    log.warn("Failed to process employee row: {}", e.getMessage());
+                    rowOutcomes.failed(event.getTenantId(), event.getUploadJobId(), row, plan.headers(), e.getMessage());
+                    failedInChunk++;
+                }
+
+                if (batch.size() + failedInChunk >= batchSize) {
+                    checkpoint = commitChunk(event.getUploadJobId(), batch, failedInChunk, lastRow, checkpoint);
+                    progress.add(batch.size(), failedInChunk);
+                    batch.clear();
+                    failedInChunk = 0;
+                }
+            }
+        }
+
+        if (!batch.isEmpty() || failedInChunk > 0) {
+            checkpoint = commitChunk(event.getUploadJobId(), batch, failedInChunk, lastRow, checkpoint);
+        }
+        return new SegmentResult(checkpoint.processedRows(), checkpoint.failedRows());
+    }
+
+    /** Writes one chunk of a segment and advances the segment's checkpoint in the same transaction. */
+    private SegmentCheckpoint commitChunk(UUID jobId, List<Employee> batch, int failedInChunk, long lastRow,
+                                          SegmentCheckpoint previous) {
+        SegmentCheckpoint next = new SegmentCheckpoint(previous.firstRow(), previous.endRow(), lastRow,
+                previous.processedRows() + batch.size(), previous.failedRows() + failedInChunk);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!batch.isEmpty()) {
+                changePublisher.publishAfterCommit(batchWriter.write(batch));
+            }
+            checkpoints.saveSegment(jobId, next);
+        });
+        return next;
+    }
+}
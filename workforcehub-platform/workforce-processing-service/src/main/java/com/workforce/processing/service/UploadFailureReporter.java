@@ -0,0 +1,95 @@
+package com.workforce.processing.service;
+
+import com.workforce.processing.config.KafkaTopics;
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.dto.response.EmployeeUploadProcessedEvent;
+import com.workforce.processing.persistence.UploadJobCheckpoints;
+import com.workforce.processing.persistence.UploadJobCheckpoints.Checkpoint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Publishes the FAILED result of a job whose request was sent to the DLT.
+ *
+ * Without it the job would stay PENDING or PROCESSING forever and its event
+ * stream would never end. The row counts are those of the last committed
+ * checkpoint, since those rows stay written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadFailureReporter {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final UploadJobCheckpoints checkpoints;
+
+    public void reportFailed(ConsumerRecord<?, ?> record, Exception cause) {
+        UUID jobId = jobId(record);
+        if (jobId == null) {
+            log.warn("Cannot report failure of record at partition {} offset {}: no upload job id",
+                    record.partition(), record.offset());
+            return;
+        }
+
+        Checkpoint checkpoint;
+        try {
+            checkpoint = checkpoints.load(jobId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load checkpoint of failed job {}: {}", jobId, e.getMessage());
+            checkpoint = Checkpoint.START;
+        }
+
+        EmployeeUploadProcessedEvent failedEvent = EmployeeUploadProcessedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventVersion("1.0")
+                .uploadJobId(jobId)
+                .processedRows(checkpoint.processedRows())
+                .failedRows(checkpoint.failedRows())
+                .status("FAILED")
+                .errorMessage(errorMessage(cause))
+                .processedAt(Instant.now())
+                .build();
+
+        kafkaTemplate.send(KafkaTopics.EMPLOYEE_UPLOAD_PROCESSED, jobId.toString(), failedEvent)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.error("Failed to publish FAILED event for job {}: {}", jobId, e.getMessage());
+                    }
+                });
+        log.info("Published FAILED event for job {}", jobId);
+    }
+
+    /**
+     * Unreadable payloads reach the DLT as raw bytes. upload-service keys
+     * UPSERT requests by job id; DIFF requests are keyed by tenant, so for
+     * those only a readable value identifies the job.
+     */
+    static UUID jobId(ConsumerRecord<?, ?> record) {
+        if (record.value() instanceof EmployeeUploadRequestedEvent event && event.getUploadJobId() != null) {
+            return event.getUploadJobId();
+        }
+        if (record.key() instanceof String key) {
+            try {
+                return UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String errorMessage(Exception cause) {
+        Throwable root = NestedExceptionUtils.getMostSpecificCause(cause);
+        String message = root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,79 @@
+package com.workforce.processing.service;
+
+import com.workforce.processing.config.KafkaTopics;
+import com.workforce.processing.config.ProcessingProperties;
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.dto.response.EmployeeUploadProcessedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes PROCESSING progress events for a running job, at most once per
+ * processing.progress-interval. They go to the same topic as the final
+ * result, so upload-service applies them to the job row and pushes them to
+ * any open event streams.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadProgressReporter {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ProcessingProperties properties;
+
+    /** Starts tracking a job; {@code totalRows} may be null when not known up front. */
+    public Tracker start(EmployeeUploadRequestedEvent event, Integer totalRows) {
+        return new Tracker(event.getUploadJobId(), totalRows, Instant.now());
+    }
+
+    /** Throttled progress for one job. Safe to call from several segment threads. */
+    public final class Tracker {
+
+        private final UUID uploadJobId;
+        private final Integer totalRows;
+        private final Instant startedAt;
+        private final AtomicReference<Instant> lastSent = new AtomicReference<>(Instant.EPOCH);
+
+        private Tracker(UUID uploadJobId, Integer totalRows, Instant startedAt) {
+            this.uploadJobId = uploadJobId;
+            this.totalRows = totalRows;
+            this.startedAt = startedAt;
+        }
+
+        public Instant startedAt() {
+            return startedAt;
+        }
+
+        /** Lock-free so segment threads (virtual or not) never block or pin while a send is in flight. */
+        public void report(int processed, int failed) {
+            Instant now = Instant.now();
+            Instant previous = lastSent.get();
+            Duration interval = properties.getProgressInterval();
+            // Of the threads reporting in the same interval, only the one that advances lastSent sends
+            if (Duration.between(previous, now).compareTo(interval) < 0 || !lastSent.compareAndSet(previous, now)) {
+                return;
+            }
+
+            EmployeeUploadProcessedEvent progress = EmployeeUploadProcessedEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventVersion("1.0")
+                    .uploadJobId(uploadJobId)
+                    .totalRows(totalRows)
+                    .processedRows(processed)
+                    .failedRows(failed)
+                    .status("PROCESSING")
+                    .startedAt(startedAt)
+                    .processedAt(now)
+                    .build();
+            kafkaTemplate.send(KafkaTopics.EMPLOYEE_UPLOAD_PROCESSED, uploadJobId.toString(), progress);
+            log.debug("Progress for job {}: processed={}, failed={}", uploadJobId, processed, failed);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.workforce.processing.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A stored upload available as a local file. Temporary copies (e.g. downloaded
+ * from a remote store) are deleted on close; files already on local disk are left alone.
+ */
+public record LocalFileHandle(Path path, boolean temporary) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        if (temporary) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
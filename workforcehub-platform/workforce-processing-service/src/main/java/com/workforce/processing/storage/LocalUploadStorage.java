@@ -0,0 +1,50 @@
+package com.workforce.processing.storage;
+
+import com.workforce.processing.config.StorageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Filesystem-backed {@link UploadStorage}. Storage keys are relative paths
+ * under {@code storage.local.base-dir}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalUploadStorage implements UploadStorage {
+
+    private final Path baseDir;
+
+    public LocalUploadStorage(StorageProperties properties) {
+        this.baseDir = Path.of(properties.getLocal().getBaseDir()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public InputStream open(String storageKey) throws IOException {
+        return Files.newInputStream(resolve(storageKey));
+    }
+
+    @Override
+    public long size(String storageKey) throws IOException {
+        return Files.size(resolve(storageKey));
+    }
+
+    @Override
+    public LocalFileHandle openLocal(String storageKey) {
+        return new LocalFileHandle(resolve(storageKey), false);
+    }
+
+    Path resolve(String storageKey) {
+        Path path = baseDir.resolve(storageKey).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("Storage key escapes base directory: " + storageKey);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,80 @@
+package com.workforce.processing.storage;
+
+import com.workforce.processing.config.StorageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * S3-compatible {@link UploadStorage} (AWS S3, MinIO, LocalStack).
+ * {@link #open} streams the GET response body; {@link #openLocal} downloads
+ * to a temp file that is removed when the handle is closed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "s3")
+public class S3UploadStorage implements UploadStorage, DisposableBean {
+
+    private final S3Client s3;
+    private final String bucket;
+
+    public S3UploadStorage(StorageProperties properties) {
+        StorageProperties.S3 config = properties.getS3();
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(config.getRegion()))
+                .forcePathStyle(config.isPathStyleAccess());
+        if (config.getEndpoint() != null && !config.getEndpoint().isBlank()) {
+            builder.endpointOverride(URI.create(config.getEndpoint()));
+        }
+        if (config.getAccessKey() != null && !config.getAccessKey().isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(config.getAccessKey(), config.getSecretKey())));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+        this.s3 = builder.build();
+        this.bucket = config.getBucket();
+    }
+
+    @Override
+    public InputStream open(String storageKey) {
+        return s3.getObject(req -> req.bucket(bucket).key(storageKey));
+    }
+
+    @Override
+    public long size(String storageKey) {
+        return s3.headObject(req -> req.bucket(bucket).key(storageKey)).contentLength();
+    }
+
+    @Override
+    public LocalFileHandle openLocal(String storageKey) throws IOException {
+        Path temp = Files.createTempFile("upload-", ".tmp");
+        Files.delete(temp); // getObject(…, Path) refuses to overwrite
+        try {
+            s3.getObject(req -> req.bucket(bucket).key(storageKey), temp);
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        log.debug("Downloaded s3://{}/{} to {}", bucket, storageKey, temp);
+        return new LocalFileHandle(temp, true);
+    }
+
+    @Override
+    public void destroy() {
+        s3.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.workforce.processing.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Read side of the upload file store. Implementations must return a stream
+ * over the stored bytes without buffering the whole object in memory.
+ */
+public interface UploadStorage {
+
+    InputStream open(String storageKey) throws IOException;
+
+    /** Size of the stored object in bytes, without reading it. */
+    long size(String storageKey) throws IOException;
+
+    /**
+     * Local file for readers that need random access (the XLSX zip directory
+     * sits at the end of the file). Close the handle once reading is done.
+     */
+    LocalFileHandle openLocal(String storageKey) throws IOException;
+}
@@ -0,0 +1,61 @@
+package com.workforce.processing.ingest;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.workforce.processing.exception.InvalidUploadFileException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompressedInputTest {
+
+    private static final String CSV = "first_name,last_name,email\n" + "Jane,Roe,jane@example.com\n".repeat(1000);
+
+    @Test
+    void whenGzipOrZstd_decodesRowsAndRecordsCompressionRatio() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(CSV.getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream zstd = new ByteArrayOutputStream();
+        try (OutputStream out = new ZstdOutputStream(zstd)) {
+            out.write(CSV.getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(countRows(gzip.toByteArray(), "GZIP", registry)).isEqualTo(1000);
+        assertThat(countRows(zstd.toByteArray(), "ZSTD", registry)).isEqualTo(1000);
+
+        assertThat(registry.get("upload.compression.ratio").tag("codec", "gzip").summary().max())
+                .isEqualTo((double) CSV.length() / gzip.size());
+        assertThat(registry.get("upload.compression.ratio").tag("codec", "zstd").summary().max())
+                .isGreaterThan(10);
+    }
+
+    @Test
+    void whenBytesDoNotMatchCodec_rejectsFile() {
+        byte[] plain = CSV.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> CompressedInput.open(new ByteArrayInputStream(plain), "GZIP", new SimpleMeterRegistry()))
+                .isInstanceOf(InvalidUploadFileException.class)
+                .hasMessageContaining("not gzip-compressed");
+    }
+
+    private static int countRows(byte[] compressed, String codec, SimpleMeterRegistry registry) throws IOException {
+        int rows = 0;
+        try (CsvRowReader reader = CsvRowReader.open(
+                CompressedInput.open(new ByteArrayInputStream(compressed), codec, registry))) {
+            while (reader.next() != null) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,91 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.common.employee.EmployeeField;
+import com.workforce.processing.exception.InvalidUploadFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CsvRowReaderTest {
+
+    @Test
+    void whenQuotedFieldsPresent_parsesEmbeddedDelimitersQuotesAndNewlines() throws IOException {
+        String csv = "first_name,last_name,email\r\n"
+                + "\"Doe, Jr\",\"Say \"\"hi\"\"\",\"multi\nline\"\r\n"
+                + "\r\n"
+                + "Jane,Roe,jane@example.com";
+
+        try (CsvRowReader reader = CsvRowReader.open(stream(csv, StandardCharsets.UTF_8))) {
+            assertThat(reader.headers()).containsExactly("first_name", "last_name", "email");
+
+            SourceRow first = reader.next();
+            assertThat(first.rowNumber()).isEqualTo(1);
+            assertThat(first.values()).containsExactly("Doe, Jr", "Say \"hi\"", "multi\nline");
+
+            SourceRow second = reader.next();
+            assertThat(second.rowNumber()).isEqualTo(2);
+            assertThat(second.values()).containsExactly("Jane", "Roe", "jane@example.com");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void whenSemicolonDelimitedWindows1252_detectsDelimiterAndEncoding() throws IOException {
+        String csv = "Vorname;Nachname;E-Mail\nJürgen;Müller;jm@example.de\n";
+
+        try (CsvRowReader reader = CsvRowReader.open(stream(csv, Charset.forName("windows-1252")))) {
+            assertThat(reader.headers()).hasSize(3);
+            assertThat(reader.next().values()).containsExactly("Jürgen", "Müller", "jm@example.de");
+        }
+    }
+
+    @Test
+    void whenUtf8BomPresent_bomIsStrippedFromFirstHeader() throws IOException {
+        byte[] body = "email,first_name,last_name\n".getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[body.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, withBom, 3, body.length);
+
+        try (CsvRowReader reader = CsvRowReader.open(new ByteArrayInputStream(withBom))) {
+            assertThat(reader.headers().get(0)).isEqualTo("email");
+        }
+    }
+
+    @Test
+    void whenQuoteNeverClosed_throwsInvalidUploadFileException() throws IOException {
+        CsvRowReader reader = CsvRowReader.open(stream("a,b\n\"open,1\n", StandardCharsets.UTF_8));
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(InvalidUploadFileException.class)
+                .hasMessageContaining("Unterminated");
+    }
+
+    @Test
+    void whenHeaderUsesAliases_mappingResolvesCanonicalFields() throws IOException {
+        try (CsvRowReader reader = CsvRowReader.open(stream("Given Name,Surname,Work Email,Dept\nA,B,a@b.co,Ops\n", StandardCharsets.UTF_8))) {
+            HeaderMapping mapping = HeaderMapping.resolve(reader.headers());
+            SourceRow row = reader.next();
+
+            assertThat(mapping.value(row, EmployeeField.EMAIL)).isEqualTo("a@b.co");
+            assertThat(mapping.value(row, EmployeeField.DEPARTMENT)).isEqualTo("Ops");
+            assertThat(mapping.value(row, EmployeeField.JOB_TITLE)).isNull();
+        }
+
+        assertThatThrownBy(() -> HeaderMapping.resolve(List.of("first_name", "email")))
+                .isInstanceOf(InvalidUploadFileException.class)
+                .hasMessageContaining("LAST_NAME");
+    }
+
+    private static ByteArrayInputStream stream(String content, Charset charset) {
+        return new ByteArrayInputStream(content.getBytes(charset));
+    }
+}
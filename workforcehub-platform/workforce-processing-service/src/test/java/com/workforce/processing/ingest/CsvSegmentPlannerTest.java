@@ -0,0 +1,105 @@
+package com.workforce.processing.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CsvSegmentPlannerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void whenFileIsLineAligned_segmentsCoverEveryRowOnceInOrder() throws IOException {
+        StringBuilder csv = new StringBuilder("\uFEFFfirst_name;last_name;email\r\n");
+        for (int i = 1; i <= 1000; i++) {
+            csv.append("\"Ann; ").append(i).append("\";Smith;ann").append(i).append("@example.com\r\n");
+            if (i % 97 == 0) {
+                csv.append("\r\n");
+            }
+        }
+        Path file = write(csv.toString());
+
+        Optional<CsvSegmentPlanner.Plan> plan = CsvSegmentPlanner.plan(file, 4, Runnable::run);
+
+        assertThat(plan).isPresent();
+        assertThat(plan.get().segments()).hasSize(4);
+        assertThat(plan.get().headers()).containsExactly("first_name", "last_name", "email");
+        assertThat(plan.get().totalRows()).isEqualTo(1000);
+
+        List<SourceRow> rows = new ArrayList<>();
+        for (CsvSegmentPlanner.Segment segment : plan.get().segments()) {
+            try (RowReader reader = plan.get().open(segment)) {
+                SourceRow row;
+                while ((row = reader.next()) != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        assertThat(rows).hasSize(1000);
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(rows.get(i).rowNumber()).isEqualTo(i + 1);
+            assertThat(rows.get(i).values()).containsExactly("Ann; " + (i + 1), "Smith", "ann" + (i + 1) + "@example.com");
+        }
+    }
+
+    @Test
+    void whenQuotedFieldSpansLines_fileIsNotSplit() throws IOException {
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\n");
+        for (int i = 1; i <= 200; i++) {
+            csv.append(i == 150 ? "\"multi\nline\"" : "Ann").append(",Smith,ann").append(i).append("@example.com\n");
+        }
+
+        assertThat(CsvSegmentPlanner.plan(write(csv.toString()), 4, Runnable::run)).isEmpty();
+    }
+
+    @Test
+    void rowNumbersMatchASequentialReadForBareCrAndQuotedBlankLines() throws IOException {
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\r");
+        for (int i = 1; i <= 400; i++) {
+            csv.append("Ann,Smith,ann").append(i).append("@example.com\r");
+            if (i % 50 == 0) {
+                csv.append("\"\"\r");
+            }
+        }
+        Path file = write(csv.toString());
+
+        Optional<CsvSegmentPlanner.Plan> plan = CsvSegmentPlanner.plan(file, 4, Runnable::run);
+
+        assertThat(plan).isPresent();
+        assertThat(plan.get().segments()).hasSize(4);
+        assertThat(plan.get().totalRows()).isEqualTo(400);
+        List<SourceRow> rows = new ArrayList<>();
+        for (CsvSegmentPlanner.Segment segment : plan.get().segments()) {
+            try (RowReader reader = plan.get().open(segment)) {
+                SourceRow row;
+                while ((row = reader.next()) != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        List<SourceRow> sequential = new ArrayList<>();
+        try (CsvRowReader reader = CsvRowReader.open(Files.newInputStream(file))) {
+            SourceRow row;
+            while ((row = reader.next()) != null) {
+                sequential.add(row);
+            }
+        }
+        assertThat(rows).isEqualTo(sequential).hasSize(400);
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = dir.resolve("upload.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
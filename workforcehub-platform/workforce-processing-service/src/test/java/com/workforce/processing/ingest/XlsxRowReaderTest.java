@@ -0,0 +1,81 @@
+package com.workforce.processing.ingest;
+
+import com.workforce.processing.exception.InvalidUploadFileException;
+import com.workforce.processing.storage.LocalFileHandle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XlsxRowReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void whenWorkbookUsesSharedStringsAndDateStyles_rowsAreResolved() throws IOException {
+        Path workbook = writeWorkbook(Map.of(
+                "xl/workbook.xml", """
+                        <workbook xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+                          <sheets><sheet name="Staff" sheetId="1" r:id="rId7"/></sheets>
+                        </workbook>""",
+                "xl/_rels/workbook.xml.rels", """
+                        <Relationships><Relationship Id="rId7" Target="worksheets/staff.xml"/></Relationships>""",
+                "xl/sharedStrings.xml", """
+                        <sst><si><t>first_name</t></si><si><t>email</t></si><si><t>hire_date</t></si>
+                        <si><r><t>Ada</t></r><rPh><t>x</t></rPh></si><si><t>ada@example.com</t></si></sst>""",
+                "xl/styles.xml", """
+                        <styleSheet><cellXfs count="2"><xf numFmtId="0"/><xf numFmtId="14"/></cellXfs></styleSheet>""",
+                "xl/worksheets/staff.xml", """
+                        <worksheet><sheetData>
+                          <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c><c r="D1" t="s"><v>2</v></c></row>
+                          <row r="2"/>
+                          <row r="3"><c r="A3" t="s"><v>3</v></c><c r="B3" t="s"><v>4</v></c><c r="D3" s="1"><v>45292</v></c></row>
+                          <row r="4"><c r="A4" t="inlineStr"><is><t>Bob</t></is></c><c r="B4" t="str"><v>bob@example.com</v></c></row>
+                        </sheetData></worksheet>"""));
+
+        try (XlsxRowReader reader = XlsxRowReader.open(new LocalFileHandle(workbook, false))) {
+            assertThat(reader.headers()).containsExactly("first_name", "email", "", "hire_date");
+
+            SourceRow first = reader.next();
+            assertThat(first.rowNumber()).isEqualTo(1);
+            assertThat(first.values()).containsExactly("Ada", "ada@example.com", "", "2024-01-01");
+
+            SourceRow second = reader.next();
+            assertThat(second.values()).containsExactly("Bob", "bob@example.com");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void whenFileIsNotAZip_throwsInvalidUploadFileException() throws IOException {
+        Path legacy = tempDir.resolve("legacy.xls");
+        Files.write(legacy, new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0});
+
+        assertThatThrownBy(() -> XlsxRowReader.open(new LocalFileHandle(legacy, false)))
+                .isInstanceOf(InvalidUploadFileException.class)
+                .hasMessageContaining("legacy .xls");
+    }
+
+    private Path writeWorkbook(Map<String, String> entries) throws IOException {
+        Path file = tempDir.resolve("workbook.xlsx");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,183 @@
+package com.workforce.processing.persistence;
+
+import com.workforce.processing.domain.Employee;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the COPY staging and ON CONFLICT merge against Postgres 16 with the
+ * real schema. One connection throughout, so the temp table's lifetime can be
+ * observed. Each test uses its own tenant.
+ */
+class CopyEmployeeBatchWriterTest {
+
+    private static EmbeddedPostgres postgres;
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static CopyEmployeeBatchWriter writer;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(Files.readString(Path.of("../db/init.sql")));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        writer = new CopyEmployeeBatchWriter(dataSource);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        dataSource.destroy();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void newRowsAreInsertedAndNotReportedAsChanged() {
+        String tenant = tenant();
+
+        List<ChangedEmployee> changed = write(
+                employee(tenant, "a@example.com", "Ann", 1L),
+                employee(tenant, "b@example.com", "Ben \"B\", Jr", 2L));
+
+        assertThat(changed).isEmpty();
+        assertThat(firstNames(tenant)).containsExactlyInAnyOrderEntriesOf(
+                Map.of("a@example.com", "Ann", "b@example.com", "Ben \"B\", Jr"));
+    }
+
+    @Test
+    void changedRowsAreUpdatedAndReportedWhileUnchangedRowsAreLeftAlone() {
+        String tenant = tenant();
+        write(employee(tenant, "a@example.com", "Ann", 1L), employee(tenant, "b@example.com", "Ben", 2L));
+        Map<String, Object> before = jdbcTemplate.queryForMap(
+                "SELECT id, xmin::text AS version FROM employees WHERE tenant_id = ? AND email = 'b@example.com'", tenant);
+        UUID annId = id(tenant, "a@example.com");
+
+        List<ChangedEmployee> changed = write(
+                employee(tenant, "a@example.com", "Anna", 10L),
+                employee(tenant, "b@example.com", "Ben", 2L));
+
+        assertThat(changed).containsExactly(new ChangedEmployee(tenant, annId));
+        assertThat(firstNames(tenant)).containsEntry("a@example.com", "Anna");
+        // Same fingerprint: no new tuple version was written
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT xmin::text FROM employees WHERE tenant_id = ? AND email = 'b@example.com'", String.class, tenant))
+                .isEqualTo(before.get("version"));
+    }
+
+    @Test
+    void repeatedEmailInOneBatchKeepsTheLastOccurrence() {
+        String tenant = tenant();
+
+        List<ChangedEmployee> changed = write(
+                employee(tenant, "a@example.com", "First", 1L),
+                employee(tenant, "a@example.com", "Second", 2L),
+                employee(tenant, "a@example.com", "Last", 3L));
+
+        assertThat(changed).isEmpty();
+        assertThat(firstNames(tenant)).containsExactly(Map.entry("a@example.com", "Last"));
+    }
+
+    @Test
+    void softDeletedRowIsRevivedEvenWithAnUnchangedFingerprint() {
+        String tenant = tenant();
+        write(employee(tenant, "a@example.com", "Ann", 1L));
+        jdbcTemplate.update("UPDATE employees SET deleted = TRUE WHERE tenant_id = ?", tenant);
+
+        List<ChangedEmployee> changed = write(employee(tenant, "a@example.com", "Ann", 1L));
+
+        assertThat(changed).containsExactly(new ChangedEmployee(tenant, id(tenant, "a@example.com")));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT deleted FROM employees WHERE tenant_id = ?", Boolean.class, tenant)).isFalse();
+    }
+
+    @Test
+    void stagingTableIsReusedWithinATransactionAndDroppedOnCommit() {
+        String tenant = tenant();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.write(List.of(employee(tenant, "a@example.com", "Ann", 1L)));
+            // The second batch must not see the first batch's staged rows
+            assertThat(writer.write(List.of(employee(tenant, "b@example.com", "Ben", 2L)))).isEmpty();
+        });
+
+        assertThat(firstNames(tenant)).hasSize(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('pg_temp.employees_staging')::text", String.class))
+                .isNull();
+    }
+
+    @Test
+    void nullAndEmptyValuesSurviveTheCopy() {
+        String tenant = tenant();
+        Employee employee = employee(tenant, "a@example.com", "Ann", 1L);
+        employee.setDepartment("");
+        employee.setJobTitle(null);
+
+        write(employee);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT department, job_title FROM employees WHERE tenant_id = ?", tenant);
+        assertThat(row.get("department")).isEqualTo("");
+        assertThat(row.get("job_title")).isNull();
+    }
+
+    private static List<ChangedEmployee> write(Employee... batch) {
+        return transactionTemplate.execute(status -> writer.write(List.of(batch)));
+    }
+
+    private static String tenant() {
+        String tenant = "tenant-" + UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status)
+                VALUES (?, ?, 'employees.csv', 'CSV', 'PROCESSING')""", job(tenant), tenant);
+        return tenant;
+    }
+
+    private static UUID job(String tenant) {
+        return UUID.nameUUIDFromBytes(tenant.getBytes());
+    }
+
+    private static Employee employee(String tenant, String email, String firstName, long fingerprint) {
+        return Employee.builder()
+                .tenantId(tenant)
+                .uploadJobId(job(tenant))
+                .firstName(firstName)
+                .lastName("Last")
+                .email(email)
+                .department("Eng")
+                .status(Employee.EmployeeStatus.ACTIVE)
+                .fingerprint(fingerprint)
+                .build();
+    }
+
+    private static UUID id(String tenant, String email) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM employees WHERE tenant_id = ? AND email = ?", UUID.class, tenant, email);
+    }
+
+    private static Map<String, String> firstNames(String tenant) {
+        Map<String, String> names = new TreeMap<>();
+        jdbcTemplate.query("SELECT email, first_name FROM employees WHERE tenant_id = ?",
+                rs -> { names.put(rs.getString(1), rs.getString(2)); }, tenant);
+        return names;
+    }
+}
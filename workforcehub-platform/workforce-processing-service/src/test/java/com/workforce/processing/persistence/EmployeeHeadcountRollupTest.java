@@ -0,0 +1,150 @@
+package com.workforce.processing.persistence;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the employees headcount triggers and {@link EmployeeHeadcountRollup#fold}
+ * against Postgres 16 with the real schema. Each test uses its own tenant.
+ */
+class EmployeeHeadcountRollupTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static EmployeeHeadcountRollup rollup;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.execute(Files.readString(Path.of("../db/init.sql")));
+        rollup = new EmployeeHeadcountRollup(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void insertsAreCountedPerGroupBeforeAndAfterTheFold() {
+        String tenant = tenant();
+        upsert(tenant, "a@example.com", "Eng", "ACTIVE", "2024-01-15");
+        upsert(tenant, "b@example.com", "Eng", "ACTIVE", "2024-01-31");
+        upsert(tenant, "c@example.com", null, "PENDING", null);
+
+        Map<String, Long> expected = Map.of("Eng|ACTIVE|2024-01-01", 2L, "null|PENDING|null", 1L);
+        // Readers add the rollup and the pending deltas, so counts are exact before the fold
+        assertThat(counts(tenant)).isEqualTo(expected);
+
+        assertThat(rollup.fold(tenant)).isEqualTo(2);
+
+        assertThat(folded(tenant)).isEqualTo(expected);
+        assertThat(pendingDeltas(tenant)).isZero();
+    }
+
+    @Test
+    void onConflictUpdateMovesTheEmployeeBetweenGroups() {
+        String tenant = tenant();
+        upsert(tenant, "a@example.com", "Eng", "ACTIVE", "2024-01-15");
+        upsert(tenant, "b@example.com", "Eng", "ACTIVE", "2024-01-15");
+        rollup.fold(tenant);
+
+        upsert(tenant, "b@example.com", "Sales", "INACTIVE", "2024-01-15");
+        upsert(tenant, "a@example.com", "Eng", "ACTIVE", "2024-01-15");   // unchanged
+        rollup.fold(tenant);
+
+        assertThat(folded(tenant)).isEqualTo(Map.of("Eng|ACTIVE|2024-01-01", 1L, "Sales|INACTIVE|2024-01-01", 1L));
+    }
+
+    @Test
+    void softDeleteRemovesTheEmployeeAndPrunesEmptyGroups() {
+        String tenant = tenant();
+        upsert(tenant, "a@example.com", "Eng", "ACTIVE", "2024-01-15");
+        upsert(tenant, "b@example.com", "Ops", "ACTIVE", "2023-06-01");
+        rollup.fold(tenant);
+
+        jdbcTemplate.update("UPDATE employees SET deleted = TRUE WHERE tenant_id = ? AND email = ?", tenant, "b@example.com");
+        // Updating a deleted row must not bring it back
+        jdbcTemplate.update("UPDATE employees SET job_title = 'Lead' WHERE tenant_id = ?", tenant);
+        rollup.fold(tenant);
+
+        assertThat(folded(tenant)).isEqualTo(Map.of("Eng|ACTIVE|2024-01-01", 1L));
+    }
+
+    @Test
+    void foldLeavesOtherTenantsDeltasPending() {
+        String tenant = tenant();
+        String other = tenant();
+        upsert(tenant, "a@example.com", "Eng", "ACTIVE", null);
+        upsert(other, "a@example.com", "Eng", "ACTIVE", null);
+
+        rollup.fold(tenant);
+
+        assertThat(pendingDeltas(tenant)).isZero();
+        assertThat(pendingDeltas(other)).isEqualTo(1);
+        assertThat(rollup.fold(tenant)).isZero();
+    }
+
+    private static String tenant() {
+        String tenant = "tenant-" + UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status)
+                VALUES (?, ?, 'employees.csv', 'CSV', 'PROCESSING')""", UUID.nameUUIDFromBytes(tenant.getBytes()), tenant);
+        return tenant;
+    }
+
+    /** The upsert the batch writers issue: insert, or update the row with the same (tenant_id, email). */
+    private static void upsert(String tenant, String email, String department, String status, String hireDate) {
+        jdbcTemplate.update("""
+                        INSERT INTO employees (tenant_id, upload_job_id, first_name, last_name, email,
+                                               department, status, hire_date)
+                        VALUES (?, ?, 'First', 'Last', ?, ?, ?, ?::date)
+                        ON CONFLICT ON CONSTRAINT uq_employees_tenant_email DO UPDATE
+                        SET department = EXCLUDED.department, status = EXCLUDED.status,
+                            hire_date = EXCLUDED.hire_date, deleted = FALSE""",
+                tenant, UUID.nameUUIDFromBytes(tenant.getBytes()), email, department, status, hireDate);
+    }
+
+    private static Map<String, Long> folded(String tenant) {
+        return groups("""
+                SELECT department, status, hire_month, headcount FROM employee_headcount WHERE tenant_id = ?""", tenant);
+    }
+
+    private static Map<String, Long> counts(String tenant) {
+        return groups("""
+                SELECT department, status, hire_month, sum(n) FROM (
+                    SELECT department, status, hire_month, headcount AS n FROM employee_headcount WHERE tenant_id = ?
+                    UNION ALL
+                    SELECT department, status, hire_month, delta FROM employee_headcount_deltas WHERE tenant_id = ?
+                ) c GROUP BY 1, 2, 3 HAVING sum(n) <> 0""", tenant, tenant);
+    }
+
+    private static Map<String, Long> groups(String sql, Object... args) {
+        Map<String, Long> groups = new TreeMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            groups.put(rs.getString(1) + "|" + rs.getString(2) + "|" + rs.getString(3), rs.getLong(4));
+        }, args);
+        return groups;
+    }
+
+    private static long pendingDeltas(String tenant) {
+        Long n = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM employee_headcount_deltas WHERE tenant_id = ?", Long.class, tenant);
+        return n != null ? n : 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.workforce.processing.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FingerprintIndexTest {
+
+    @Test
+    void matchesUnchangedRowsAndReportsEmployeesTheUploadDidNotMention() {
+        FingerprintIndex index = new FingerprintIndex();
+        UUID kept = UUID.randomUUID();
+        UUID changed = UUID.randomUUID();
+        UUID legacy = UUID.randomUUID();
+        UUID absent = UUID.randomUUID();
+        // enough entries to force several rehashes
+        for (int i = 0; i < 5000; i++) {
+            index.put("filler" + i + "@acme.com", (long) i, UUID.randomUUID());
+        }
+        index.put("kept@acme.com", 42L, kept);
+        index.put("changed@acme.com", 7L, changed);
+        index.put("legacy@acme.com", null, legacy);
+        index.put("absent@acme.com", 9L, absent);
+        for (int i = 0; i < 5000; i++) {
+            index.markSeen("filler" + i + "@acme.com");
+        }
+
+        assertThat(index.markSeen("kept@acme.com", 42L)).isTrue();
+        assertThat(index.markSeen("changed@acme.com", 8L)).isFalse();
+        assertThat(index.markSeen("legacy@acme.com", 0L)).isFalse();
+        assertThat(index.markSeen("new@acme.com", 1L)).isFalse();
+
+        assertThat(index.size()).isEqualTo(5004);
+        assertThat(index.unseen()).containsExactly(absent);
+    }
+}
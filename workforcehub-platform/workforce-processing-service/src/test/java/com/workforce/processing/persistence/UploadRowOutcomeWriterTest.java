@@ -0,0 +1,82 @@
+package com.workforce.processing.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workforce.processing.config.ProcessingProperties;
+import com.workforce.processing.ingest.SourceRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.*;
+
+class UploadRowOutcomeWriterTest {
+
+    private final CountDownLatch releaseSlowJob = new CountDownLatch(1);
+    private UploadRowOutcomeWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseSlowJob.countDown();
+        writer.destroy();
+    }
+
+    @Test
+    void jobWaitsOnlyForItsOwnOutcomes() throws Exception {
+        UUID finishing = UUID.randomUUID();
+        UUID slow = UUID.randomUUID();
+        writer = writerBlockingOn(slow);
+
+        writer.failed("tenant-1", finishing, new SourceRow(2, List.of("x")), List.of("email"), "bad email");
+        writer.failed("tenant-1", slow, new SourceRow(2, List.of("y")), List.of("email"), "bad email");
+
+        // The slow job's write is stuck, which used to hold up every job's completion
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> writer.awaitWritten(finishing));
+    }
+
+    @Test
+    void waitReturnsOnceTheJobsOutcomesAreWritten() throws Exception {
+        UUID job = UUID.randomUUID();
+        writer = writerBlockingOn(job);
+        writer.failed("tenant-1", job, new SourceRow(2, List.of("x")), List.of("email"), "bad email");
+
+        Thread waiter = Thread.ofVirtual().start(() -> writer.awaitWritten(job));
+        assertThat(waiter.join(Duration.ofMillis(300))).isFalse();
+
+        releaseSlowJob.countDown();
+        assertThat(waiter.join(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    void jobWithoutOutcomesDoesNotWait() {
+        writer = writerBlockingOn(UUID.randomUUID());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> writer.awaitWritten(UUID.randomUUID()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private UploadRowOutcomeWriter writerBlockingOn(UUID slowJob) {
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            Collection<?> outcomes = invocation.getArgument(1);
+            if (outcomes.stream().anyMatch(o -> o.toString().contains(slowJob.toString()))) {
+                releaseSlowJob.await(10, TimeUnit.SECONDS);
+            }
+            return new int[0][0];
+        });
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.getRowOutcomes().setBatchSize(1);
+        return new UploadRowOutcomeWriter(jdbcTemplate, new ObjectMapper(), properties);
+    }
+}
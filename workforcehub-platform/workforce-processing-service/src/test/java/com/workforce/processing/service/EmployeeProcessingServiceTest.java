@@ -0,0 +1,195 @@
+package com.workforce.processing.service;
+
+import com.workforce.processing.config.KafkaTopics;
+import com.workforce.processing.config.ProcessingProperties;
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.dto.response.EmployeeUploadProcessedEvent;
+import com.workforce.processing.ingest.CsvRowReader;
+import com.workforce.processing.ingest.EmployeeRowMapper;
+import com.workforce.processing.ingest.RowReader;
+import com.workforce.processing.ingest.RowReaderFactory;
+import com.workforce.processing.ingest.SourceRow;
+import com.workforce.processing.persistence.CopyEmployeeBatchWriter;
+import com.workforce.processing.persistence.EmployeeFingerprints;
+import com.workforce.processing.persistence.EmployeeHeadcountRollup;
+import com.workforce.processing.persistence.UploadJobCheckpoints;
+import com.workforce.processing.persistence.UploadJobCheckpoints.Checkpoint;
+import com.workforce.processing.persistence.UploadRowOutcomeWriter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Interrupts a sequential upload part-way through and redelivers it, with the
+ * real COPY writer and checkpoints on Postgres 16. Storage, Kafka and the
+ * parallel path are stubbed.
+ */
+class EmployeeProcessingServiceTest {
+
+    private static final String CSV = """
+            first_name,last_name,email
+            Ann,One,ann@example.com
+            Bad,Row,not-an-email
+            Cat,Three,cat@example.com
+            Dan,Four,dan@example.com
+            Eve,Five,eve@example.com
+            Fay,Six,fay@example.com
+            Gus,Seven,gus@example.com
+            Hal,Eight,hal@example.com
+            Ivy,Nine,ivy@example.com
+            Jon,Ten,jon@example.com
+            """;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static DataSource dataSource;
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+    private final RowReaderFactory rowReaderFactory = Mockito.mock(RowReaderFactory.class);
+    private final ParallelUploadProcessor parallelProcessor = Mockito.mock(ParallelUploadProcessor.class);
+    private final UploadRowOutcomeWriter rowOutcomes = Mockito.mock(UploadRowOutcomeWriter.class);
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(Files.readString(Path.of("../db/init.sql")));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void redeliveryResumesAfterTheLastCommittedChunk() throws IOException {
+        EmployeeUploadRequestedEvent event = event();
+        // Chunks of three rows commit through rows 3 and 6; reading row 8 fails with row 7 still in flight
+        when(rowReaderFactory.open(event)).thenReturn(failingAfter(7, CsvRowReader.open(csv())), CsvRowReader.open(csv()));
+        EmployeeProcessingService service = service();
+
+        assertThatThrownBy(() -> service.processUpload(event)).hasRootCauseInstanceOf(IOException.class);
+
+        UploadJobCheckpoints checkpoints = new UploadJobCheckpoints(jdbcTemplate);
+        assertThat(checkpoints.load(event.getUploadJobId())).isEqualTo(new Checkpoint(6, 5, 1));
+        assertThat(employeeCount(event)).isEqualTo(5);
+        assertThat(results()).isEmpty();
+
+        service.processUpload(event);
+
+        assertThat(checkpoints.load(event.getUploadJobId())).isEqualTo(new Checkpoint(10, 9, 1));
+        assertThat(employeeCount(event)).isEqualTo(9);
+        // The invalid row was committed by the first attempt and is not read again
+        verify(rowOutcomes, times(1)).failed(eq(event.getTenantId()), eq(event.getUploadJobId()),
+                any(SourceRow.class), anyList(), anyString());
+
+        assertThat(results()).hasSize(1);
+        EmployeeUploadProcessedEvent result = results().get(0);
+        assertThat(result.getStatus()).isEqualTo("PARTIAL");
+        assertThat(result.getProcessedRows()).isEqualTo(9);
+        assertThat(result.getFailedRows()).isEqualTo(1);
+        assertThat(result.getTotalRows()).isEqualTo(10);
+    }
+
+    /** Final processed events sent so far, leaving out the PROCESSING progress events on the same topic. */
+    private List<EmployeeUploadProcessedEvent> results() {
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, atLeast(0)).send(eq(KafkaTopics.EMPLOYEE_UPLOAD_PROCESSED), anyString(), sent.capture());
+        return sent.getAllValues().stream()
+                .map(EmployeeUploadProcessedEvent.class::cast)
+                .filter(e -> !"PROCESSING".equals(e.getStatus()))
+                .toList();
+    }
+
+    private EmployeeProcessingService service() {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setBatchSize(3);
+        return new EmployeeProcessingService(
+                new CopyEmployeeBatchWriter(dataSource),
+                new UploadJobCheckpoints(jdbcTemplate),
+                transactionTemplate,
+                kafkaTemplate,
+                rowReaderFactory,
+                new EmployeeRowMapper(),
+                properties,
+                parallelProcessor,
+                rowOutcomes,
+                new UploadProgressReporter(kafkaTemplate, properties),
+                new EmployeeFingerprints(jdbcTemplate),
+                new EmployeeHeadcountRollup(jdbcTemplate),
+                new EmployeeChangePublisher(kafkaTemplate));
+    }
+
+    private static EmployeeUploadRequestedEvent event() {
+        String tenant = "tenant-" + UUID.randomUUID();
+        UUID jobId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status)
+                VALUES (?, ?, 'employees.csv', 'CSV', 'PROCESSING')""", jobId, tenant);
+        return EmployeeUploadRequestedEvent.builder()
+                .uploadJobId(jobId)
+                .tenantId(tenant)
+                .storageKey(tenant + "/employees.csv")
+                .fileType("CSV")
+                .build();
+    }
+
+    private static ByteArrayInputStream csv() {
+        return new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Integer employeeCount(EmployeeUploadRequestedEvent event) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM employees WHERE tenant_id = ?", Integer.class, event.getTenantId());
+    }
+
+    /** Delegates to {@code reader} until row {@code lastRow} has been returned, then fails like a dropped connection. */
+    private static RowReader failingAfter(long lastRow, RowReader reader) {
+        return new RowReader() {
+            @Override
+            public List<String> headers() {
+                return reader.headers();
+            }
+
+            @Override
+            public SourceRow next() throws IOException {
+                SourceRow row = reader.next();
+                if (row != null && row.rowNumber() > lastRow) {
+                    throw new IOException("Connection reset");
+                }
+                return row;
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.workforce.processing.service;
+
+import com.workforce.processing.config.ProcessingProperties;
+import com.workforce.processing.domain.Employee;
+import com.workforce.processing.dto.request.EmployeeUploadRequestedEvent;
+import com.workforce.processing.ingest.EmployeeRowMapper;
+import com.workforce.processing.persistence.CopyEmployeeBatchWriter;
+import com.workforce.processing.persistence.EmployeeBatchWriter;
+import com.workforce.processing.persistence.UploadJobCheckpoints;
+import com.workforce.processing.persistence.UploadRowOutcomeWriter;
+import com.workforce.processing.storage.LocalFileHandle;
+import com.workforce.processing.storage.UploadStorage;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Fails one segment of a parallel upload part-way through and runs the job
+ * again, with the real COPY writer and segment checkpoints on Postgres 16.
+ */
+class ParallelUploadProcessorTest {
+
+    private static final int ROWS = 40;
+    private static final String INVALID_EMAIL = "employee07-at-example.com";
+    private static final String FAILING_EMAIL = "employee30@example.com";
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(Files.readString(Path.of("../db/init.sql")));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void rerunSkipsTheRowsEachSegmentAlreadyCommitted() throws IOException {
+        EmployeeUploadRequestedEvent event = event();
+        UploadStorage storage = Mockito.mock(UploadStorage.class);
+        when(storage.openLocal(event.getStorageKey())).thenReturn(new LocalFileHandle(csv(), false));
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger written = new AtomicInteger();
+        EmployeeBatchWriter copy = new CopyEmployeeBatchWriter(dataSource);
+        EmployeeBatchWriter writer = batch -> {
+            if (failing.get() && batch.stream().map(Employee::getEmail).anyMatch(FAILING_EMAIL::equals)) {
+                throw new IllegalStateException("Connection lost");
+            }
+            written.addAndGet(batch.size());
+            return copy.write(batch);
+        };
+        ParallelUploadProcessor processor = processor(storage, writer);
+
+        assertThatThrownBy(() -> processor.process(event)).hasMessage("Connection lost");
+
+        Integer committed = jdbcTemplate.queryForObject(
+                "SELECT sum(processed_rows) FROM upload_job_segments WHERE upload_job_id = ?",
+                Integer.class, event.getUploadJobId());
+        // The failing segment committed the chunks before row 30 at the least
+        assertThat(committed).isNotNull().isPositive();
+
+        failing.set(false);
+        written.set(0);
+        ParallelUploadProcessor.Result result = processor.process(event).orElseThrow();
+
+        assertThat(result).isEqualTo(new ParallelUploadProcessor.Result(ROWS, ROWS - 1, 1));
+        assertThat(written.get()).isEqualTo(ROWS - 1 - committed);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employees WHERE tenant_id = ?",
+                Integer.class, event.getTenantId())).isEqualTo(ROWS - 1);
+    }
+
+    private static ParallelUploadProcessor processor(UploadStorage storage, EmployeeBatchWriter writer) {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setBatchSize(3);
+        properties.getParallel().setThreads(2);
+        properties.getParallel().setMinFileSize(DataSize.ofBytes(0));
+        @SuppressWarnings("unchecked")
+        KafkaTemplate<String, Object> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+        return new ParallelUploadProcessor(storage, writer, new EmployeeRowMapper(), transactionTemplate, properties,
+                Mockito.mock(UploadRowOutcomeWriter.class), new UploadProgressReporter(kafkaTemplate, properties),
+                new EmployeeChangePublisher(kafkaTemplate), new UploadJobCheckpoints(jdbcTemplate));
+    }
+
+    private Path csv() throws IOException {
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\n");
+        for (int i = 1; i <= ROWS; i++) {
+            String email = i == 7 ? INVALID_EMAIL : "employee%02d@example.com".formatted(i);
+            csv.append("First").append(i).append(",Last,").append(email).append('\n');
+        }
+        return Files.writeString(dir.resolve("employees.csv"), csv);
+    }
+
+    private static EmployeeUploadRequestedEvent event() {
+        String tenant = "tenant-" + UUID.randomUUID();
+        UUID jobId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status)
+                VALUES (?, ?, 'employees.csv', 'CSV', 'PROCESSING')""", jobId, tenant);
+        return EmployeeUploadRequestedEvent.builder()
+                .uploadJobId(jobId)
+                .tenantId(tenant)
+                .storageKey(tenant + "/employees.csv")
+                .fileType("CSV")
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.workforce.query.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads and writes many entries of a cache in one round trip, where Spring's
+ * {@link Cache} only offers one key at a time.
+ */
+public interface BatchCache {
+
+    /** Cached values for {@code keys}; keys with no entry are absent from the result. */
+    Map<String, Object> getAll(Collection<String> keys);
+
+    /** Stores every entry, replacing any current value, with the cache's usual time to live. */
+    void putAll(Map<String, ?> entries);
+
+    /** Removes every one of {@code keys} that is cached. */
+    void evictAll(Collection<String> keys);
+
+    /**
+     * {@code cache} itself when it supports batches, a view over Redis when it
+     * is a plain {@link RedisCache}, otherwise null.
+     */
+    static BatchCache of(Cache cache, RedisOperations<?, ?> redis) {
+        if (cache instanceof BatchCache batch) {
+            return batch;
+        }
+        if (cache instanceof RedisCache redisCache) {
+            return new RedisBatchCache(redisCache, redis);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.workforce.query.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch access to the entries of a {@link RedisCache}: one MGET for reads,
+ * one pipeline of SETs for writes and one DEL for evictions.
+ *
+ * Keys and values go through the cache's own prefix, serializers and time to
+ * live, so entries are interchangeable with those written by
+ * {@code @Cacheable} on the same cache.
+ */
+final class RedisBatchCache implements BatchCache {
+
+    private final RedisCache cache;
+    private final RedisOperations<?, ?> redis;
+
+    RedisBatchCache(RedisCache cache, RedisOperations<?, ?> redis) {
+        this.cache = cache;
+        this.redis = redis;
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<String> ordered = List.copyOf(keys);
+        byte[][] redisKeys = ordered.stream().map(this::redisKey).toArray(byte[][]::new);
+        List<byte[]> values = redis.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(redisKeys));
+
+        Map<String, Object> found = new HashMap<>();
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < ordered.size(); i++) {
+            byte[] bytes = values.get(i);
+            Object value = bytes != null ? cache.getCacheConfiguration().getValueSerializationPair().read(ByteBuffer.wrap(bytes)) : null;
+            if (value != null && !(value instanceof NullValue)) {
+                found.put(ordered.get(i), value);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, value) -> {
+                Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                Expiration expiration = ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+                connection.stringCommands().set(redisKey(key),
+                        ByteUtils.getBytes(config.getValueSerializationPair().write(value)),
+                        expiration, RedisStringCommands.SetOption.upsert());
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public void evictAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        byte[][] redisKeys = keys.stream().map(this::redisKey).toArray(byte[][]::new);
+        redis.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(redisKeys));
+    }
+
+    // Same key RedisCache builds for a String key: optional "<cache>::" prefix, then the key serializer
+    private byte[] redisKey(String key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String prefixed = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) + key : key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(prefixed));
+    }
+}
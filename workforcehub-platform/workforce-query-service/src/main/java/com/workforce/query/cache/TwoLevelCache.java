@@ -0,0 +1,230 @@
+package com.workforce.query.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Spring {@link Cache} that answers from an in-process Caffeine cache and
+ * falls back to Redis.
+ *
+ * Local entries hold the deserialized value, so a hit costs neither a network
+ * round trip nor JSON parsing. Every write goes to Redis first and is then
+ * announced to the other instances so they drop their local copy.
+ *
+ * A read that misses locally only stores the Redis value if no invalidation
+ * reached this cache while Redis was being read; otherwise an eviction racing
+ * the read could be overwritten by the value it was meant to remove.
+ *
+ * Batch reads check the local tier first and fetch only the keys it lacks
+ * from Redis, in one round trip when the remote cache supports batches.
+ */
+final class TwoLevelCache implements Cache, BatchCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final Cache remote;
+    private final BatchCache remoteBatch;
+    private final TwoLevelCacheManager manager;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+                  Cache remote, BatchCache remoteBatch, TwoLevelCacheManager manager) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.remoteBatch = remoteBatch;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper hit = local.getIfPresent(localKey);
+        if (hit != null) {
+            return hit;
+        }
+        long seen = invalidations.get();
+        ValueWrapper value = remote.get(key);
+        if (value != null && invalidations.get() == seen) {
+            local.put(localKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null || value.get() == null) {
+            return null;
+        }
+        if (type != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        ValueWrapper hit = local.getIfPresent(localKey);
+        if (hit != null) {
+            return (T) hit.get();
+        }
+        long seen = invalidations.get();
+        T value = remote.get(key, valueLoader);
+        if (value != null && invalidations.get() == seen) {
+            local.put(localKey, new SimpleValueWrapper(value));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        local.put(localKey, new SimpleValueWrapper(value));
+        manager.announce(name, List.of(localKey));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        manager.announce(name, List.of(localKey));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        manager.announce(name, List.of(localKey));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        manager.announce(name, List.of(localKey));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        invalidateLocal(null);
+        manager.announce(name, List.of());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        invalidateLocal(null);
+        manager.announce(name, List.of());
+        return invalidated;
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : keys) {
+            ValueWrapper hit = local.getIfPresent(key);
+            if (hit != null && hit.get() != null) {
+                found.put(key, hit.get());
+            } else {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+        long seen = invalidations.get();
+        Map<String, Object> remoteHits = new HashMap<>();
+        if (remoteBatch != null) {
+            remoteHits.putAll(remoteBatch.getAll(misses));
+        } else {
+            for (String key : misses) {
+                ValueWrapper value = remote.get(key);
+                if (value != null && value.get() != null) {
+                    remoteHits.put(key, value.get());
+                }
+            }
+        }
+        if (invalidations.get() == seen) {
+            remoteHits.forEach((key, value) -> local.put(key, new SimpleValueWrapper(value)));
+        }
+        found.putAll(remoteHits);
+        return found;
+    }
+
+    /**
+     * Unlike {@link #put}, does not announce the keys: batches fill entries
+     * that were missing from Redis, so no other instance holds them locally.
+     */
+    @Override
+    public void putAll(Map<String, ?> entries) {
+        long seen = invalidations.get();
+        if (remoteBatch != null) {
+            remoteBatch.putAll(entries);
+        } else {
+            entries.forEach(remote::put);
+        }
+        if (invalidations.get() == seen) {
+            entries.forEach((key, value) -> local.put(key, new SimpleValueWrapper(value)));
+        }
+    }
+
+    @Override
+    public void evictAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (remoteBatch != null) {
+            remoteBatch.evictAll(keys);
+        } else {
+            keys.forEach(remote::evict);
+        }
+        keys.forEach(this::invalidateLocal);
+        manager.announce(name, keys);
+    }
+
+    /** Drops one local entry, or all of them when {@code key} is null. Redis is untouched. */
+    void invalidateLocal(String key) {
+        invalidations.incrementAndGet();
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    // Redis keys are strings too, so two keys that collide here already collide in Redis
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,111 @@
+package com.workforce.query.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workforce.query.config.NearCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps a Redis-backed {@link CacheManager} so each cache gets a bounded
+ * in-process tier in front of it (see {@link TwoLevelCache}).
+ *
+ * Evictions are broadcast on a Redis pub/sub channel and every instance drops
+ * the matching local entries. Pub/sub is fire-and-forget: an instance that is
+ * disconnected when a message is sent never sees it, so local entries also
+ * expire after query.cache.near.ttl, which is the worst-case staleness.
+ *
+ * Messages are "origin\ncache[\nkey...]", one line per evicted key; without
+ * a key the whole cache is cleared. An instance ignores the messages it sent
+ * itself.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redis;
+    private final NearCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote, StringRedisTemplate redis,
+                                NearCacheProperties properties, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.redis = redis;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> create(n, remoteCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    private TwoLevelCache create(String name, Cache remoteCache) {
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "local"));
+        return new TwoLevelCache(name, local, remoteCache, BatchCache.of(remoteCache, redis), this);
+    }
+
+    /** Tells the other instances to drop {@code keys} (or everything when empty) from their local tier. */
+    void announce(String cacheName, Collection<String> keys) {
+        StringBuilder message = new StringBuilder(instanceId).append('\n').append(cacheName);
+        for (String key : keys) {
+            message.append('\n').append(key);
+        }
+        try {
+            redis.convertAndSend(properties.getInvalidationChannel(), message.toString());
+        } catch (RuntimeException e) {
+            // Redis already has the change; peers catch up when their local entry expires
+            log.warn("Failed to publish invalidation for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (parts.length < 2 || parts[0].equals(instanceId)) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 2) {
+            cache.invalidateLocal(null);
+        }
+        for (int i = 2; i < parts.length; i++) {
+            cache.invalidateLocal(parts[i]);
+        }
+    }
+}
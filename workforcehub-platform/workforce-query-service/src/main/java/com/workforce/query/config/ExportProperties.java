@@ -0,0 +1,27 @@
+package com.workforce.query.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "query.export")
+public class ExportProperties {
+    /** Rows fetched from the database cursor per round trip */
+    private int fetchSize = 2_000;
+    /** Bytes buffered before a write to the response */
+    private int bufferSize = 64 * 1024;
+    /**
+     * Exports streamed at once by this instance. Each holds a pooled connection
+     * and a transaction for its whole download, so keep this well below
+     * spring.datasource.hikari.maximum-pool-size; further requests get a 429.
+     */
+    private int maxConcurrent = 4;
+    /** Retry-After sent with the 429 when every export slot is taken */
+    private Duration retryAfter = Duration.ofSeconds(30);
+}
@@ -0,0 +1,7 @@
+package com.workforce.query.config;
+
+public final class KafkaTopics {
+    public static final String EMPLOYEE_CHANGED = "employee.changed";
+
+    private KafkaTopics() {}
+}
@@ -0,0 +1,23 @@
+package com.workforce.query.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "query.cache.near")
+public class NearCacheProperties {
+    /** Keep recently read cache entries in process, in front of Redis */
+    private boolean enabled = true;
+    /** Entries kept per cache before the least valuable are evicted */
+    private long maximumSize = 10_000;
+    /** Longest an entry is served locally; also bounds staleness if an invalidation message is lost */
+    private Duration ttl = Duration.ofSeconds(30);
+    /** Redis pub/sub channel on which instances announce evictions */
+    private String invalidationChannel = "workforce:cache:invalidate";
+}
@@ -1,17 +1,28 @@
 package com.workforce.query.controller;
 
+import com.workforce.query.dto.request.EmployeeBatchRequest;
+import com.workforce.query.dto.request.EmployeeFilter;
+import com.workforce.query.dto.response.CursorPage;
+import com.workforce.query.dto.response.EmployeeBatchResponse;
 import com.workforce.query.dto.response.EmployeeResponse;
+import com.workforce.query.dto.response.EmployeeStatsResponse;
+import com.workforce.query.service.EmployeeExportService;
 import com.workforce.query.service.EmployeeQueryService;
+import com.workforce.query.service.EmployeeStatsService;
+import com.workforce.query.service.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -22,6 +33,8 @@ import java.util.UUID;
 public class EmployeeController {
 
     private final EmployeeQueryService queryService;
+    private final EmployeeStatsService statsService;
+    private final EmployeeExportService exportService;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get employee by ID")
@@ -30,12 +43,67 @@ public class EmployeeController {
         return ResponseEntity.ok(queryService.getById(id));
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get up to 500 employees by ID in one request")
+    public ResponseEntity<EmployeeBatchResponse> batchGet(@RequestBody EmployeeBatchRequest request) {
+        return ResponseEntity.ok(queryService.getByIds(request.getIds()));
+    }
+
     @GetMapping
-    @Operation(summary = "List employees with optional status filter and pagination")
-    public ResponseEntity<Page<EmployeeResponse>> getAll(
+    @Operation(summary = "List employees with optional filters and pagination")
+    public ResponseEntity<Slice<EmployeeResponse>> getAll(
+            @ParameterObject EmployeeFilter filter,
+            @Parameter(description = "Count matching employees; false skips the COUNT query and returns a slice")
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @ParameterObject @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        return ResponseEntity.ok(queryService.getAll(filter, pageable, includeTotal));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "List employees in creation order using an opaque cursor instead of page numbers")
+    public ResponseEntity<CursorPage<EmployeeResponse>> scroll(
             @Parameter(description = "Filter by status: ACTIVE, INACTIVE, PENDING")
             @RequestParam(required = false) String status,
-            @ParameterObject @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
-        return ResponseEntity.ok(queryService.getAll(status, pageable));
+            @Parameter(description = "nextCursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also count matching employees")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(queryService.scroll(status, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Download every employee as CSV or newline-delimited JSON, streamed in creation order")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Only export employees with this status: ACTIVE, INACTIVE, PENDING")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "csv or ndjson")
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingResponseBody body = exportService.export(status, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Headcount by department, status and hire month")
+    public ResponseEntity<EmployeeStatsResponse> stats(
+            @Parameter(description = "Only count employees with this status: ACTIVE, INACTIVE, PENDING")
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(statsService.getStats(status));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search employees by name, email or job title, best matches first")
+    public ResponseEntity<CursorPage<EmployeeResponse>> search(
+            @Parameter(description = "Text to find; at least 3 characters, case-insensitive")
+            @RequestParam("q") String query,
+            @Parameter(description = "nextCursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(queryService.search(query, cursor, size));
     }
 }
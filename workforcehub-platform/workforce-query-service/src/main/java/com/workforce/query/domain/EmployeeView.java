@@ -9,6 +9,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_tenant_created", columnList = "tenant_id, created_at, id"),
+        @Index(name = "idx_employees_tenant_status", columnList = "tenant_id, status, created_at, id"),
         @Index(name = "idx_employees_email", columnList = "email"),
         @Index(name = "idx_employees_status", columnList = "status"),
         @Index(name = "idx_employees_upload_job_id", columnList = "upload_job_id")
@@ -0,0 +1,21 @@
+package com.workforce.query.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Published by processing-service after it updates or soft-deletes existing employees. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+    private String eventId;
+    private String eventVersion;
+    private String tenantId;
+    private List<UUID> employeeIds;
+}
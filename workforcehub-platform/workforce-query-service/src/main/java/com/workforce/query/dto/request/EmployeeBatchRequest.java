@@ -0,0 +1,14 @@
+package com.workforce.query.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class EmployeeBatchRequest {
+
+    @Schema(description = "Employee UUIDs to look up, at most 500; duplicates are returned once")
+    private List<UUID> ids;
+}
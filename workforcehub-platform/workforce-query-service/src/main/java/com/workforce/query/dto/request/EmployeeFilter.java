@@ -0,0 +1,33 @@
+package com.workforce.query.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/** Optional listing filters, bound from query parameters. Unset fields do not filter. */
+@Data
+public class EmployeeFilter {
+
+    @Schema(description = "Filter by status: ACTIVE, INACTIVE, PENDING")
+    private String status;
+
+    @Schema(description = "Exact department name")
+    private String department;
+
+    @Schema(description = "Exact job title")
+    private String jobTitle;
+
+    @Schema(description = "Hired on or after this date (yyyy-MM-dd)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredFrom;
+
+    @Schema(description = "Hired on or before this date (yyyy-MM-dd)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredTo;
+
+    @Schema(description = "Only employees written by this upload job")
+    private UUID uploadJobId;
+}
@@ -0,0 +1,23 @@
+package com.workforce.query.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page. Pass {@code nextCursor} back as {@code cursor} to read the
+ * following page; it is absent on the last page. {@code totalElements} is only
+ * present when the caller asked for it.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+}
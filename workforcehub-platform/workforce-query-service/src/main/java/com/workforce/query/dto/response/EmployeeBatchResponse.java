@@ -0,0 +1,15 @@
+package com.workforce.query.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Employees found, in the order they were requested, and the requested ids that were not. */
+@Data
+@Builder
+public class EmployeeBatchResponse {
+    private List<EmployeeResponse> employees;
+    private List<UUID> notFound;
+}
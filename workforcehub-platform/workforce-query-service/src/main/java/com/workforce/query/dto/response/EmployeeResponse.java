@@ -1,15 +1,20 @@
 package com.workforce.query.dto.response;
 
 import com.workforce.query.domain.EmployeeView;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
+// Constructors let the Redis cache's JSON serializer read entries back
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class EmployeeResponse {
     private UUID id;
     private UUID uploadJobId;
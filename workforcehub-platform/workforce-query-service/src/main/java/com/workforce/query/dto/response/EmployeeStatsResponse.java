@@ -0,0 +1,25 @@
+package com.workforce.query.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class EmployeeStatsResponse {
+    private long total;
+    /** Largest first; a null key counts employees with no department */
+    private List<Bucket> byDepartment;
+    private List<Bucket> byStatus;
+    /** Chronological, keyed yyyy-MM; a null key counts employees with no hire date */
+    private List<Bucket> byHireMonth;
+
+    @Data
+    @AllArgsConstructor
+    public static class Bucket {
+        private String key;
+        private long count;
+    }
+}
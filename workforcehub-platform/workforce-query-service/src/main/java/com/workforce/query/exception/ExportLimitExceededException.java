@@ -0,0 +1,16 @@
+package com.workforce.query.exception;
+
+import java.time.Duration;
+
+public class ExportLimitExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ExportLimitExceededException(int limit, Duration retryAfter) {
+        super("Too many exports in progress (limit " + limit + "); retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.workforce.query.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.workforce.query.exception;
+
+public class InvalidStatusFilterException extends RuntimeException {
+    public InvalidStatusFilterException(String status) {
+        super("Unknown employee status: " + status + " (expected ACTIVE, INACTIVE or PENDING)");
+    }
+}
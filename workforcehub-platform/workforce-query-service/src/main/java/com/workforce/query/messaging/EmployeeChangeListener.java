@@ -0,0 +1,35 @@
+package com.workforce.query.messaging;
+
+import com.workforce.query.config.KafkaTopics;
+import com.workforce.query.dto.event.EmployeeChangedEvent;
+import com.workforce.query.service.EmployeeQueryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts employees that processing-service changed, so reads after a
+ * re-upload or a DIFF delete do not see the old row until the TTL expires.
+ *
+ * All instances share one consumer group: the instance that receives an
+ * event deletes the Redis entries and announces the keys on the near-cache
+ * invalidation channel, which clears every other instance's local tier.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeChangeListener {
+
+    private final EmployeeQueryService queryService;
+
+    @KafkaListener(topics = KafkaTopics.EMPLOYEE_CHANGED, groupId = "${spring.kafka.consumer.group-id}")
+    public void onEmployeesChanged(EmployeeChangedEvent event) {
+        if (event == null || event.getTenantId() == null || event.getEmployeeIds() == null) {
+            log.warn("Skipping unreadable employee change event");
+            return;
+        }
+        queryService.evictCached(event.getTenantId(), event.getEmployeeIds());
+        log.debug("Evicted {} changed employee(s) for tenant {}", event.getEmployeeIds().size(), event.getTenantId());
+    }
+}
@@ -0,0 +1,54 @@
+package com.workforce.query.repository;
+
+import com.workforce.query.config.ExportProperties;
+import com.workforce.query.domain.EmployeeView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads a tenant's employees for export through a server-side cursor.
+ *
+ * The PostgreSQL driver only uses a cursor when the query runs inside a
+ * transaction with a fetch size, so rows are fetched query.export.fetch-size
+ * at a time in a read-only transaction instead of the whole result being
+ * buffered. Rows come back in (created_at, id) order, which the tenant
+ * indexes already provide, so the first row is sent without a sort.
+ */
+@Repository
+public class EmployeeExportRepository {
+
+    private static final String SELECT = """
+            SELECT id, upload_job_id, first_name, last_name, email, department, job_title,
+                   hire_date, status, created_at
+            FROM employees
+            WHERE tenant_id = ? AND deleted = FALSE""";
+
+    private static final String ORDER = " ORDER BY created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeeExportRepository(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                    ExportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /** Passes each live employee of the tenant, optionally only those with {@code status}, to {@code handler}. */
+    public void forEach(String tenantId, EmployeeView.EmployeeStatus status, RowCallbackHandler handler) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (status != null) {
+                jdbcTemplate.query(SELECT + " AND status = ?" + ORDER, handler, tenantId, status.name());
+            } else {
+                jdbcTemplate.query(SELECT + ORDER, handler, tenantId);
+            }
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.workforce.query.repository;
+
+import java.util.UUID;
+
+/** One search match: the employee and how well it matched (0 is best). */
+public interface EmployeeSearchHit {
+
+    UUID getId();
+
+    int getRank();
+}
@@ -0,0 +1,54 @@
+package com.workforce.query.repository;
+
+import com.workforce.query.domain.EmployeeView;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Composable listing filters for {@link EmployeeViewRepository}.
+ *
+ * Every query starts from {@link #activeIn}, which renders
+ * {@code tenant_id = ? AND deleted = false}. The deleted test must stay a SQL
+ * literal: the employees indexes are partial on {@code deleted = false}, and
+ * once the JDBC driver switches a prepared statement to a generic plan,
+ * Postgres can only use a partial index whose predicate is visible in the
+ * query text, not one that depends on a bound value. The other filters are
+ * plain equality or range predicates on indexed or tenant-scoped columns.
+ * EmployeeSpecificationsIndexTest checks the resulting plans.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {}
+
+    public static Specification<EmployeeView> activeIn(String tenantId) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("tenantId"), tenantId),
+                cb.isFalse(root.get("deleted")));
+    }
+
+    public static Specification<EmployeeView> hasStatus(EmployeeView.EmployeeStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<EmployeeView> inDepartment(String department) {
+        return (root, query, cb) -> cb.equal(root.get("department"), department);
+    }
+
+    public static Specification<EmployeeView> hasJobTitle(String jobTitle) {
+        return (root, query, cb) -> cb.equal(root.get("jobTitle"), jobTitle);
+    }
+
+    public static Specification<EmployeeView> hiredOnOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("hireDate"), date);
+    }
+
+    public static Specification<EmployeeView> hiredOnOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("hireDate"), date);
+    }
+
+    public static Specification<EmployeeView> fromUploadJob(UUID uploadJobId) {
+        return (root, query, cb) -> cb.equal(root.get("uploadJobId"), uploadJobId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.workforce.query.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reads the employee_headcount rollup maintained by the processing service.
+ *
+ * Deltas not yet folded into the rollup are added in, so the counts always
+ * match the employees table. A tenant's result has one row per department,
+ * status and hire month, a few thousand at most, whatever its headcount.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeStatsRepository {
+
+    private static final String HEADCOUNT = """
+            SELECT department, status, hire_month, sum(headcount) AS headcount
+            FROM (SELECT department, status, hire_month, headcount
+                  FROM employee_headcount WHERE tenant_id = ?
+                  UNION ALL
+                  SELECT department, status, hire_month, delta
+                  FROM employee_headcount_deltas WHERE tenant_id = ?) counts
+            GROUP BY department, status, hire_month
+            HAVING sum(headcount) <> 0""";
+
+    /** Live employees in one department, status and hire month; department and hire month may be null. */
+    public record HeadcountCell(String department, String status, LocalDate hireMonth, long headcount) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<HeadcountCell> headcount(String tenantId) {
+        return jdbcTemplate.query(HEADCOUNT, (rs, rowNum) -> {
+            Date hireMonth = rs.getDate("hire_month");
+            return new HeadcountCell(rs.getString("department"), rs.getString("status"),
+                    hireMonth != null ? hireMonth.toLocalDate() : null, rs.getLong("headcount"));
+        }, tenantId, tenantId);
+    }
+}
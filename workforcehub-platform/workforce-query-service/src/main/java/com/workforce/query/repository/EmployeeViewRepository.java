@@ -1,20 +1,129 @@
 package com.workforce.query.repository;
 
 import com.workforce.query.domain.EmployeeView;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface EmployeeViewRepository extends JpaRepository<EmployeeView, UUID> {
+public interface EmployeeViewRepository extends JpaRepository<EmployeeView, UUID>,
+        JpaSpecificationExecutor<EmployeeView>, EmployeeViewRepositoryCustom {
 
     Optional<EmployeeView> findByIdAndTenantIdAndDeletedFalse(UUID id, String tenantId);
 
-    Page<EmployeeView> findAllByTenantIdAndStatusAndDeletedFalse(String tenantId, EmployeeView.EmployeeStatus status, Pageable pageable);
+    // One array parameter rather than IN (?, ?, ...): a single statement text
+    // for any number of ids, so the prepared statement and its plan are reused
+    @Query(value = """
+            SELECT e.* FROM employees e
+            WHERE e.tenant_id = :tenantId AND e.deleted = FALSE AND e.id = ANY(:ids)""", nativeQuery = true)
+    List<EmployeeView> findAllLiveByIds(@Param("tenantId") String tenantId, @Param("ids") UUID[] ids);
 
-    Page<EmployeeView> findAllByTenantIdAndDeletedFalse(String tenantId, Pageable pageable);
+    long countByTenantIdAndStatusAndDeletedFalse(String tenantId, EmployeeView.EmployeeStatus status);
+
+    long countByTenantIdAndDeletedFalse(String tenantId);
+
+    // ── Keyset pages in (created_at, id) order ───────────────────────────────
+    // The row-value comparison lets Postgres start an index range scan at the
+    // cursor; the equivalent "a > x OR (a = x AND b > y)" form does not.
+
+    List<EmployeeView> findAllByTenantIdAndDeletedFalseOrderByCreatedAtAscIdAsc(String tenantId, Limit limit);
+
+    List<EmployeeView> findAllByTenantIdAndStatusAndDeletedFalseOrderByCreatedAtAscIdAsc(
+            String tenantId, EmployeeView.EmployeeStatus status, Limit limit);
+
+    @Query("""
+            SELECT e FROM EmployeeView e
+            WHERE e.tenantId = :tenantId AND e.deleted = false
+              AND (e.createdAt, e.id) > (:createdAt, :id)
+            ORDER BY e.createdAt, e.id""")
+    List<EmployeeView> findPageAfter(@Param("tenantId") String tenantId,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") UUID id,
+                                     Limit limit);
+
+    @Query("""
+            SELECT e FROM EmployeeView e
+            WHERE e.tenantId = :tenantId AND e.status = :status AND e.deleted = false
+              AND (e.createdAt, e.id) > (:createdAt, :id)
+            ORDER BY e.createdAt, e.id""")
+    List<EmployeeView> findPageAfter(@Param("tenantId") String tenantId,
+                                     @Param("status") EmployeeView.EmployeeStatus status,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") UUID id,
+                                     Limit limit);
+
+    // ── Directory search ─────────────────────────────────────────────────────
+    // search_text is a generated, lower-cased column of name, email local part
+    // and job title. Matches are ranked 0 (the text starts with the query,
+    // i.e. first name), 1 (another word starts with it) or 2 (it occurs inside
+    // a word), and each rank has its own query so a page is served by the best
+    // ranks that can fill it: the broad "contains" scan only runs once the
+    // prefix ranks run out. Within a rank hits are in id order, so
+    // (rank, id) is a total order and pages are keyed on it like findPageAfter.
+    // The rank conditions exclude each other; change them together.
+
+    // idx_employees_search_prefix: a btree range scan over the rows starting
+    // with the query, [from, to) in byte order. Written as a range rather than
+    // LIKE 'q%' because the planner only derives a range from a LIKE pattern it
+    // can see, which a prepared statement's generic plan cannot. The service
+    // caps queries at the 100 characters the index key keeps, so comparing the
+    // substr is exact.
+    @Query(value = """
+            SELECT e.id AS id, 0 AS rank FROM employees e
+            WHERE e.tenant_id = :tenantId AND e.deleted = FALSE
+              AND substr(e.search_text, 1, 100) ~>=~ :from AND substr(e.search_text, 1, 100) ~<~ :to
+              AND e.id > :afterId
+            ORDER BY e.id
+            LIMIT :limit""", nativeQuery = true)
+    List<EmployeeSearchHit> searchPrefix(@Param("tenantId") String tenantId,
+                                         @Param("from") String from,
+                                         @Param("to") String to,
+                                         @Param("afterId") UUID afterId,
+                                         @Param("limit") int limit);
+
+    // pg_trgm pads the start of every word, so the trigrams of "% q" include
+    // the word-start ones and the idx_employees_search scan is about as
+    // selective as a prefix lookup.
+    @Query(value = """
+            SELECT e.id AS id, 1 AS rank FROM employees e
+            WHERE e.tenant_id = :tenantId AND e.deleted = FALSE
+              AND e.search_text LIKE :wordPrefix
+              AND NOT (substr(e.search_text, 1, 100) ~>=~ :from AND substr(e.search_text, 1, 100) ~<~ :to)
+              AND e.id > :afterId
+            ORDER BY e.id
+            LIMIT :limit""", nativeQuery = true)
+    List<EmployeeSearchHit> searchWordPrefix(@Param("tenantId") String tenantId,
+                                             @Param("from") String from,
+                                             @Param("to") String to,
+                                             @Param("wordPrefix") String wordPrefix,
+                                             @Param("afterId") UUID afterId,
+                                             @Param("limit") int limit);
+
+    // A bare substring has no word-start trigrams and can match a large share
+    // of the tenant, so this is the only rank that sorts many candidates; it
+    // only runs for pages the first two ranks cannot fill.
+    @Query(value = """
+            SELECT e.id AS id, 2 AS rank FROM employees e
+            WHERE e.tenant_id = :tenantId AND e.deleted = FALSE
+              AND e.search_text LIKE :contains
+              AND NOT (substr(e.search_text, 1, 100) ~>=~ :from AND substr(e.search_text, 1, 100) ~<~ :to)
+              AND e.search_text NOT LIKE :wordPrefix
+              AND e.id > :afterId
+            ORDER BY e.id
+            LIMIT :limit""", nativeQuery = true)
+    List<EmployeeSearchHit> searchContains(@Param("tenantId") String tenantId,
+                                           @Param("contains") String contains,
+                                           @Param("from") String from,
+                                           @Param("to") String to,
+                                           @Param("wordPrefix") String wordPrefix,
+                                           @Param("afterId") UUID afterId,
+                                           @Param("limit") int limit);
 }
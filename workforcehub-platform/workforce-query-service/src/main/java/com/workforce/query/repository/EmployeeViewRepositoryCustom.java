@@ -0,0 +1,12 @@
+package com.workforce.query.repository;
+
+import com.workforce.query.domain.EmployeeView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EmployeeViewRepositoryCustom {
+
+    /** Like {@code findAll(spec, pageable)} but fetches one extra row to detect a next page instead of running a COUNT. */
+    Slice<EmployeeView> findSlice(Specification<EmployeeView> spec, Pageable pageable);
+}
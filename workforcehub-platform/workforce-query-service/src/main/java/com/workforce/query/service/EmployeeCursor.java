@@ -0,0 +1,40 @@
+package com.workforce.query.service;
+
+import com.workforce.query.domain.EmployeeView;
+import com.workforce.query.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after an employee in (created_at, id) order, serialised as an
+ * opaque URL-safe token. Clients must not rely on its contents.
+ */
+record EmployeeCursor(Instant createdAt, UUID id) {
+
+    static EmployeeCursor after(EmployeeView employee) {
+        return new EmployeeCursor(employee.getCreatedAt(), employee.getId());
+    }
+
+    static EmployeeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new EmployeeCursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
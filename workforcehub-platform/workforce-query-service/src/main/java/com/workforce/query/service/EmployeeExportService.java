@@ -0,0 +1,173 @@
+package com.workforce.query.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workforce.query.config.ExportProperties;
+import com.workforce.query.domain.EmployeeView;
+import com.workforce.query.exception.ExportLimitExceededException;
+import com.workforce.query.repository.EmployeeExportRepository;
+import com.workforce.query.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Writes a tenant's whole directory to the response as it is read, one row
+ * at a time, so heap use does not grow with the headcount.
+ *
+ * Columns go from the JDBC row straight to the output without building an
+ * entity or an {@link com.workforce.query.dto.response.EmployeeResponse}.
+ * Field names match EmployeeResponse, and the CSV header uses spellings the
+ * upload service accepts, so an export can be uploaded again unchanged.
+ *
+ * An export keeps a pooled connection for as long as the client takes to
+ * download it, so at most query.export.max-concurrent run at once; the rest
+ * are turned away with a 429 rather than starving ordinary queries of
+ * connections.
+ */
+@Slf4j
+@Service
+public class EmployeeExportService {
+
+    private static final String[] COLUMNS = {
+            "id", "uploadJobId", "firstName", "lastName", "email", "department",
+            "jobTitle", "hireDate", "status", "createdAt"
+    };
+
+    private final EmployeeExportRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+    private final Semaphore slots;
+
+    public EmployeeExportService(EmployeeExportRepository repository, ObjectMapper objectMapper,
+                                 ExportProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.slots = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    /**
+     * Validates the request and returns the body that streams it. The tenant
+     * is read here, on the request thread; the body runs later on an async one.
+     * An export slot is taken here too and given back when the body finishes.
+     */
+    public StreamingResponseBody export(String status, ExportFormat format) {
+        String tenantId = TenantContext.getTenantId();
+        EmployeeView.EmployeeStatus only = EmployeeQueryService.parseStatus(status);
+        if (!slots.tryAcquire()) {
+            throw new ExportLimitExceededException(properties.getMaxConcurrent(), properties.getRetryAfter());
+        }
+        return out -> {
+            try {
+                long started = System.nanoTime();
+                long rows = switch (format) {
+                    case CSV -> writeCsv(tenantId, only, out);
+                    case NDJSON -> writeNdjson(tenantId, only, out);
+                };
+                log.info("Exported {} employee(s) for tenant {} as {} in {} ms",
+                        rows, tenantId, format, (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                slots.release();
+            }
+        };
+    }
+
+    private long writeCsv(String tenantId, EmployeeView.EmployeeStatus status, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), properties.getBufferSize());
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        long[] rows = {0};
+        forEach(tenantId, status, rs -> {
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writeCsvField(writer, column(rs, i));
+            }
+            writer.write("\r\n");
+            rows[0]++;
+        });
+        writer.flush();
+        return rows[0];
+    }
+
+    private long writeNdjson(String tenantId, EmployeeView.EmployeeStatus status, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), properties.getBufferSize());
+        long[] rows = {0};
+        // Closing the generator flushes it; the response stream itself is left to the container
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)) {
+            forEach(tenantId, status, rs -> {
+                json.writeStartObject();
+                for (int i = 1; i <= COLUMNS.length; i++) {
+                    json.writeStringField(COLUMNS[i - 1], column(rs, i));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                rows[0]++;
+            });
+        }
+        return rows[0];
+    }
+
+    /** Column {@code i} of the export query as text; timestamps in ISO-8601 like the JSON API. */
+    private static String column(ResultSet rs, int i) throws SQLException {
+        if (i == COLUMNS.length) {
+            Timestamp createdAt = rs.getTimestamp(i);
+            return createdAt != null ? createdAt.toInstant().toString() : null;
+        }
+        return rs.getString(i);
+    }
+
+    /** RFC 4180: quote a field only when it holds the delimiter, a quote or a line break. */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void forEach(String tenantId, EmployeeView.EmployeeStatus status, RowWriter rowWriter) throws IOException {
+        try {
+            repository.forEach(tenantId, status, rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the transaction has been rolled back and the cursor closed
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws IOException, SQLException;
+    }
+}
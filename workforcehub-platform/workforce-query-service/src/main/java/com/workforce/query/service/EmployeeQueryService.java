@@ -1,30 +1,66 @@
 package com.workforce.query.service;
 
+import com.workforce.query.cache.BatchCache;
 import com.workforce.query.config.CacheConfig;
 import com.workforce.query.domain.EmployeeView;
+import com.workforce.query.dto.request.EmployeeFilter;
+import com.workforce.query.dto.response.CursorPage;
+import com.workforce.query.dto.response.EmployeeBatchResponse;
 import com.workforce.query.dto.response.EmployeeResponse;
 import com.workforce.query.exception.EmployeeNotFoundException;
+import com.workforce.query.exception.InvalidBatchRequestException;
+import com.workforce.query.exception.InvalidSearchQueryException;
+import com.workforce.query.exception.InvalidStatusFilterException;
 import com.workforce.query.mapper.EmployeeMapper;
+import com.workforce.query.repository.EmployeeSearchHit;
+import com.workforce.query.repository.EmployeeSpecifications;
 import com.workforce.query.repository.EmployeeViewRepository;
 import com.workforce.query.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmployeeQueryService {
 
+    private static final int MAX_SCROLL_SIZE = 500;
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MIN_SEARCH_LENGTH = 3;
+    // The key length of idx_employees_search_prefix
+    private static final int MAX_SEARCH_LENGTH = 100;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LIKE_SPECIAL = Pattern.compile("[\\\\%_]");
+
     private final EmployeeViewRepository repository;
     private final EmployeeMapper mapper;
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redis;
 
     @Transactional(readOnly = true)
     @Cacheable(value = CacheConfig.EMPLOYEE_CACHE, key = "#root.target.getTenantId() + ':' + #id")
@@ -34,16 +70,243 @@ public class EmployeeQueryService {
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
     }
 
+    /**
+     * Looks up many employees in two round trips instead of one
+     * {@link #getById} per id. All cache keys are read at once: from the
+     * local tier, and the rest with one Redis MGET. The misses are then
+     * loaded with a single {@code id = ANY(?)} query and written back to the
+     * cache in one pipeline. Entries are shared with {@link #getById}.
+     */
+    public EmployeeBatchResponse getByIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidBatchRequestException("ids must not be empty");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchRequestException("At most " + MAX_BATCH_SIZE + " ids per request, got " + ids.size());
+        }
+        String tenantId = TenantContext.getTenantId();
+        Map<UUID, String> keys = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            if (id == null) {
+                throw new InvalidBatchRequestException("ids must not contain null");
+            }
+            keys.put(id, cacheKey(tenantId, id));
+        }
+
+        BatchCache cache = BatchCache.of(cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE), redis);
+        Map<String, Object> cached = cache != null ? cache.getAll(keys.values()) : Map.of();
+
+        Map<UUID, EmployeeResponse> found = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        keys.forEach((id, key) -> {
+            if (cached.get(key) instanceof EmployeeResponse response) {
+                found.put(id, response);
+            } else {
+                misses.add(id);
+            }
+        });
+
+        int fromCache = found.size();
+        if (!misses.isEmpty()) {
+            Map<String, EmployeeResponse> loaded = new HashMap<>();
+            for (EmployeeView employee : repository.findAllLiveByIds(tenantId, misses.toArray(UUID[]::new))) {
+                EmployeeResponse response = mapper.toResponse(employee);
+                found.put(employee.getId(), response);
+                loaded.put(keys.get(employee.getId()), response);
+            }
+            if (cache != null && !loaded.isEmpty()) {
+                cache.putAll(loaded);
+            }
+        }
+        log.debug("Batch get of {} employee(s): {} from cache, {} from the database",
+                keys.size(), fromCache, found.size() - fromCache);
+
+        return EmployeeBatchResponse.builder()
+                .employees(keys.keySet().stream().map(found::get).filter(Objects::nonNull).toList())
+                .notFound(keys.keySet().stream().filter(id -> !found.containsKey(id)).toList())
+                .build();
+    }
+
+    /**
+     * Drops the given employees from every cache tier, on this instance and
+     * the others, after processing-service changed or deleted them.
+     */
+    public void evictCached(String tenantId, Collection<UUID> ids) {
+        List<String> keys = ids.stream().map(id -> cacheKey(tenantId, id)).toList();
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        BatchCache batch = BatchCache.of(cache, redis);
+        if (batch != null) {
+            batch.evictAll(keys);
+        } else if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    // Same key as getById's @Cacheable
+    private static String cacheKey(String tenantId, UUID id) {
+        return tenantId + ":" + id;
+    }
+
+    /**
+     * Offset page in the caller's sort order, narrowed by any combination of
+     * the filter's fields. With {@code includeTotal} false the result is a
+     * {@link Slice} and no COUNT query runs.
+     */
+    @Transactional(readOnly = true)
+    public Slice<EmployeeResponse> getAll(EmployeeFilter filter, Pageable pageable, boolean includeTotal) {
+        Specification<EmployeeView> spec = toSpecification(TenantContext.getTenantId(), filter);
+        Slice<EmployeeView> page = includeTotal
+                ? repository.findAll(spec, pageable)
+                : repository.findSlice(spec, pageable);
+        return page.map(mapper::toResponse);
+    }
+
+    /**
+     * Keyset page in (createdAt, id) order, starting after {@code cursor} or at
+     * the beginning when it is null. Each page is an index range scan from the
+     * cursor, so its cost does not grow with how far the client has scrolled.
+     */
     @Transactional(readOnly = true)
-    public Page<EmployeeResponse> getAll(String status, Pageable pageable) {
+    public CursorPage<EmployeeResponse> scroll(String status, String cursor, int size, boolean includeTotal) {
         String tenantId = TenantContext.getTenantId();
-        if (status != null && !status.isBlank()) {
-            EmployeeView.EmployeeStatus employeeStatus = EmployeeView.EmployeeStatus.valueOf(status.toUpperCase());
-            return repository.findAllByTenantIdAndStatusAndDeletedFalse(tenantId, employeeStatus, pageable)
-                    .map(mapper::toResponse);
+        EmployeeView.EmployeeStatus employeeStatus = parseStatus(status);
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        // One extra row tells us whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<EmployeeView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = employeeStatus != null
+                    ? repository.findAllByTenantIdAndStatusAndDeletedFalseOrderByCreatedAtAscIdAsc(tenantId, employeeStatus, limit)
+                    : repository.findAllByTenantIdAndDeletedFalseOrderByCreatedAtAscIdAsc(tenantId, limit);
+        } else {
+            EmployeeCursor after = EmployeeCursor.decode(cursor);
+            rows = employeeStatus != null
+                    ? repository.findPageAfter(tenantId, employeeStatus, after.createdAt(), after.id(), limit)
+                    : repository.findPageAfter(tenantId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<EmployeeView> content = hasNext ? rows.subList(0, pageSize) : rows;
+        Long total = null;
+        if (includeTotal) {
+            total = employeeStatus != null
+                    ? repository.countByTenantIdAndStatusAndDeletedFalse(tenantId, employeeStatus)
+                    : repository.countByTenantIdAndDeletedFalse(tenantId);
+        }
+        return CursorPage.<EmployeeResponse>builder()
+                .content(content.stream().map(mapper::toResponse).toList())
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? EmployeeCursor.after(content.get(content.size() - 1)).encode() : null)
+                .totalElements(total)
+                .build();
+    }
+
+    /**
+     * Employees whose name, email or job title contains {@code query}, best
+     * matches first (see {@link EmployeeViewRepository#searchPrefix}), keyset paged
+     * like {@link #scroll}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeResponse> search(String query, String cursor, int size) {
+        String term = query == null ? "" : WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        // Trigrams need three characters; a shorter pattern would scan the whole index
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            throw new InvalidSearchQueryException("Search query must be at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        if (term.length() > MAX_SEARCH_LENGTH) {
+            throw new InvalidSearchQueryException("Search query must be at most " + MAX_SEARCH_LENGTH + " characters");
+        }
+        String escaped = LIKE_SPECIAL.matcher(term).replaceAll("\\\\$0");
+        String prefixEnd = prefixUpperBound(term);
+        String wordPrefix = "% " + escaped + "%";
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        SearchCursor after = cursor == null || cursor.isBlank() ? SearchCursor.START : SearchCursor.decode(cursor);
+
+        // Best rank first; a lower rank is only queried when the ones before it cannot fill the page
+        String tenantId = TenantContext.getTenantId();
+        List<EmployeeSearchHit> hits = new ArrayList<>(pageSize + 1);
+        for (int rank = Math.max(after.rank(), 0); rank <= 2 && hits.size() <= pageSize; rank++) {
+            UUID afterId = rank == after.rank() ? after.id() : SearchCursor.START.id();
+            int limit = pageSize + 1 - hits.size();
+            hits.addAll(switch (rank) {
+                case 0 -> repository.searchPrefix(tenantId, term, prefixEnd, afterId, limit);
+                case 1 -> repository.searchWordPrefix(tenantId, term, prefixEnd, wordPrefix, afterId, limit);
+                default -> repository.searchContains(tenantId, "%" + escaped + "%", term, prefixEnd, wordPrefix,
+                        afterId, limit);
+            });
+        }
+        boolean hasNext = hits.size() > pageSize;
+        if (hasNext) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        UUID[] ids = hits.stream().map(EmployeeSearchHit::getId).toArray(UUID[]::new);
+        Map<UUID, EmployeeView> byId = repository.findAllLiveByIds(tenantId, ids).stream()
+                .collect(Collectors.toMap(EmployeeView::getId, Function.identity()));
+        List<EmployeeResponse> content = hits.stream()
+                .map(hit -> byId.get(hit.getId()))
+                .filter(Objects::nonNull)   // soft-deleted after the search query ran
+                .map(mapper::toResponse)
+                .toList();
+        EmployeeSearchHit last = hits.isEmpty() ? null : hits.get(hits.size() - 1);
+        return CursorPage.<EmployeeResponse>builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new SearchCursor(last.getRank(), last.getId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * The least string above every string starting with {@code term}, in code
+     * point order (which is UTF-8 byte order): {@code term} with its last code
+     * point incremented.
+     */
+    private static String prefixUpperBound(String term) {
+        int last = term.offsetByCodePoints(term.length(), -1);
+        int next = term.codePointAt(last) + 1;
+        if (next >= Character.MIN_SURROGATE && next <= Character.MAX_SURROGATE) {
+            next = Character.MAX_SURROGATE + 1;
+        }
+        return term.substring(0, last) + Character.toString(next);
+    }
+
+    private static Specification<EmployeeView> toSpecification(String tenantId, EmployeeFilter filter) {
+        Specification<EmployeeView> spec = EmployeeSpecifications.activeIn(tenantId);
+        EmployeeView.EmployeeStatus status = parseStatus(filter.getStatus());
+        if (status != null) {
+            spec = spec.and(EmployeeSpecifications.hasStatus(status));
+        }
+        if (filter.getDepartment() != null && !filter.getDepartment().isBlank()) {
+            spec = spec.and(EmployeeSpecifications.inDepartment(filter.getDepartment().strip()));
+        }
+        if (filter.getJobTitle() != null && !filter.getJobTitle().isBlank()) {
+            spec = spec.and(EmployeeSpecifications.hasJobTitle(filter.getJobTitle().strip()));
+        }
+        if (filter.getHiredFrom() != null) {
+            spec = spec.and(EmployeeSpecifications.hiredOnOrAfter(filter.getHiredFrom()));
+        }
+        if (filter.getHiredTo() != null) {
+            spec = spec.and(EmployeeSpecifications.hiredOnOrBefore(filter.getHiredTo()));
+        }
+        if (filter.getUploadJobId() != null) {
+            spec = spec.and(EmployeeSpecifications.fromUploadJob(filter.getUploadJobId()));
+        }
+        return spec;
+    }
+
+    /** The status filter of a request, or null when absent; shared with the export and stats endpoints. */
+    static EmployeeView.EmployeeStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return EmployeeView.EmployeeStatus.valueOf(status.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStatusFilterException(status);
         }
-        return repository.findAllByTenantIdAndDeletedFalse(tenantId, pageable)
-                .map(mapper::toResponse);
     }
 
     // Used by SpEL in @Cacheable key — keeps cache keys tenant-scoped
@@ -0,0 +1,65 @@
+package com.workforce.query.service;
+
+import com.workforce.query.domain.EmployeeView;
+import com.workforce.query.dto.response.EmployeeStatsResponse;
+import com.workforce.query.repository.EmployeeStatsRepository;
+import com.workforce.query.repository.EmployeeStatsRepository.HeadcountCell;
+import com.workforce.query.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Headcount breakdowns for dashboards, computed from the per-tenant rollup in
+ * one query instead of paging through every employee.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeStatsService {
+
+    private final EmployeeStatsRepository repository;
+
+    /** Breakdowns of the tenant's live employees, optionally only those with {@code status}. */
+    public EmployeeStatsResponse getStats(String status) {
+        EmployeeView.EmployeeStatus parsed = EmployeeQueryService.parseStatus(status);
+        String only = parsed != null ? parsed.name() : null;
+        List<HeadcountCell> cells = repository.headcount(TenantContext.getTenantId()).stream()
+                .filter(cell -> only == null || only.equals(cell.status()))
+                .toList();
+
+        Comparator<EmployeeStatsResponse.Bucket> largestFirst =
+                Comparator.comparingLong(EmployeeStatsResponse.Bucket::getCount).reversed();
+        Comparator<EmployeeStatsResponse.Bucket> chronological =
+                Comparator.comparing(EmployeeStatsResponse.Bucket::getKey, Comparator.nullsLast(Comparator.naturalOrder()));
+        return EmployeeStatsResponse.builder()
+                .total(cells.stream().mapToLong(HeadcountCell::headcount).sum())
+                .byDepartment(buckets(cells, HeadcountCell::department, largestFirst))
+                .byStatus(buckets(cells, HeadcountCell::status, largestFirst))
+                .byHireMonth(buckets(cells,
+                        cell -> cell.hireMonth() != null ? YearMonth.from(cell.hireMonth()).toString() : null,
+                        chronological))
+                .build();
+    }
+
+    private static List<EmployeeStatsResponse.Bucket> buckets(List<HeadcountCell> cells,
+                                                              Function<HeadcountCell, String> key,
+                                                              Comparator<EmployeeStatsResponse.Bucket> order) {
+        // HashMap rather than groupingBy: a null key (no department, no hire date) is a real bucket
+        Map<String, Long> counts = new HashMap<>();
+        for (HeadcountCell cell : cells) {
+            counts.merge(key.apply(cell), cell.headcount(), Long::sum);
+        }
+        return counts.entrySet().stream()
+                .filter(e -> !Objects.equals(e.getValue(), 0L))
+                .map(e -> new EmployeeStatsResponse.Bucket(e.getKey(), e.getValue()))
+                .sorted(order)
+                .toList();
+    }
+}
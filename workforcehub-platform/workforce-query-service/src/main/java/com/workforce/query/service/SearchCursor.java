@@ -0,0 +1,35 @@
+package com.workforce.query.service;
+
+import com.workforce.query.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after a search hit in (rank, id) order, serialised as an opaque
+ * URL-safe token. {@link #START} sorts before every hit.
+ */
+record SearchCursor(int rank, UUID id) {
+
+    static final SearchCursor START = new SearchCursor(-1, new UUID(0, 0));
+
+    static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new SearchCursor(Integer.parseInt(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,175 @@
+package com.workforce.query.cache;
+
+import com.workforce.query.config.NearCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Two instances sharing one remote cache, with the invalidation channel
+ * delivered synchronously to every subscribed manager in place of Redis
+ * pub/sub.
+ */
+class TwoLevelCacheTest {
+
+    private static final String CACHE = "employees";
+
+    private final CountingCache remote = new CountingCache();
+    private final List<TwoLevelCacheManager> subscribers = new ArrayList<>();
+    private final List<String> published = new ArrayList<>();
+
+    private TwoLevelCache first;
+    private TwoLevelCache second;
+
+    @BeforeEach
+    void setUp() {
+        first = (TwoLevelCache) newInstance().getCache(CACHE);
+        second = (TwoLevelCache) newInstance().getCache(CACHE);
+    }
+
+    @Test
+    void evictionOnOneInstanceDropsTheLocalCopyOnTheOthers() {
+        first.put("t:1", "v1");
+        assertThat(second.get("t:1", String.class)).isEqualTo("v1");
+
+        // Redis changes behind the second instance's back; its local tier still answers
+        remote.delegate.put("t:1", "v2");
+        assertThat(second.get("t:1", String.class)).isEqualTo("v1");
+
+        first.evict("t:1");
+
+        assertThat(remote.delegate.get("t:1")).isNull();
+        assertThat(second.get("t:1")).isNull();
+    }
+
+    @Test
+    void readThatRacesAnInvalidationIsNotKeptLocally() {
+        remote.delegate.put("t:1", "old");
+        // A peer evicts while this instance is still reading Redis
+        remote.duringNextGet = () -> first.evict("t:1");
+
+        assertThat(second.get("t:1", String.class)).isEqualTo("old");
+        assertThat(second.get("t:1")).as("the racing read must not have filled the local tier").isNull();
+        assertThat(remote.gets.get()).isEqualTo(2);
+    }
+
+    @Test
+    void readWithoutARacingInvalidationIsServedLocallyAfterwards() {
+        remote.delegate.put("t:1", "v1");
+
+        second.get("t:1");
+        second.get("t:1");
+
+        assertThat(remote.gets.get()).isEqualTo(1);
+    }
+
+    @Test
+    void batchEvictionClearsRemoteAndEveryLocalTierWithOneMessage() {
+        first.putAll(Map.of("t:1", "a", "t:2", "b", "t:3", "c"));
+        second.getAll(List.of("t:1", "t:2", "t:3"));
+        published.clear();
+
+        first.evictAll(List.of("t:1", "t:2"));
+
+        assertThat(published).hasSize(1);
+        assertThat(remote.delegate.get("t:1")).isNull();
+        assertThat(second.getAll(List.of("t:1", "t:2", "t:3"))).containsOnlyKeys("t:3");
+    }
+
+    @Test
+    void clearWithoutKeysEmptiesTheOtherLocalTiers() {
+        first.put("t:1", "v1");
+        second.get("t:1");
+        remote.delegate.put("t:1", "v2");
+
+        first.clear();
+
+        assertThat(second.get("t:1")).isNull();
+    }
+
+    private TwoLevelCacheManager newInstance() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            String body = invocation.getArgument(1);
+            published.add(body);
+            for (TwoLevelCacheManager subscriber : subscribers) {
+                subscriber.onMessage(new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8),
+                        body.getBytes(StandardCharsets.UTF_8)), null);
+            }
+            return 1L;
+        }).when(redis).convertAndSend(anyString(), anyString());
+
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(new SingleCacheManager(remote), redis,
+                new NearCacheProperties(), new SimpleMeterRegistry());
+        subscribers.add(manager);
+        return manager;
+    }
+
+    /** A remote tier that counts reads and can run an action in the middle of one. */
+    private static final class CountingCache extends ConcurrentMapCache {
+
+        private final ConcurrentMapCache delegate = new ConcurrentMapCache(CACHE, false);
+        private final AtomicInteger gets = new AtomicInteger();
+        private Runnable duringNextGet;
+
+        CountingCache() {
+            super(CACHE, false);
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            gets.incrementAndGet();
+            ValueWrapper value = delegate.get(key);
+            if (duringNextGet != null) {
+                Runnable action = duringNextGet;
+                duringNextGet = null;
+                action.run();
+            }
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+    }
+
+    private record SingleCacheManager(Cache cache) implements CacheManager {
+        @Override
+        public Cache getCache(String name) {
+            return CACHE.equals(name) ? cache : null;
+        }
+
+        @Override
+        public Collection<String> getCacheNames() {
+            return List.of(CACHE);
+        }
+    }
+}
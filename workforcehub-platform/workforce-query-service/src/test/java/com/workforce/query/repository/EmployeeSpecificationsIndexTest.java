@@ -0,0 +1,211 @@
+package com.workforce.query.repository;
+
+import com.workforce.query.domain.EmployeeView;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static com.workforce.query.repository.EmployeeSpecifications.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs every supported filter combination, and each rank of the directory
+ * search, through Hibernate against Postgres 16 and checks the plan of each
+ * generated statement with
+ * {@code EXPLAIN (GENERIC_PLAN)} — the plan a prepared statement settles on
+ * after the driver's first few executions, where bound values are unknown.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.workforce.query.repository.EmployeeSpecificationsIndexTest$Capture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EmployeeSpecificationsIndexTest {
+
+    private static final String TENANT = "tenant-7";
+    private static final UUID UPLOAD_JOB = UUID.nameUUIDFromBytes("job-7".getBytes());
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EmployeeViewRepository repository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("../db/init.sql")));
+            statement.execute(seedSql());
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void clearCapture() {
+        Capture.STATEMENTS.clear();
+    }
+
+    static Stream<Arguments> filters() {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2021, 6, 30);
+        return Stream.of(
+                Arguments.of("tenant only", activeIn(TENANT), "idx_employees_tenant_created"),
+                Arguments.of("status", activeIn(TENANT).and(hasStatus(EmployeeView.EmployeeStatus.PENDING)),
+                        "idx_employees_tenant_status"),
+                Arguments.of("department", activeIn(TENANT).and(inDepartment("dept-3")), "idx_employees_tenant_dept"),
+                Arguments.of("status and department", activeIn(TENANT)
+                        .and(hasStatus(EmployeeView.EmployeeStatus.PENDING)).and(inDepartment("dept-3")),
+                        "idx_employees_tenant_(status|dept)"),
+                Arguments.of("job title", activeIn(TENANT).and(hasJobTitle("title-4")), "idx_employees_tenant_created"),
+                Arguments.of("hire date range", activeIn(TENANT).and(hiredOnOrAfter(from)).and(hiredOnOrBefore(to)),
+                        "idx_employees_tenant_created"),
+                Arguments.of("upload job", activeIn(TENANT).and(fromUploadJob(UPLOAD_JOB)), "idx_employees_upload_job_id"),
+                Arguments.of("all filters", activeIn(TENANT)
+                        .and(hasStatus(EmployeeView.EmployeeStatus.ACTIVE)).and(inDepartment("dept-3"))
+                        .and(hasJobTitle("title-4")).and(hiredOnOrAfter(from)).and(hiredOnOrBefore(to))
+                        .and(fromUploadJob(UPLOAD_JOB)),
+                        "idx_employees_(tenant_status|tenant_dept|upload_job_id)"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    void listingQueriesUseAPartialTenantIndex(String name, Specification<EmployeeView> spec, String expectedIndex)
+            throws SQLException {
+        repository.findAll(spec, PageRequest.of(0, 20, Sort.by("createdAt")));
+        repository.findSlice(spec, PageRequest.of(3, 20, Sort.by("createdAt")));
+
+        // page, slice and (when the first page is full) count
+        List<String> statements = Capture.STATEMENTS.stream().filter(sql -> sql.contains("from employees")).toList();
+        assertThat(statements).hasSizeGreaterThanOrEqualTo(2);
+        for (String sql : statements) {
+            String plan = explainGeneric(sql);
+            // Any tenant index serves a COUNT; row queries also need the one that matches the sort
+            String expected = sql.startsWith("select count") ? "on idx_employees_" : expectedIndex;
+            assertThat(plan).as("plan for %s:%n%s", sql, plan)
+                    .doesNotContain("Seq Scan")
+                    .containsPattern(expected);
+        }
+    }
+
+    @Test
+    void eachSearchRankUsesItsOwnIndex() throws SQLException {
+        UUID start = new UUID(0, 0);
+        repository.searchPrefix(TENANT, "first12", "first13", start, 21);
+        repository.searchWordPrefix(TENANT, "last12", "last13", "% last12%", start, 21);
+        repository.searchContains(TENANT, "%st12%", "st12", "st13", "% st12%", start, 21);
+
+        List<String> statements = Capture.STATEMENTS.stream().filter(sql -> sql.contains("search_text")).toList();
+        assertThat(statements).hasSize(3);
+        List<String> expected = List.of("idx_employees_search_prefix", "idx_employees_search\\b",
+                "idx_employees_search\\b");
+        for (int i = 0; i < 3; i++) {
+            String plan = explainGeneric(statements.get(i));
+            assertThat(plan).as("plan for %s:%n%s", statements.get(i), plan)
+                    .doesNotContain("Seq Scan")
+                    .containsPattern(expected.get(i));
+        }
+    }
+
+    private static String explainGeneric(String sql) throws SQLException {
+        // The simple query protocol sends $n placeholders through untouched
+        try (Connection connection = postgres.getPostgresDatabase(Map.of("preferQueryMode", "simple")).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numbered(sql))) {
+            StringBuilder plan = new StringBuilder();
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    /** EXPLAIN (GENERIC_PLAN) takes $n placeholders rather than JDBC's ?. */
+    private static String numbered(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                out.append('$').append(++n);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * 60 tenants of 1,000 employees across 12 departments, 10 job titles and
+     * 200 upload jobs; a tenth of them soft-deleted.
+     */
+    private static String seedSql() {
+        return """
+                INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status)
+                SELECT CASE WHEN j = 7 THEN '%s'::uuid ELSE gen_random_uuid() END,
+                       'tenant-' || (j %% 60), 'upload-' || j || '.csv', 'CSV', 'COMPLETED'
+                FROM generate_series(0, 199) j;
+
+                INSERT INTO employees (tenant_id, upload_job_id, first_name, last_name, email,
+                                       department, job_title, hire_date, status, created_at, deleted)
+                SELECT 'tenant-' || (g %% 60),
+                       (SELECT id FROM upload_jobs ORDER BY original_filename OFFSET (g / 60 %% 200) LIMIT 1),
+                       'First' || g, 'Last' || g, 'user' || g || '@example.com',
+                       'dept-' || (g / 60 %% 12), 'title-' || (g / 7 %% 10),
+                       DATE '2015-01-01' + (g * 37 %% 3650),
+                       (ARRAY['ACTIVE', 'ACTIVE', 'ACTIVE', 'INACTIVE', 'PENDING'])[g / 13 %% 5 + 1],
+                       TIMESTAMPTZ '2024-01-01' + g * INTERVAL '1 minute',
+                       g / 11 %% 10 = 0
+                FROM generate_series(1, 60000) g;
+
+                ANALYZE;
+                """.formatted(UPLOAD_JOB);
+    }
+
+    public static class Capture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.workforce.query.service;
+
+import com.workforce.query.exception.InvalidCursorException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmployeeCursorTest {
+
+    @Test
+    void roundTripsKeepingSubMillisecondPrecision() {
+        EmployeeCursor cursor = new EmployeeCursor(Instant.parse("2024-03-01T10:15:30.123456Z"), UUID.randomUUID());
+
+        assertThat(EmployeeCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor!", "bm8tc2VwYXJhdG9y", "", "2024-03-01T10:15:30Z|not-a-uuid", "yesterday|%s"})
+    void malformedTokensAreInvalidCursors(String raw) {
+        String token = raw.contains("|") || raw.isEmpty()
+                ? Base64.getUrlEncoder().encodeToString(raw.formatted(UUID.randomUUID()).getBytes(StandardCharsets.UTF_8))
+                : raw;
+
+        assertThatThrownBy(() -> EmployeeCursor.decode(token)).isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.workforce.query.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workforce.query.config.ExportProperties;
+import com.workforce.query.exception.ExportLimitExceededException;
+import com.workforce.query.exception.GlobalExceptionHandler;
+import com.workforce.query.repository.EmployeeExportRepository;
+import com.workforce.query.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+class EmployeeExportServiceTest {
+
+    private final EmployeeExportRepository repository = Mockito.mock(EmployeeExportRepository.class);
+    private EmployeeExportService service;
+
+    @BeforeEach
+    void setUp() {
+        ExportProperties properties = new ExportProperties();
+        properties.setMaxConcurrent(1);
+        properties.setRetryAfter(Duration.ofSeconds(15));
+        service = new EmployeeExportService(repository, new ObjectMapper(), properties);
+        TenantContext.setTenantId("tenant-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void rejectsExportsBeyondTheLimitUntilOneFinishes() throws Exception {
+        StreamingResponseBody first = service.export(null, ExportFormat.CSV);
+
+        assertThatThrownBy(() -> service.export(null, ExportFormat.NDJSON))
+                .isInstanceOf(ExportLimitExceededException.class)
+                .satisfies(e -> assertThat(((ExportLimitExceededException) e).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(15)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        first.writeTo(out);
+        assertThat(out.toString()).startsWith("id,uploadJobId,firstName");
+
+        assertThat(service.export(null, ExportFormat.CSV)).isNotNull();
+    }
+
+    @Test
+    void failedExportGivesItsSlotBack() throws Exception {
+        Mockito.doThrow(new IllegalStateException("connection lost"))
+                .when(repository).forEach(anyString(), any(), any());
+
+        StreamingResponseBody failing = service.export("active", ExportFormat.CSV);
+        assertThatThrownBy(() -> failing.writeTo(new ByteArrayOutputStream())).hasMessage("connection lost");
+
+        assertThat(service.export(null, ExportFormat.CSV)).isNotNull();
+    }
+
+    @Test
+    void rejectedExportIsA429WithRetryAfter() {
+        var response = new GlobalExceptionHandler().handleExportLimit(
+                new ExportLimitExceededException(4, Duration.ofSeconds(30)),
+                new MockHttpServletRequest("GET", "/api/v1/employees/export"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+    }
+}
@@ -0,0 +1,252 @@
+package com.workforce.query.service;
+
+import com.workforce.query.controller.EmployeeController;
+import com.workforce.query.dto.response.CursorPage;
+import com.workforce.query.dto.response.EmployeeResponse;
+import com.workforce.query.exception.GlobalExceptionHandler;
+import com.workforce.query.exception.InvalidCursorException;
+import com.workforce.query.exception.InvalidSearchQueryException;
+import com.workforce.query.exception.InvalidStatusFilterException;
+import com.workforce.query.mapper.EmployeeMapper;
+import com.workforce.query.tenant.TenantContext;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the keyset-paged queries of {@link EmployeeQueryService} against
+ * Postgres 16 with the real schema.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmployeeQueryService.class, EmployeeMapper.class})
+class EmployeeQueryServiceTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EmployeeQueryService service;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    @MockBean
+    private StringRedisTemplate redis;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(Path.of("../db/init.sql")));
+            statement.execute(seedSql());
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void tenant() {
+        TenantContext.setTenantId("tenant-1");
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void scrollPagesAcrossCreatedAtTiesWithoutGapsOrRepeats() {
+        TenantContext.setTenantId("tenant-3");
+        List<EmployeeResponse> expected = service.scroll(null, null, 100, false).getContent().stream()
+                // Postgres orders uuids as unsigned bytes, i.e. by their hex text; UUID.compareTo is signed
+                .sorted(Comparator.comparing(EmployeeResponse::getCreatedAt).thenComparing(e -> e.getId().toString()))
+                .toList();
+        assertThat(expected).hasSize(6);
+
+        List<EmployeeResponse> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EmployeeResponse> page = service.scroll(null, cursor, 2, false);
+            assertThat(page.getContent()).hasSize(2);
+            paged.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void scrollReportsTheLastPageExactlyAtTheBoundary() {
+        TenantContext.setTenantId("tenant-3");
+
+        CursorPage<EmployeeResponse> whole = service.scroll(null, null, 6, true);
+        assertThat(whole.isHasNext()).isFalse();
+        assertThat(whole.getNextCursor()).isNull();
+        assertThat(whole.getTotalElements()).isEqualTo(6);
+
+        CursorPage<EmployeeResponse> first = service.scroll(null, null, 5, false);
+        assertThat(first.isHasNext()).isTrue();
+        CursorPage<EmployeeResponse> last = service.scroll(null, first.getNextCursor(), 5, false);
+        assertThat(last.getContent()).hasSize(1).doesNotContainAnyElementsOf(first.getContent());
+        assertThat(last.isHasNext()).isFalse();
+    }
+
+    @Test
+    void scrollFiltersByStatusAfterTheCursor() {
+        TenantContext.setTenantId("tenant-3");
+
+        CursorPage<EmployeeResponse> first = service.scroll("pending", null, 1, false);
+        CursorPage<EmployeeResponse> second = service.scroll("PENDING", first.getNextCursor(), 1, false);
+
+        assertThat(first.getContent()).extracting(EmployeeResponse::getFirstName).containsExactly("Tie2");
+        assertThat(second.getContent()).extracting(EmployeeResponse::getFirstName).containsExactly("Late2");
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void malformedCursorOrStatusIsRejected() {
+        assertThatThrownBy(() -> service.scroll(null, "garbage", 10, false)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> service.scroll("RETIRED", null, 10, false))
+                .isInstanceOf(InvalidStatusFilterException.class);
+    }
+
+    @Test
+    void malformedCursorOrStatusIsA400NotA500() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new EmployeeController(service,
+                        Mockito.mock(EmployeeStatsService.class), Mockito.mock(EmployeeExportService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mvc.perform(get("/api/v1/employees/scroll").param("cursor", "garbage")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/v1/employees/scroll").param("status", "RETIRED")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/v1/employees/scroll")).andExpect(status().isOk());
+    }
+
+    @Test
+    void searchRanksNameStartBeforeWordStartBeforeSubstring() {
+        CursorPage<EmployeeResponse> page = service.search("  ANN ", null, 10);
+
+        List<String> names = page.getContent().stream().map(e -> e.getFirstName() + " " + e.getLastName()).toList();
+        assertThat(names).hasSize(4);
+        assertThat(names.subList(0, 2)).containsExactly("Anna Smith", "Joe Annand");
+        assertThat(names.subList(2, 4)).containsExactlyInAnyOrder("Hannah Lee", "Dianne Ortiz");
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchPagesFollowTheRankedOrderWithoutGapsOrRepeats() {
+        List<EmployeeResponse> all = service.search("ann", null, 10).getContent();
+
+        List<EmployeeResponse> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EmployeeResponse> page = service.search("ann", cursor, 1);
+            assertThat(page.getContent()).hasSize(1);
+            paged.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(all);
+    }
+
+    @Test
+    void searchSkipsOtherTenantsAndDeletedEmployees() {
+        assertThat(service.search("ann", null, 10).getContent())
+                .extracting(EmployeeResponse::getFirstName)
+                .doesNotContain("Anne", "Annabel");
+    }
+
+    @Test
+    void searchTreatsLikeWildcardsLiterally() {
+        assertThat(service.search("a%n", null, 10).getContent()).isEmpty();
+    }
+
+    @Test
+    void searchMatchesTheEmailLocalPartButNotTheDomain() {
+        assertThat(service.search("example", null, 10).getContent()).isEmpty();
+        assertThat(service.search("d.ortiz", null, 10).getContent())
+                .extracting(EmployeeResponse::getFirstName)
+                .containsExactly("Dianne");
+    }
+
+    @Test
+    void searchMatchesMultiWordQueriesAcrossWords() {
+        // "anna smith a.smith engineer": "smith a" starts at the second word
+        assertThat(service.search("smith a", null, 10).getContent())
+                .extracting(EmployeeResponse::getFirstName)
+                .containsExactly("Anna");
+    }
+
+    @Test
+    void searchRejectsOverlongQueries() {
+        assertThatThrownBy(() -> service.search("a".repeat(101), null, 10))
+                .isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    private static String seedSql() {
+        return """
+                INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status)
+                VALUES ('00000000-0000-0000-0000-000000000001', 'tenant-1', 'a.csv', 'CSV', 'COMPLETED'),
+                       ('00000000-0000-0000-0000-000000000002', 'tenant-2', 'b.csv', 'CSV', 'COMPLETED');
+
+                INSERT INTO employees (tenant_id, upload_job_id, first_name, last_name, email, job_title, status, deleted)
+                VALUES ('tenant-1', '00000000-0000-0000-0000-000000000001', 'Anna', 'Smith', 'a.smith@example.com', 'Engineer', 'ACTIVE', FALSE),
+                       ('tenant-1', '00000000-0000-0000-0000-000000000001', 'Joe', 'Annand', 'joe@example.com', 'Analyst', 'ACTIVE', FALSE),
+                       ('tenant-1', '00000000-0000-0000-0000-000000000001', 'Hannah', 'Lee', 'h.lee@example.com', NULL, 'ACTIVE', FALSE),
+                       ('tenant-1', '00000000-0000-0000-0000-000000000001', 'Dianne', 'Ortiz', 'd.ortiz@example.com', 'Designer', 'PENDING', FALSE),
+                       ('tenant-1', '00000000-0000-0000-0000-000000000001', 'Annabel', 'Gray', 'a.gray@example.com', NULL, 'ACTIVE', TRUE),
+                       ('tenant-1', '00000000-0000-0000-0000-000000000001', 'Mark', 'Stone', 'm.stone@example.com', 'Manager', 'ACTIVE', FALSE),
+                       ('tenant-2', '00000000-0000-0000-0000-000000000002', 'Anne', 'Baker', 'a.baker@example.com', NULL, 'ACTIVE', FALSE);
+
+                -- Keyset paging: three rows share one created_at, two share another
+                INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status)
+                VALUES ('00000000-0000-0000-0000-000000000003', 'tenant-3', 'c.csv', 'CSV', 'COMPLETED');
+                INSERT INTO employees (tenant_id, upload_job_id, first_name, last_name, email, status, created_at, deleted)
+                VALUES ('tenant-3', '00000000-0000-0000-0000-000000000003', 'Early', 'One', 'e1@example.com', 'ACTIVE', TIMESTAMPTZ '2024-01-01 09:00', FALSE),
+                       ('tenant-3', '00000000-0000-0000-0000-000000000003', 'Tie1', 'Two', 't1@example.com', 'ACTIVE', TIMESTAMPTZ '2024-01-01 10:00', FALSE),
+                       ('tenant-3', '00000000-0000-0000-0000-000000000003', 'Tie2', 'Three', 't2@example.com', 'PENDING', TIMESTAMPTZ '2024-01-01 10:00', FALSE),
+                       ('tenant-3', '00000000-0000-0000-0000-000000000003', 'Tie3', 'Four', 't3@example.com', 'ACTIVE', TIMESTAMPTZ '2024-01-01 10:00', FALSE),
+                       ('tenant-3', '00000000-0000-0000-0000-000000000003', 'Gone', 'Five', 'g@example.com', 'PENDING', TIMESTAMPTZ '2024-01-01 10:00', TRUE),
+                       ('tenant-3', '00000000-0000-0000-0000-000000000003', 'Late1', 'Six', 'l1@example.com', 'ACTIVE', TIMESTAMPTZ '2024-01-01 11:00', FALSE),
+                       ('tenant-3', '00000000-0000-0000-0000-000000000003', 'Late2', 'Seven', 'l2@example.com', 'PENDING', TIMESTAMPTZ '2024-01-01 11:00', FALSE);
+                """;
+    }
+}
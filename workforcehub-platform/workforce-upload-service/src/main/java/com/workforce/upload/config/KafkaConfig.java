@@ -0,0 +1,22 @@
+package com.workforce.upload.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Status updates are idempotent, so a failed poll is simply retried with
+     * backoff (e.g. while the database is unavailable) before being logged and skipped.
+     */
+    @Bean
+    public CommonErrorHandler errorHandler() {
+        ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxElapsedTime(60000L);
+        return new DefaultErrorHandler(backOff);
+    }
+}
@@ -0,0 +1,11 @@
+package com.workforce.upload.config;
+
+/**
+ * Topic names shared with workforce-processing-service.
+ */
+public final class KafkaTopics {
+    public static final String EMPLOYEE_UPLOAD_REQUESTED = "employee.upload.requested";
+    public static final String EMPLOYEE_UPLOAD_PROCESSED = "employee.upload.processed";
+
+    private KafkaTopics() {}
+}
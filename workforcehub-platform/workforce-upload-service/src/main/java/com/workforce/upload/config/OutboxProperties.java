@@ -0,0 +1,33 @@
+package com.workforce.upload.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "outbox.relay")
+public class OutboxProperties {
+    /** Delay between relay polls when the previous poll found work or not */
+    private Duration pollInterval = Duration.ofMillis(500);
+    /** Max outbox rows claimed and sent per poll */
+    private int batchSize = 200;
+    /** How long a poll waits for broker acks; unacknowledged sends are retried after the claim lease, not failed */
+    private Duration sendTimeout = Duration.ofSeconds(15);
+    /**
+     * How long claimed rows are hidden from other polls while their sends are
+     * in flight. Keep it above the producer's delivery.timeout.ms so a send the
+     * producer is still retrying is not sent a second time.
+     */
+    private Duration claimLease = Duration.ofMinutes(3);
+    /** Attempts before the event is abandoned and its upload job marked FAILED */
+    private int maxAttempts = 10;
+    /** Base delay for exponential retry backoff */
+    private Duration retryBackoff = Duration.ofSeconds(2);
+    /** Published rows older than this are deleted */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,19 @@
+package com.workforce.upload.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "upload.preflight")
+public class PreflightProperties {
+    /** Scan CSV uploads while they are hashed: count rows, check the header and validate a sample */
+    private boolean enabled = true;
+    /** Number of leading data rows validated */
+    private int sampleRows = 100;
+    /** Reject the upload when more than this share of the sampled rows is invalid */
+    private double maxInvalidRatio = 0.5;
+}
@@ -0,0 +1,44 @@
+package com.workforce.upload.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Where uploaded files are spooled. workforce-processing-service reads the
+ * same storage, so both services must be configured identically.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage")
+public class StorageProperties {
+
+    /** Backend: "local" (filesystem) or "s3" (any S3-compatible endpoint, e.g. MinIO) */
+    private String type = "local";
+
+    private Local local = new Local();
+
+    private S3 s3 = new S3();
+
+    @Getter
+    @Setter
+    public static class Local {
+        /** Root directory that storage keys are resolved against */
+        private String baseDir = "/tmp/workforcehub/uploads";
+    }
+
+    @Getter
+    @Setter
+    public static class S3 {
+        /** Endpoint override for S3-compatible stores; leave empty for AWS */
+        private String endpoint;
+        private String region = "us-east-1";
+        private String bucket = "workforcehub-uploads";
+        private String accessKey;
+        private String secretKey;
+        /** MinIO and most local stand-ins require path-style addressing */
+        private boolean pathStyleAccess = true;
+    }
+}
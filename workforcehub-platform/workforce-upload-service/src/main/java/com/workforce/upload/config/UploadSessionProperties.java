@@ -0,0 +1,28 @@
+package com.workforce.upload.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "upload.sessions")
+public class UploadSessionProperties {
+    /** Largest file accepted through a chunked upload session */
+    private DataSize maxFileSize = DataSize.ofGigabytes(10);
+    /** Chunk size used when the client does not ask for one */
+    private DataSize defaultChunkSize = DataSize.ofMegabytes(16);
+    /** Lower bound for requested chunk sizes; S3 rejects multipart parts under 5MB */
+    private DataSize minChunkSize = DataSize.ofMegabytes(5);
+    /** Upper bound for requested chunk sizes (one chunk is one request body) */
+    private DataSize maxChunkSize = DataSize.ofMegabytes(64);
+    /** Open sessions not completed within this window are aborted and their chunks discarded */
+    private Duration ttl = Duration.ofHours(24);
+    /** A session COMPLETING for longer than this is assumed abandoned by a crashed instance and may be resumed */
+    private Duration completingTimeout = Duration.ofMinutes(15);
+}
@@ -1,6 +1,9 @@
 package com.workforce.upload.controller;
 
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.domain.UploadJobRow;
 import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadJobRowResponse;
 import com.workforce.upload.service.UploadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +22,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -34,7 +38,8 @@ public class UploadController {
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
             summary = "Upload a workforce file",
-            description = "Accepts CSV or Excel files for async workforce data processing",
+            description = "Accepts CSV or Excel files for async workforce data processing. "
+                    + "Re-uploading the file that was last processed reuses its result (duplicateOf is set) unless force=true",
             responses = {
                     @ApiResponse(responseCode = "202", description = "Upload accepted"),
                     @ApiResponse(responseCode = "400", description = "Invalid file", content = @Content(schema = @Schema(implementation = com.workforce.upload.dto.response.ErrorResponse.class)))
@@ -42,9 +47,13 @@ public class UploadController {
     )
     public ResponseEntity<UploadJobResponse> upload(
             @RequestPart("file") MultipartFile file,
-            @RequestPart(value = "description", required = false) String description) {
+            @RequestPart(value = "description", required = false) String description,
+            @Parameter(description = "DIFF treats the file as a full snapshot: employees missing from it are removed")
+            @RequestParam(defaultValue = "UPSERT") UploadJob.IngestMode mode,
+            @Parameter(description = "Process the file even if it is identical to the previous upload")
+            @RequestParam(defaultValue = "false") boolean force) {
         log.info("Received upload request for file: {}", file.getOriginalFilename());
-        UploadJobResponse response = uploadService.initiateUpload(file, description);
+        UploadJobResponse response = uploadService.initiateUpload(file, description, mode, force);
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
@@ -55,10 +64,31 @@ public class UploadController {
         return ResponseEntity.ok(uploadService.getUploadJob(id));
     }
 
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream upload job progress",
+            description = "Server-Sent Events: the current state, then a \"progress\" event per update until the job finishes")
+    public ResponseEntity<SseEmitter> streamUploadEvents(
+            @Parameter(description = "Upload job UUID") @PathVariable UUID id) {
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(uploadService.streamUploadEvents(id));
+    }
+
     @GetMapping
     @Operation(summary = "List all upload jobs with pagination")
     public ResponseEntity<Page<UploadJobResponse>> getAllUploadJobs(
             @ParameterObject @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
         return ResponseEntity.ok(uploadService.getAllUploadJobs(pageable));
     }
+
+    @GetMapping("/{id}/rows")
+    @Operation(summary = "List per-row outcomes of an upload job",
+            description = "Defaults to failed rows, which include the original values and the validation error")
+    public ResponseEntity<Page<UploadJobRowResponse>> getUploadJobRows(
+            @Parameter(description = "Upload job UUID") @PathVariable UUID id,
+            @RequestParam(defaultValue = "FAILED") UploadJobRow.RowStatus status,
+            @ParameterObject @PageableDefault(size = 50, sort = "rowNumber") Pageable pageable) {
+        return ResponseEntity.ok(uploadService.getUploadJobRows(id, status, pageable));
+    }
 }
@@ -0,0 +1,79 @@
+package com.workforce.upload.controller;
+
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.dto.request.CreateUploadSessionRequest;
+import com.workforce.upload.dto.response.UploadChunkResponse;
+import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadSessionResponse;
+import com.workforce.upload.service.UploadSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/uploads/sessions")
+@RequiredArgsConstructor
+@Tag(name = "Upload sessions", description = "Resumable chunked uploads for large workforce files")
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping
+    @Operation(summary = "Start a resumable upload",
+            description = "Returns the session id, chunk size and chunk count the file must be sent in")
+    public ResponseEntity<UploadSessionResponse> createSession(@RequestBody CreateUploadSessionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.createSession(request));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get an upload session", description = "Lists the chunks already received, for resuming")
+    public ResponseEntity<UploadSessionResponse> getSession(
+            @Parameter(description = "Upload session UUID") @PathVariable UUID id) {
+        return ResponseEntity.ok(uploadSessionService.getSession(id));
+    }
+
+    @PutMapping(value = "/{id}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload one chunk",
+            description = "Raw chunk bytes. Chunks may be sent in parallel and in any order; re-sending a chunk replaces it")
+    public ResponseEntity<UploadChunkResponse> uploadChunk(
+            @Parameter(description = "Upload session UUID") @PathVariable UUID id,
+            @Parameter(description = "Zero-based chunk index") @PathVariable int index,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) long contentLength,
+            @Parameter(description = "Optional, e.g. bytes 0-16777215/734003200; checked against the index")
+            @RequestHeader(value = HttpHeaders.CONTENT_RANGE, required = false) String contentRange,
+            @Parameter(description = "Hex SHA-256 of the chunk bytes")
+            @RequestHeader("X-Chunk-SHA256") String sha256,
+            InputStream body) {
+        return ResponseEntity.ok(uploadSessionService.uploadChunk(id, index, contentLength, contentRange, sha256, body));
+    }
+
+    @PostMapping("/{id}/complete")
+    @Operation(summary = "Complete an upload session",
+            description = "Assembles the file once every chunk is received and queues it for processing. "
+                    + "Re-uploading the file that was last processed reuses its result (duplicateOf is set) unless force=true")
+    public ResponseEntity<UploadJobResponse> completeSession(
+            @Parameter(description = "Upload session UUID") @PathVariable UUID id,
+            @Parameter(description = "DIFF treats the file as a full snapshot: employees missing from it are removed")
+            @RequestParam(defaultValue = "UPSERT") UploadJob.IngestMode mode,
+            @Parameter(description = "Process the file even if it is identical to the previous upload")
+            @RequestParam(defaultValue = "false") boolean force) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(uploadSessionService.completeSession(id, mode, force));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Abort an upload session")
+    public ResponseEntity<Void> abortSession(
+            @Parameter(description = "Upload session UUID") @PathVariable UUID id) {
+        uploadSessionService.abortSession(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -6,12 +6,15 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.UUID;
 
 @Entity
 @Table(name = "upload_jobs", indexes = {
         @Index(name = "idx_upload_jobs_tenant_id", columnList = "tenant_id"),
-        @Index(name = "idx_upload_jobs_tenant_status", columnList = "tenant_id, status")
+        @Index(name = "idx_upload_jobs_tenant_status", columnList = "tenant_id, status"),
+        @Index(name = "idx_upload_jobs_tenant_content", columnList = "tenant_id, content_hash, created_at")
 })
 @Getter
 @Setter
@@ -39,6 +42,9 @@ public class UploadJob {
     @Enumerated(EnumType.STRING)
     private UploadStatus status;
 
+    @Column(name = "storage_key", length = 512)
+    private String storageKey;
+
     @Column(name = "total_rows")
     private Integer totalRows;
 
@@ -48,6 +54,29 @@ public class UploadJob {
     @Column(name = "failed_rows")
     private Integer failedRows;
 
+    /**
+     * SHA-256 of the uploaded bytes (hex). For chunked uploads it is taken over
+     * the chunk digests and prefixed with the chunk size, see UploadContentHash.
+     */
+    @Column(name = "content_hash", length = 100)
+    private String contentHash;
+
+    /** Set when this job reused the result of an identical earlier upload instead of being processed */
+    @Column(name = "duplicate_of")
+    private UUID duplicateOf;
+
+    /** DIFF treats the file as a full snapshot: unchanged rows are skipped and absent employees removed */
+    @Column(name = "ingest_mode", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private IngestMode ingestMode = IngestMode.UPSERT;
+
+    /** Compressed CSV uploads are stored as sent and decompressed while processing */
+    @Column(name = "compression", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Compression compression = Compression.NONE;
+
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
@@ -66,7 +95,67 @@ public class UploadJob {
     private boolean deleted = false;
 
     public enum FileType {
-        CSV, EXCEL
+        CSV, EXCEL;
+
+        /**
+         * Maps an upload's file name and declared content type to a file type, or
+         * null if it is not supported. A compressed upload must be a CSV; browsers
+         * report the archive's content type for it, so its name decides.
+         */
+        public static FileType of(String filename, String contentType) {
+            if (Compression.fromFilename(filename) != Compression.NONE) {
+                String name = filename.toLowerCase(Locale.ROOT);
+                return name.endsWith(".csv.gz") || name.endsWith(".csv.zst") ? CSV : null;
+            }
+            return fromContentType(contentType);
+        }
+
+        /** Maps an upload's declared content type to a file type, or null if it is not supported. */
+        public static FileType fromContentType(String contentType) {
+            if (contentType == null) {
+                return null;
+            }
+            return switch (contentType) {
+                case "text/csv" -> CSV;
+                case "application/vnd.ms-excel",
+                     "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" -> EXCEL;
+                default -> null;
+            };
+        }
+    }
+
+    public enum Compression {
+        NONE(new byte[0]),
+        GZIP(new byte[] {0x1f, (byte) 0x8b}),
+        ZSTD(new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd});
+
+        private final byte[] magic;
+
+        Compression(byte[] magic) {
+            this.magic = magic;
+        }
+
+        public static Compression fromFilename(String filename) {
+            String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".gz")) {
+                return GZIP;
+            }
+            return name.endsWith(".zst") ? ZSTD : NONE;
+        }
+
+        /** Number of leading bytes {@link #matches} needs. */
+        public int magicLength() {
+            return magic.length;
+        }
+
+        /** Whether a file starting with {@code head} is in this format. */
+        public boolean matches(byte[] head) {
+            return head.length >= magic.length && Arrays.equals(magic, 0, magic.length, head, 0, magic.length);
+        }
+    }
+
+    public enum IngestMode {
+        UPSERT, DIFF
     }
 
     public enum UploadStatus {
@@ -0,0 +1,62 @@
+package com.workforce.upload.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome of one source row of an upload. Written by workforce-processing-service;
+ * read-only here.
+ */
+@Entity
+@Table(name = "upload_job_rows")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadJobRow {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(name = "upload_job_id", nullable = false)
+    private UUID uploadJobId;
+
+    @Column(name = "row_number", nullable = false)
+    private Integer rowNumber;
+
+    @Column(name = "row_status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RowStatus rowStatus;
+
+    /** Source values keyed by header; captured for failed rows only */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "raw_data")
+    private Map<String, String> rawData;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "employee_id")
+    private UUID employeeId;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public enum RowStatus {
+        PENDING, PROCESSED, FAILED, SKIPPED
+    }
+}
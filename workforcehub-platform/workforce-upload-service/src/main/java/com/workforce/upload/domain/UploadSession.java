@@ -0,0 +1,90 @@
+package com.workforce.upload.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A resumable upload in progress. Chunks are written straight to storage as
+ * they arrive (see {@link UploadSessionChunk}); completing the session
+ * assembles the object and creates the {@link UploadJob}.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(name = "original_filename", nullable = false)
+    private String originalFilename;
+
+    @Column(name = "file_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private UploadJob.FileType fileType;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private int totalChunks;
+
+    @Column(name = "storage_key", nullable = false, length = 512)
+    private String storageKey;
+
+    /** Backend handle for the in-progress object, e.g. the S3 multipart upload id */
+    @Column(name = "storage_upload_id", length = 1024)
+    private String storageUploadId;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SessionStatus status;
+
+    @Column(name = "upload_job_id")
+    private UUID uploadJobId;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /** Byte offset of chunk {@code index} within the file. */
+    public long offsetOf(int index) {
+        return (long) index * chunkSize;
+    }
+
+    /** Exact size chunk {@code index} must have; only the last chunk may be short. */
+    public long sizeOf(int index) {
+        return Math.min(chunkSize, fileSize - offsetOf(index));
+    }
+
+    public enum SessionStatus {
+        OPEN, COMPLETING, COMPLETED, ABORTED, EXPIRED
+    }
+}
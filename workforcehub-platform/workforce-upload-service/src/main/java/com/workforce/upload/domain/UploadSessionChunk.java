@@ -0,0 +1,50 @@
+package com.workforce.upload.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/** A chunk of an {@link UploadSession} that has been written to storage and verified. */
+@Entity
+@Table(name = "upload_session_chunks")
+@IdClass(UploadSessionChunk.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionChunk {
+
+    @Id
+    @Column(name = "session_id", nullable = false)
+    private UUID sessionId;
+
+    @Id
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    /** Lower-case hex SHA-256 of the chunk bytes */
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    /** Storage-side part identifier needed to assemble the object (S3 ETag); empty for local storage */
+    @Column(name = "part_etag", nullable = false)
+    private String partEtag;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID sessionId;
+        private int chunkIndex;
+    }
+}
@@ -0,0 +1,33 @@
+package com.workforce.upload.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Wire contract published by workforce-processing-service
+ * (com.workforce.processing.dto.response.EmployeeUploadProcessedEvent).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeUploadProcessedEvent {
+    private String eventId;
+    private String eventVersion;
+    private UUID uploadJobId;
+    /** Null on progress events when the row count is not known yet */
+    private Integer totalRows;
+    private int processedRows;
+    private int failedRows;
+    /** PROCESSING for progress events; COMPLETED, PARTIAL or FAILED for the final result */
+    private String status;
+    /** Why the job FAILED; null otherwise */
+    private String errorMessage;
+    private Instant startedAt;
+    private Instant processedAt;
+}
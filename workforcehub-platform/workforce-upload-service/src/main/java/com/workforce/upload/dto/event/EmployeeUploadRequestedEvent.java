@@ -0,0 +1,32 @@
+package com.workforce.upload.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Wire contract consumed by workforce-processing-service
+ * (com.workforce.processing.dto.request.EmployeeUploadRequestedEvent).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeUploadRequestedEvent {
+    private String eventId;
+    private String eventVersion;
+    private UUID uploadJobId;
+    private String tenantId;
+    private String storageKey;
+    private String originalFilename;
+    private String fileType;
+    private String ingestMode;
+    private String compression;
+    private Integer totalRows;
+    private Instant requestedAt;
+    private String requestedBy;
+}
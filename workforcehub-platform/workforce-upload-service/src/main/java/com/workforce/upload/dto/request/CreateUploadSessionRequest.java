@@ -0,0 +1,14 @@
+package com.workforce.upload.dto.request;
+
+import lombok.Data;
+
+@Data
+public class CreateUploadSessionRequest {
+    private String filename;
+    /** text/csv or one of the Excel content types; ignored for .csv.gz and .csv.zst files */
+    private String contentType;
+    /** Total file size in bytes */
+    private Long fileSize;
+    /** Optional chunk size in bytes; the server default is used when absent */
+    private Integer chunkSize;
+}
@@ -0,0 +1,12 @@
+package com.workforce.upload.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UploadChunkResponse {
+    private int chunkIndex;
+    private long size;
+    private String sha256;
+}
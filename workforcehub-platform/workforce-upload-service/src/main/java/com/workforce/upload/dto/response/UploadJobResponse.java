@@ -13,11 +13,15 @@ public class UploadJobResponse {
     private UUID id;
     private String originalFilename;
     private UploadJob.FileType fileType;
+    private UploadJob.Compression compression;
     private UploadJob.UploadStatus status;
+    private UploadJob.IngestMode ingestMode;
     private Integer totalRows;
     private Integer processedRows;
     private Integer failedRows;
     private String errorMessage;
+    /** Set when the upload was identical to this earlier job and its result was reused */
+    private UUID duplicateOf;
     private Instant createdAt;
     private Instant updatedAt;
 }
@@ -0,0 +1,16 @@
+package com.workforce.upload.dto.response;
+
+import com.workforce.upload.domain.UploadJobRow;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class UploadJobRowResponse {
+    private Integer rowNumber;
+    private UploadJobRow.RowStatus rowStatus;
+    private Map<String, String> rawData;
+    private String errorMessage;
+}
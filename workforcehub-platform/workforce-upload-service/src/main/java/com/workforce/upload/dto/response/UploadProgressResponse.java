@@ -0,0 +1,22 @@
+package com.workforce.upload.dto.response;
+
+import com.workforce.upload.domain.UploadJob;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Payload of the "progress" events on GET /api/v1/uploads/{id}/events. */
+@Data
+@Builder
+public class UploadProgressResponse {
+    private UUID uploadJobId;
+    private UploadJob.UploadStatus status;
+    private Integer totalRows;
+    private Integer processedRows;
+    private Integer failedRows;
+    /** Estimated seconds until completion; null when the total is unknown or nothing is done yet */
+    private Long etaSeconds;
+    private Instant updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.workforce.upload.dto.response;
+
+import com.workforce.upload.domain.UploadSession;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class UploadSessionResponse {
+    private UUID id;
+    private String originalFilename;
+    private UploadSession.SessionStatus status;
+    private long fileSize;
+    private int chunkSize;
+    private int totalChunks;
+    /** Indexes of chunks already stored and verified; a resuming client sends only the rest */
+    private List<Integer> receivedChunks;
+    /** Set once the session has been completed */
+    private UUID uploadJobId;
+    private Instant expiresAt;
+}
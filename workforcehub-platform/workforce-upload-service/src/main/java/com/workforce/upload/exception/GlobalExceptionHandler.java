@@ -26,6 +26,20 @@ public class GlobalExceptionHandler {
                 .body(buildError(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI()));
     }
 
+    @ExceptionHandler(UploadSessionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSessionNotFound(UploadSessionNotFoundException ex, HttpServletRequest request) {
+        log.warn("Upload session not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(buildError(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI()));
+    }
+
+    @ExceptionHandler(UploadSessionStateException.class)
+    public ResponseEntity<ErrorResponse> handleSessionState(UploadSessionStateException ex, HttpServletRequest request) {
+        log.warn("Upload session conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(buildError(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI()));
+    }
+
     @ExceptionHandler(InvalidFileException.class)
     public ResponseEntity<ErrorResponse> handleInvalidFile(InvalidFileException ex, HttpServletRequest request) {
         log.warn("Invalid file: {}", ex.getMessage());
@@ -37,7 +51,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleFileSizeExceeded(MaxUploadSizeExceededException ex, HttpServletRequest request) {
         log.warn("File size exceeded: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
-                .body(buildError(HttpStatus.PAYLOAD_TOO_LARGE, "File size exceeds the maximum allowed limit of 50MB", request.getRequestURI()));
+                .body(buildError(HttpStatus.PAYLOAD_TOO_LARGE, "File size exceeds the maximum allowed limit of 50MB; use an upload session for larger files", request.getRequestURI()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
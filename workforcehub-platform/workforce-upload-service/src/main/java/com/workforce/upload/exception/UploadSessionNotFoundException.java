@@ -0,0 +1,10 @@
+package com.workforce.upload.exception;
+
+import java.util.UUID;
+
+public class UploadSessionNotFoundException extends RuntimeException {
+
+    public UploadSessionNotFoundException(UUID id) {
+        super("Upload session not found with id: " + id);
+    }
+}
@@ -0,0 +1,9 @@
+package com.workforce.upload.exception;
+
+/** The request is valid but not in the session's current state (closed, or chunks missing). */
+public class UploadSessionStateException extends RuntimeException {
+
+    public UploadSessionStateException(String message) {
+        super(message);
+    }
+}
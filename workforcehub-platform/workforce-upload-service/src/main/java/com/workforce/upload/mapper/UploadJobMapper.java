@@ -1,9 +1,15 @@
 package com.workforce.upload.mapper;
 
 import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.domain.UploadJobRow;
+import com.workforce.upload.domain.UploadSession;
 import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadJobRowResponse;
+import com.workforce.upload.dto.response.UploadSessionResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class UploadJobMapper {
 
@@ -12,13 +18,39 @@ public class UploadJobMapper {
                 .id(job.getId())
                 .originalFilename(job.getOriginalFilename())
                 .fileType(job.getFileType())
+                .compression(job.getCompression())
                 .status(job.getStatus())
+                .ingestMode(job.getIngestMode())
                 .totalRows(job.getTotalRows())
                 .processedRows(job.getProcessedRows())
                 .failedRows(job.getFailedRows())
                 .errorMessage(job.getErrorMessage())
+                .duplicateOf(job.getDuplicateOf())
                 .createdAt(job.getCreatedAt())
                 .updatedAt(job.getUpdatedAt())
                 .build();
     }
+
+    public UploadJobRowResponse toRowResponse(UploadJobRow row) {
+        return UploadJobRowResponse.builder()
+                .rowNumber(row.getRowNumber())
+                .rowStatus(row.getRowStatus())
+                .rawData(row.getRawData())
+                .errorMessage(row.getErrorMessage())
+                .build();
+    }
+
+    public UploadSessionResponse toSessionResponse(UploadSession session, List<Integer> receivedChunks) {
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .originalFilename(session.getOriginalFilename())
+                .status(session.getStatus())
+                .fileSize(session.getFileSize())
+                .chunkSize(session.getChunkSize())
+                .totalChunks(session.getTotalChunks())
+                .receivedChunks(receivedChunks)
+                .uploadJobId(session.getUploadJobId())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
 }
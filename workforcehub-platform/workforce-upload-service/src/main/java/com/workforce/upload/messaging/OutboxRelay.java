@@ -0,0 +1,155 @@
+package com.workforce.upload.messaging;
+
+import com.workforce.upload.config.OutboxProperties;
+import com.workforce.upload.domain.OutboxEvent;
+import com.workforce.upload.repository.OutboxEventRepository;
+import com.workforce.upload.repository.UploadJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays outbox rows to Kafka off the request path.
+ *
+ * Each poll claims up to batch-size due rows (FOR UPDATE SKIP LOCKED) in a
+ * short transaction that also moves their next_attempt_at out by claim-lease,
+ * which keeps other relays off them once the row locks are released. The
+ * sends then go out without waiting in between, so the producer can pipeline
+ * them into a few broker requests, and the acks are awaited with no
+ * transaction or connection held. Outcomes are recorded in a second short
+ * transaction.
+ *
+ * A send that is still unacknowledged after send-timeout is not a failure:
+ * the broker may yet accept it. Its row stays claimed and is sent again once
+ * the lease lapses. Delivery is therefore at-least-once, and consumers of
+ * outbox topics must tolerate the same event twice (the processing service
+ * does: it upserts on (tenant_id, email) and resumes a job from its checkpoint).
+ *
+ * Failed sends back off exponentially. After max-attempts the event is marked
+ * FAILED and its upload job moves PENDING → FAILED, so a job is never left
+ * waiting on an event that will not be delivered.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UploadJobRepository uploadJobRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:500ms}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed >= properties.getBatchSize());
+    }
+
+    @Scheduled(cron = "${outbox.relay.cleanup-cron:0 15 3 * * *}")
+    public void purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(Instant.now().minus(properties.getRetention())));
+        log.info("Purged {} published outbox event(s)", deleted);
+    }
+
+    int relayBatch() {
+        Instant leaseUntil = Instant.now().plus(properties.getClaimLease());
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claim(leaseUntil));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload()));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Individual outcomes are inspected below
+        }
+
+        Map<UUID, CompletableFuture<SendResult<String, String>>> finished = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (sends.get(i).isDone()) {
+                finished.put(batch.get(i).getId(), sends.get(i));
+            }
+        }
+        if (!finished.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> recordOutcomes(finished));
+        }
+        if (finished.size() < batch.size()) {
+            log.warn("{} outbox event(s) still unacknowledged after {}; they will be sent again after {}",
+                    batch.size() - finished.size(), properties.getSendTimeout(), leaseUntil);
+        }
+        return batch.size();
+    }
+
+    private List<OutboxEvent> claim(Instant leaseUntil) {
+        List<OutboxEvent> batch = outboxEventRepository.claimDue(Instant.now(), properties.getBatchSize());
+        for (OutboxEvent event : batch) {
+            event.setNextAttemptAt(leaseUntil);
+        }
+        return batch;
+    }
+
+    private void recordOutcomes(Map<UUID, CompletableFuture<SendResult<String, String>>> finished) {
+        int published = 0;
+        Instant now = Instant.now();
+        for (OutboxEvent event : outboxEventRepository.findAllById(finished.keySet())) {
+            if (event.getStatus() != OutboxEvent.OutboxStatus.PENDING) {
+                continue;
+            }
+            CompletableFuture<SendResult<String, String>> send = finished.get(event.getId());
+            if (!send.isCompletedExceptionally()) {
+                event.setStatus(OutboxEvent.OutboxStatus.PUBLISHED);
+                event.setPublishedAt(now);
+                published++;
+            } else {
+                recordFailure(event, send, now);
+            }
+        }
+        log.debug("Outbox relay published {}/{} acknowledged event(s)", published, finished.size());
+    }
+
+    private void recordFailure(OutboxEvent event, CompletableFuture<?> send, Instant now) {
+        String error = send.handle((r, ex) -> String.valueOf(ex)).join();
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error);
+
+        if (event.getAttempts() >= properties.getMaxAttempts()) {
+            event.setStatus(OutboxEvent.OutboxStatus.FAILED);
+            uploadJobRepository.markFailed(event.getAggregateId(),
+                    "Could not dispatch job for processing after " + event.getAttempts() + " attempts");
+            log.error("Outbox event {} for job {} abandoned after {} attempts: {}",
+                    event.getId(), event.getAggregateId(), event.getAttempts(), error);
+            return;
+        }
+
+        long backoffMillis = properties.getRetryBackoff().toMillis() << Math.min(event.getAttempts() - 1, 10);
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMillis)));
+        log.warn("Outbox event {} for job {} failed (attempt {}): {}",
+                event.getId(), event.getAggregateId(), event.getAttempts(), error);
+    }
+}
@@ -0,0 +1,71 @@
+package com.workforce.upload.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workforce.upload.config.KafkaTopics;
+import com.workforce.upload.domain.OutboxEvent;
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.dto.event.EmployeeUploadRequestedEvent;
+import com.workforce.upload.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Records upload events in the outbox. Must join the caller's transaction so
+ * the event commits (or rolls back) together with the UploadJob row.
+ *
+ * Requests are keyed by job id, which spreads jobs across partitions. DIFF
+ * requests are keyed by tenant instead: a DIFF job compares the file with the
+ * tenant's employees as it found them, so two running at once would each
+ * delete or keep rows based on a stale view. Sharing a partition makes the
+ * processing service run one tenant's snapshots strictly one after another.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void uploadRequested(UploadJob job) {
+        EmployeeUploadRequestedEvent event = EmployeeUploadRequestedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventVersion("1.0")
+                .uploadJobId(job.getId())
+                .tenantId(job.getTenantId())
+                .storageKey(job.getStorageKey())
+                .originalFilename(job.getOriginalFilename())
+                .fileType(job.getFileType().name())
+                .ingestMode(job.getIngestMode().name())
+                .compression(job.getCompression().name())
+                .totalRows(job.getTotalRows())
+                .requestedAt(Instant.now())
+                .requestedBy(job.getCreatedBy())
+                .build();
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(job.getId())
+                .tenantId(job.getTenantId())
+                .topic(KafkaTopics.EMPLOYEE_UPLOAD_REQUESTED)
+                .eventKey(job.getIngestMode() == UploadJob.IngestMode.DIFF ? job.getTenantId() : job.getId().toString())
+                .payload(toJson(event))
+                .status(OutboxEvent.OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .build());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise outbox event", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.workforce.upload.messaging;
+
+import com.workforce.upload.config.KafkaTopics;
+import com.workforce.upload.dto.event.EmployeeUploadProcessedEvent;
+import com.workforce.upload.service.UploadProgressBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Feeds processing results to this instance's SSE streams.
+ *
+ * Unlike UploadStatusConsumer, each instance joins its own consumer group
+ * (suffixed with upload.progress.instance-id) so that every instance sees
+ * every event. A new group starts from the latest offset — streams only need
+ * what happens after they connect — and a restarted instance rejoins its
+ * group rather than leaving an orphaned one behind.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadProgressListener {
+
+    private final UploadProgressBroadcaster broadcaster;
+
+    @KafkaListener(
+            topics = KafkaTopics.EMPLOYEE_UPLOAD_PROCESSED,
+            groupId = "${spring.kafka.consumer.group-id}-progress-${upload.progress.instance-id}",
+            properties = "auto.offset.reset:latest"
+    )
+    public void onProgress(List<ConsumerRecord<String, EmployeeUploadProcessedEvent>> records) {
+        Map<UUID, EmployeeUploadProcessedEvent> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, EmployeeUploadProcessedEvent> record : records) {
+            if (record.value() != null) {
+                latest.put(record.value().getUploadJobId(), record.value());
+            }
+        }
+        latest.values().forEach(broadcaster::publish);
+    }
+}
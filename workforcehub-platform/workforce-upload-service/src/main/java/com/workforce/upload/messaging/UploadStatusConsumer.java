@@ -0,0 +1,50 @@
+package com.workforce.upload.messaging;
+
+import com.workforce.upload.config.KafkaTopics;
+import com.workforce.upload.dto.event.EmployeeUploadProcessedEvent;
+import com.workforce.upload.service.UploadJobStatusUpdater;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves upload jobs through their lifecycle from processing-service results.
+ *
+ * Consumes a whole poll at a time and keeps only the latest event per job
+ * (events are keyed by job id, so they arrive in order within a partition),
+ * then applies them in one statement.
+ * Updates are idempotent, so redelivery after a failure is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadStatusConsumer {
+
+    private final UploadJobStatusUpdater statusUpdater;
+
+    @KafkaListener(topics = KafkaTopics.EMPLOYEE_UPLOAD_PROCESSED, groupId = "${spring.kafka.consumer.group-id}")
+    public void onUploadsProcessed(List<ConsumerRecord<String, EmployeeUploadProcessedEvent>> records) {
+        Map<UUID, EmployeeUploadProcessedEvent> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, EmployeeUploadProcessedEvent> record : records) {
+            EmployeeUploadProcessedEvent event = record.value();
+            if (event == null) {
+                log.warn("Skipping unreadable processed event at partition {} offset {}", record.partition(), record.offset());
+                continue;
+            }
+            latest.put(event.getUploadJobId(), event);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        List<UploadJobStatusUpdater.UpdatedJob> updated = statusUpdater.apply(latest.values());
+        log.info("Applied {} processed event(s) to {} upload job(s)", records.size(), updated.size());
+    }
+}
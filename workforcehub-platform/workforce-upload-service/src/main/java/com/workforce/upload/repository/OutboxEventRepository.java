@@ -0,0 +1,33 @@
+package com.workforce.upload.repository;
+
+import com.workforce.upload.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Claims due PENDING rows for this relay instance. SKIP LOCKED lets several
+     * upload-service replicas relay concurrently without double-publishing.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.workforce.upload.domain.OutboxEvent.OutboxStatus.PUBLISHED AND e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
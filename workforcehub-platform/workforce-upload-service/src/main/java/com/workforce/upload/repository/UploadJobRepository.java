@@ -4,8 +4,12 @@ import com.workforce.upload.domain.UploadJob;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +19,24 @@ public interface UploadJobRepository extends JpaRepository<UploadJob, UUID> {
     Optional<UploadJob> findByIdAndTenantIdAndDeletedFalse(UUID id, String tenantId);
 
     Page<UploadJob> findAllByTenantIdAndDeletedFalse(String tenantId, Pageable pageable);
+
+    /** The tenant's latest processed (or in-flight) upload of the same content, ignoring failures and duplicates. */
+    @Query("SELECT j FROM UploadJob j WHERE j.tenantId = :tenantId AND j.contentHash = :contentHash "
+            + "AND j.deleted = false AND j.duplicateOf IS NULL "
+            + "AND j.status <> com.workforce.upload.domain.UploadJob.UploadStatus.FAILED "
+            + "ORDER BY j.createdAt DESC LIMIT 1")
+    Optional<UploadJob> findLatestByContentHash(@Param("tenantId") String tenantId,
+                                                @Param("contentHash") String contentHash);
+
+    /** Whether any other upload was accepted for processing after {@code since}. */
+    @Query("SELECT COUNT(j) > 0 FROM UploadJob j WHERE j.tenantId = :tenantId AND j.createdAt > :since "
+            + "AND j.deleted = false AND j.duplicateOf IS NULL "
+            + "AND j.status <> com.workforce.upload.domain.UploadJob.UploadStatus.FAILED")
+    boolean existsProcessedUploadSince(@Param("tenantId") String tenantId, @Param("since") Instant since);
+
+    @Modifying
+    @Query("UPDATE UploadJob j SET j.status = com.workforce.upload.domain.UploadJob.UploadStatus.FAILED, "
+            + "j.errorMessage = :message WHERE j.id = :id "
+            + "AND j.status = com.workforce.upload.domain.UploadJob.UploadStatus.PENDING")
+    int markFailed(@Param("id") UUID id, @Param("message") String message);
 }
@@ -0,0 +1,16 @@
+package com.workforce.upload.repository;
+
+import com.workforce.upload.domain.UploadJobRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UploadJobRowRepository extends JpaRepository<UploadJobRow, UUID> {
+
+    Page<UploadJobRow> findAllByUploadJobIdAndTenantIdAndRowStatus(
+            UUID uploadJobId, String tenantId, UploadJobRow.RowStatus rowStatus, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.workforce.upload.repository;
+
+import com.workforce.upload.domain.UploadSessionChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionChunkRepository extends JpaRepository<UploadSessionChunk, UploadSessionChunk.Key> {
+
+    List<UploadSessionChunk> findAllBySessionIdOrderByChunkIndex(UUID sessionId);
+
+    @Query("SELECT c.chunkIndex FROM UploadSessionChunk c WHERE c.sessionId = :sessionId ORDER BY c.chunkIndex")
+    List<Integer> findChunkIndexes(@Param("sessionId") UUID sessionId);
+
+    /**
+     * Records a verified chunk. A re-sent chunk replaces the earlier record.
+     * Nothing is written unless the session is still OPEN, so a chunk that
+     * finishes after completion started cannot change the assembled parts.
+     * Returns the number of rows written (0 or 1).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO upload_session_chunks (session_id, chunk_index, size, sha256, part_etag, received_at)
+            SELECT :sessionId, :chunkIndex, :size, :sha256, :partEtag, NOW()
+            WHERE EXISTS (SELECT 1 FROM upload_sessions WHERE id = :sessionId AND status = 'OPEN')
+            ON CONFLICT (session_id, chunk_index) DO UPDATE
+            SET size = EXCLUDED.size, sha256 = EXCLUDED.sha256,
+                part_etag = EXCLUDED.part_etag, received_at = EXCLUDED.received_at
+            """, nativeQuery = true)
+    int record(@Param("sessionId") UUID sessionId,
+               @Param("chunkIndex") int chunkIndex,
+               @Param("size") long size,
+               @Param("sha256") String sha256,
+               @Param("partEtag") String partEtag);
+
+    @Modifying
+    @Query("DELETE FROM UploadSessionChunk c WHERE c.sessionId = :sessionId")
+    int deleteAllBySessionId(@Param("sessionId") UUID sessionId);
+}
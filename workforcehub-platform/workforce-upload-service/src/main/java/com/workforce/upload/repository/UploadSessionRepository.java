@@ -0,0 +1,58 @@
+package com.workforce.upload.repository;
+
+import com.workforce.upload.domain.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    Optional<UploadSession> findByIdAndTenantId(UUID id, String tenantId);
+
+    /** Serialises completion: concurrent complete calls for one session queue on the row lock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id AND s.tenantId = :tenantId")
+    Optional<UploadSession> findForUpdate(@Param("id") UUID id, @Param("tenantId") String tenantId);
+
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = :to, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id AND s.status = :from")
+    int transition(@Param("id") UUID id,
+                   @Param("from") UploadSession.SessionStatus from,
+                   @Param("to") UploadSession.SessionStatus to);
+
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = com.workforce.upload.domain.UploadSession.SessionStatus.COMPLETED, "
+            + "s.uploadJobId = :jobId, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id")
+    int markCompleted(@Param("id") UUID id, @Param("jobId") UUID jobId);
+
+    /**
+     * Reopens sessions whose completion stalled (the instance running it died
+     * between phases), so they can be completed again or expire normally.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE upload_sessions SET status = 'OPEN', updated_at = NOW()
+            WHERE status = 'COMPLETING' AND updated_at < :stalledBefore
+            """, nativeQuery = true)
+    int reopenStalled(@Param("stalledBefore") Instant stalledBefore);
+
+    /** Claims open sessions past their expiry; SKIP LOCKED lets replicas reap concurrently. */
+    @Query(value = """
+            SELECT * FROM upload_sessions
+            WHERE status = 'OPEN' AND expires_at < :now
+            ORDER BY expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<UploadSession> claimExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,65 @@
+package com.workforce.upload.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Content hashes used to recognise repeated uploads.
+ *
+ * A single-request upload is hashed over its bytes. A chunked upload is
+ * hashed over its (already verified) chunk digests instead, so completing a
+ * multi-GB session never re-reads the file; that hash depends on the chunk
+ * size, which is therefore part of the value.
+ */
+final class UploadContentHash {
+
+    private UploadContentHash() {}
+
+    /** Reads a stream the content hash is being taken over; it need not read to the end. */
+    @FunctionalInterface
+    interface Inspector {
+        void inspect(InputStream in) throws IOException;
+    }
+
+    static String of(MultipartFile file) {
+        return of(file, in -> { });
+    }
+
+    /** Hashes the file while {@code inspector} reads it, so inspecting an upload costs no second read. */
+    static String of(MultipartFile file, Inspector inspector) {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            inspector.inspect(in);
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read uploaded file " + file.getOriginalFilename(), e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String ofChunks(int chunkSize, List<String> chunkSha256s) {
+        MessageDigest digest = sha256();
+        HexFormat hex = HexFormat.of();
+        for (String chunk : chunkSha256s) {
+            digest.update(hex.parseHex(chunk));
+        }
+        return "chunks-" + chunkSize + ":" + hex.formatHex(digest.digest());
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
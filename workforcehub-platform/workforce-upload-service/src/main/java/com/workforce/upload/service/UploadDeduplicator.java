@@ -0,0 +1,62 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.repository.UploadJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Short-circuits re-uploads of content the tenant has already uploaded.
+ *
+ * An upload is a duplicate when the tenant's latest non-failed upload with the
+ * same content hash is also the latest upload it sent for processing — if
+ * anything else was uploaded since, re-applying the file could change
+ * employees, so it is processed normally.
+ *
+ * A duplicate of a finished job gets a new job that is born finished, with the
+ * original's counts and {@code duplicateOf} set: no storage write, no event,
+ * and no rows parsed. A duplicate of a job still in flight resolves to that
+ * job itself. Only an upload with the same ingest mode counts: the same file
+ * as a DIFF snapshot can remove employees its UPSERT run left in place.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadDeduplicator {
+
+    private final UploadJobRepository uploadJobRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<UploadJob> resolve(UploadJob candidate) {
+        Optional<UploadJob> previous = uploadJobRepository
+                .findLatestByContentHash(candidate.getTenantId(), candidate.getContentHash())
+                .filter(job -> job.getIngestMode() == candidate.getIngestMode())
+                .filter(job -> !uploadJobRepository.existsProcessedUploadSince(job.getTenantId(), job.getCreatedAt()));
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+
+        UploadJob original = previous.get();
+        if (original.getStatus() == UploadJob.UploadStatus.PENDING
+                || original.getStatus() == UploadJob.UploadStatus.PROCESSING) {
+            log.info("Upload of {} is identical to in-flight job {}", candidate.getOriginalFilename(), original.getId());
+            return Optional.of(original);
+        }
+
+        candidate.setStatus(original.getStatus());
+        candidate.setStorageKey(original.getStorageKey());
+        candidate.setTotalRows(original.getTotalRows());
+        candidate.setProcessedRows(original.getProcessedRows());
+        candidate.setFailedRows(original.getFailedRows());
+        candidate.setDuplicateOf(original.getId());
+        UploadJob saved = uploadJobRepository.save(candidate);
+        log.info("Upload of {} is identical to job {}; recorded as {} without reprocessing",
+                candidate.getOriginalFilename(), original.getId(), saved.getId());
+        return Optional.of(saved);
+    }
+}
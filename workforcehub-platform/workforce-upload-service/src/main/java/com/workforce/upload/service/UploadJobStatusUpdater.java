@@ -0,0 +1,87 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.dto.event.EmployeeUploadProcessedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Applies processing results to upload_jobs in set-based UPDATEs.
+ *
+ * All events of a poll go into one UPDATE … FROM (VALUES …) statement, which
+ * returns the jobs it touched. Status never moves backwards: a late PROCESSING
+ * progress event cannot overwrite a job that has already COMPLETED, PARTIAL or
+ * FAILED. Terminal statuses share a rank, so a retried FAILED job can still
+ * complete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadJobStatusUpdater {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private static final Set<String> KNOWN_STATUSES = Arrays.stream(UploadJob.UploadStatus.values())
+            .map(Enum::name).collect(Collectors.toUnmodifiableSet());
+
+    private static final String RANK = "CASE %s WHEN 'PENDING' THEN 0 WHEN 'PROCESSING' THEN 1 ELSE 2 END";
+
+    public record UpdatedJob(UUID id, String tenantId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Events must hold at most one entry per job. Returns the jobs actually updated. */
+    public List<UpdatedJob> apply(Collection<EmployeeUploadProcessedEvent> events) {
+        List<EmployeeUploadProcessedEvent> valid = new ArrayList<>(events.size());
+        for (EmployeeUploadProcessedEvent event : events) {
+            if (event.getUploadJobId() == null || !KNOWN_STATUSES.contains(event.getStatus())) {
+                log.warn("Ignoring processed event {} with job {} and status {}",
+                        event.getEventId(), event.getUploadJobId(), event.getStatus());
+                continue;
+            }
+            valid.add(event);
+        }
+
+        List<UpdatedJob> updated = new ArrayList<>(valid.size());
+        for (int from = 0; from < valid.size(); from += MAX_ROWS_PER_STATEMENT) {
+            updated.addAll(update(valid.subList(from, Math.min(valid.size(), from + MAX_ROWS_PER_STATEMENT))));
+        }
+        return updated;
+    }
+
+    private List<UpdatedJob> update(List<EmployeeUploadProcessedEvent> events) {
+        String values = String.join(", ", Collections.nCopies(events.size(), "(?::uuid, ?, ?::int, ?::int, ?::int, ?)"));
+        String sql = """
+                UPDATE upload_jobs j
+                SET status = v.status, total_rows = COALESCE(v.total_rows, j.total_rows),
+                    processed_rows = v.processed_rows, failed_rows = v.failed_rows,
+                    error_message = COALESCE(v.error_message, j.error_message)
+                FROM (VALUES %s) AS v(id, status, total_rows, processed_rows, failed_rows, error_message)
+                WHERE j.id = v.id AND j.deleted = FALSE AND %s <= %s
+                RETURNING j.id, j.tenant_id""".formatted(values, RANK.formatted("j.status"), RANK.formatted("v.status"));
+
+        Object[] args = new Object[events.size() * 6];
+        int i = 0;
+        for (EmployeeUploadProcessedEvent event : events) {
+            args[i++] = event.getUploadJobId().toString();
+            args[i++] = event.getStatus();
+            args[i++] = event.getTotalRows();
+            args[i++] = event.getProcessedRows();
+            args[i++] = event.getFailedRows();
+            args[i++] = event.getErrorMessage();
+        }
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new UpdatedJob(rs.getObject(1, UUID.class), rs.getString(2)), args);
+    }
+}
@@ -0,0 +1,173 @@
+package com.workforce.upload.service;
+
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.workforce.common.csv.CsvFormatException;
+import com.workforce.common.csv.CsvTokenizer;
+import com.workforce.common.csv.EncodingDetector;
+import com.workforce.common.employee.EmployeeField;
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.exception.InvalidFileException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Single pass over an uploaded CSV file that counts its rows, checks the
+ * header against {@link EmployeeField} and validates the first rows.
+ *
+ * Runs on the bytes as they are hashed (see {@link UploadContentHash#of}), so
+ * the check costs no second read. Records come from the same
+ * {@link CsvTokenizer} and {@link EncodingDetector} that
+ * workforce-processing-service's CsvRowReader uses, which makes
+ * {@link #rows()} the number of rows processing will see. Files that reader
+ * would reject outright (unterminated quote, oversized field, too many
+ * columns, missing required column) are rejected here with an
+ * {@link InvalidFileException}.
+ */
+final class UploadPreflight {
+
+    private static final int BUFFER_SIZE       = 64 * 1024;
+    private static final int MAX_PROBLEMS_KEPT = 3;
+
+    private final UploadJob.Compression compression;
+    private final int sampleRows;
+
+    private Map<EmployeeField, Integer> positions;
+    private long rows;
+    private int sampled;
+    private int invalid;
+    private final List<String> problems = new ArrayList<>();
+    private boolean completed;
+
+    UploadPreflight(UploadJob.Compression compression, int sampleRows) {
+        this.compression = compression;
+        this.sampleRows = sampleRows;
+    }
+
+    /** Reads {@code raw} (as stored, possibly compressed) to the end of its content. Does not close it. */
+    void scan(InputStream raw) throws IOException {
+        InputStream unclosable = new FilterInputStream(raw) {
+            @Override
+            public void close() {
+            }
+        };
+        try (CsvTokenizer csv = CsvTokenizer.sniffing(EncodingDetector.newReader(decode(unclosable)))) {
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new InvalidFileException("File is empty — expected a header row");
+            }
+            resolveHeader(header);
+            for (List<String> values = csv.nextNonBlank(); values != null; values = csv.nextNonBlank()) {
+                rows++;
+                if (sampled < sampleRows) {
+                    sampled++;
+                    validate(values, rows);
+                }
+            }
+        } catch (CsvFormatException e) {
+            throw new InvalidFileException(e.getMessage());
+        }
+        if (rows == 0) {
+            throw new InvalidFileException("File has a header row but no data rows");
+        }
+        completed = true;
+    }
+
+    boolean completed() {
+        return completed;
+    }
+
+    /**
+     * Rejects the file when more than {@code maxInvalidRatio} of the sampled
+     * rows are invalid; otherwise returns its row count, or null if it was not
+     * scanned.
+     */
+    Integer checkedRows(double maxInvalidRatio) {
+        if (!completed) {
+            return null;
+        }
+        if (invalid > sampled * maxInvalidRatio) {
+            throw new InvalidFileException(invalid + " of the first " + sampled
+                    + " rows are invalid (" + String.join("; ", problems) + ")");
+        }
+        return Math.toIntExact(rows);
+    }
+
+    /** Data rows in the file, excluding the header and blank lines. */
+    long rows() {
+        return rows;
+    }
+
+    /** Rows validated, at most the configured sample size. */
+    int sampled() {
+        return sampled;
+    }
+
+    /** Sampled rows that would fail validation. */
+    int invalid() {
+        return invalid;
+    }
+
+    /** Descriptions of the first few invalid sampled rows. */
+    List<String> problems() {
+        return problems;
+    }
+
+    private InputStream decode(InputStream in) throws IOException {
+        return switch (compression) {
+            case GZIP -> new GZIPInputStream(in, BUFFER_SIZE);
+            case ZSTD -> new ZstdInputStreamNoFinalizer(in);
+            case NONE -> in;
+        };
+    }
+
+    private void resolveHeader(List<String> header) {
+        positions = new EnumMap<>(EmployeeField.class);
+        for (int i = 0; i < header.size(); i++) {
+            for (EmployeeField candidate : EmployeeField.values()) {
+                if (candidate.matches(header.get(i))) {
+                    if (positions.putIfAbsent(candidate, i) != null) {
+                        throw new InvalidFileException("Duplicate column for " + candidate + ": '" + header.get(i) + "'");
+                    }
+                    break;
+                }
+            }
+        }
+        List<EmployeeField> missing = new ArrayList<>();
+        for (EmployeeField candidate : EmployeeField.values()) {
+            if (candidate.isRequired() && !positions.containsKey(candidate)) {
+                missing.add(candidate);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidFileException("Missing required column(s): " + missing);
+        }
+    }
+
+    private void validate(List<String> values, long rowNumber) {
+        String problem = null;
+        for (Map.Entry<EmployeeField, Integer> column : positions.entrySet()) {
+            String value = column.getValue() < values.size() ? values.get(column.getValue()).strip() : "";
+            if (column.getKey().isRequired() && value.isEmpty()) {
+                problem = column.getKey() + " is required";
+                break;
+            }
+            if (column.getKey() == EmployeeField.EMAIL && !EmployeeField.isValidEmail(value)) {
+                problem = "invalid email '" + value + "'";
+                break;
+            }
+        }
+        if (problem != null) {
+            invalid++;
+            if (problems.size() < MAX_PROBLEMS_KEPT) {
+                problems.add("row " + rowNumber + ": " + problem);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.dto.event.EmployeeUploadProcessedEvent;
+import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadProgressResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Fans progress for upload jobs out to open Server-Sent Event streams on this instance.
+ *
+ * Every instance receives every progress event (see UploadProgressListener),
+ * so a viewer can be connected to any of them. A stream gets the job's
+ * current state on connect, then one "progress" event per update, and is
+ * completed once the job reaches a terminal status. The stream is registered
+ * before that state is read, so an update landing in between is delivered
+ * rather than lost.
+ */
+@Slf4j
+@Component
+public class UploadProgressBroadcaster {
+
+    private static final long STREAM_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final String EVENT_NAME = "progress";
+
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /** {@code currentState} is read after the stream is registered; its exceptions propagate. */
+    public SseEmitter subscribe(UUID jobId, Supplier<UploadJobResponse> currentState) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        subscribers.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        Runnable remove = () -> unsubscribe(jobId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        UploadJobResponse job;
+        try {
+            job = currentState.get();
+        } catch (RuntimeException e) {
+            remove.run();
+            throw e;
+        }
+        UploadProgressResponse snapshot = UploadProgressResponse.builder()
+                .uploadJobId(job.getId())
+                .status(job.getStatus())
+                .totalRows(job.getTotalRows())
+                .processedRows(job.getProcessedRows())
+                .failedRows(job.getFailedRows())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+
+        // A terminal event published meanwhile has already completed the stream; send() then drops it
+        if (!send(emitter, snapshot)) {
+            remove.run();
+        } else if (isTerminal(job.getStatus())) {
+            remove.run();
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publish(EmployeeUploadProcessedEvent event) {
+        Set<SseEmitter> streams = subscribers.get(event.getUploadJobId());
+        if (streams == null) {
+            return;
+        }
+        UploadJob.UploadStatus status;
+        try {
+            status = UploadJob.UploadStatus.valueOf(event.getStatus());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return;
+        }
+
+        UploadProgressResponse progress = UploadProgressResponse.builder()
+                .uploadJobId(event.getUploadJobId())
+                .status(status)
+                .totalRows(event.getTotalRows())
+                .processedRows(event.getProcessedRows())
+                .failedRows(event.getFailedRows())
+                .etaSeconds(status == UploadJob.UploadStatus.PROCESSING ? eta(event) : null)
+                .updatedAt(event.getProcessedAt())
+                .build();
+
+        for (SseEmitter emitter : streams) {
+            if (send(emitter, progress) && isTerminal(status)) {
+                emitter.complete();
+            }
+        }
+        if (isTerminal(status)) {
+            subscribers.remove(event.getUploadJobId());
+        }
+    }
+
+    /** Comment frames keep idle streams open through proxies and surface dead clients. */
+    @Scheduled(fixedRate = 15_000)
+    public void heartbeat() {
+        subscribers.values().forEach(streams -> streams.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    static Long eta(EmployeeUploadProcessedEvent event) {
+        Integer total = event.getTotalRows();
+        int done = event.getProcessedRows() + event.getFailedRows();
+        if (total == null || total <= 0 || done <= 0 || event.getStartedAt() == null || event.getProcessedAt() == null) {
+            return null;
+        }
+        long elapsedMs = Duration.between(event.getStartedAt(), event.getProcessedAt()).toMillis();
+        long remaining = Math.max(0, total - done);
+        return Math.round(elapsedMs / 1000.0 * remaining / done);
+    }
+
+    private boolean send(SseEmitter emitter, UploadProgressResponse progress) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(progress));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping upload event stream for job {}: {}", progress.getUploadJobId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(UUID jobId, SseEmitter emitter) {
+        subscribers.computeIfPresent(jobId, (id, streams) -> {
+            streams.remove(emitter);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private static boolean isTerminal(UploadJob.UploadStatus status) {
+        return status == UploadJob.UploadStatus.COMPLETED
+                || status == UploadJob.UploadStatus.PARTIAL
+                || status == UploadJob.UploadStatus.FAILED;
+    }
+}
@@ -1,17 +1,29 @@
 package com.workforce.upload.service;
 
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.domain.UploadJobRow;
 import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadJobRowResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
 public interface UploadService {
 
-    UploadJobResponse initiateUpload(MultipartFile file, String description);
+    /**
+     * @param mode  DIFF to treat the file as a full snapshot of the tenant's employees
+     * @param force process the file even if it is identical to the tenant's previous upload
+     */
+    UploadJobResponse initiateUpload(MultipartFile file, String description, UploadJob.IngestMode mode, boolean force);
 
     UploadJobResponse getUploadJob(UUID id);
 
     Page<UploadJobResponse> getAllUploadJobs(Pageable pageable);
+
+    SseEmitter streamUploadEvents(UUID id);
+
+    Page<UploadJobRowResponse> getUploadJobRows(UUID id, UploadJobRow.RowStatus status, Pageable pageable);
 }
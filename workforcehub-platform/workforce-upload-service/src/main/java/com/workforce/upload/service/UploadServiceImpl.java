@@ -1,21 +1,36 @@
 package com.workforce.upload.service;
 
+import com.workforce.upload.config.PreflightProperties;
 import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.domain.UploadJobRow;
 import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadJobRowResponse;
 import com.workforce.upload.exception.InvalidFileException;
 import com.workforce.upload.exception.UploadJobNotFoundException;
 import com.workforce.upload.mapper.UploadJobMapper;
+import com.workforce.upload.messaging.UploadEventOutbox;
 import com.workforce.upload.repository.UploadJobRepository;
+import com.workforce.upload.repository.UploadJobRowRepository;
+import com.workforce.upload.storage.FileStorage;
+import com.workforce.upload.storage.StorageKeys;
 import com.workforce.upload.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.Set;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -23,35 +38,75 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UploadServiceImpl implements UploadService {
 
-    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
-            "text/csv",
-            "application/vnd.ms-excel",
-            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
-    );
-
     private final UploadJobRepository uploadJobRepository;
+    private final UploadJobRowRepository uploadJobRowRepository;
     private final UploadJobMapper uploadJobMapper;
+    private final FileStorage fileStorage;
+    private final UploadEventOutbox uploadEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final UploadProgressBroadcaster progressBroadcaster;
+    private final UploadDeduplicator deduplicator;
+    private final PreflightProperties preflightProperties;
 
+    // Not @Transactional: spooling the file must not hold a pooled DB connection
     @Override
-    @Transactional
-    public UploadJobResponse initiateUpload(MultipartFile file, String description) {
+    public UploadJobResponse initiateUpload(MultipartFile file, String description, UploadJob.IngestMode mode, boolean force) {
         log.info("Initiating upload for file: {}, size: {} bytes, tenant: {}", file.getOriginalFilename(), file.getSize(), TenantContext.getTenantId());
 
         validateFile(file);
 
-        UploadJob.FileType fileType = resolveFileType(file);
+        UploadJob.FileType fileType = UploadJob.FileType.of(file.getOriginalFilename(), file.getContentType());
+        UploadJob.Compression compression = UploadJob.Compression.fromFilename(file.getOriginalFilename());
+        UploadPreflight preflight = preflightProperties.isEnabled() && fileType == UploadJob.FileType.CSV
+                ? new UploadPreflight(compression, preflightProperties.getSampleRows())
+                : null;
+        String contentHash = preflight != null
+                ? UploadContentHash.of(file, preflight::scan)
+                : UploadContentHash.of(file);
 
         UploadJob job = UploadJob.builder()
                 .tenantId(TenantContext.getTenantId())
                 .originalFilename(file.getOriginalFilename())
                 .fileType(fileType)
+                .compression(compression)
+                .contentHash(contentHash)
+                .totalRows(preflight != null ? preflight.checkedRows(preflightProperties.getMaxInvalidRatio()) : null)
+                .ingestMode(mode)
+                .createdBy(currentUserId())
                 .status(UploadJob.UploadStatus.PENDING)
                 .processedRows(0)
                 .failedRows(0)
                 .build();
 
-        UploadJob saved = uploadJobRepository.save(job);
-        log.info("Upload job created with id: {}", saved.getId());
+        // Hashing the spooled part first lets an identical re-upload skip storage as well as processing
+        if (!force) {
+            Optional<UploadJob> duplicate = transactionTemplate.execute(status -> deduplicator.resolve(job));
+            if (duplicate != null && duplicate.isPresent()) {
+                return uploadJobMapper.toResponse(duplicate.get());
+            }
+        }
+
+        String storageKey = StorageKeys.newKey(TenantContext.getTenantId(), file.getOriginalFilename());
+        try {
+            fileStorage.store(storageKey, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store uploaded file " + file.getOriginalFilename(), e);
+        }
+        job.setStorageKey(storageKey);
+
+        // Job row and its outbox event commit atomically; OutboxRelay publishes to Kafka afterwards
+        UploadJob saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                UploadJob persisted = uploadJobRepository.save(job);
+                uploadEventOutbox.uploadRequested(persisted);
+                return persisted;
+            });
+        } catch (RuntimeException e) {
+            deleteQuietly(storageKey);
+            throw e;
+        }
+        log.info("Upload job created with id: {}, storageKey: {}", saved.getId(), storageKey);
 
         return uploadJobMapper.toResponse(saved);
     }
@@ -71,21 +126,52 @@ public class UploadServiceImpl implements UploadService {
                 .map(uploadJobMapper::toResponse);
     }
 
+    @Override
+    public SseEmitter streamUploadEvents(UUID id) {
+        // One lookup per connection; after that the stream is fed from Kafka, not the database
+        return progressBroadcaster.subscribe(id, () -> getUploadJob(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UploadJobRowResponse> getUploadJobRows(UUID id, UploadJobRow.RowStatus status, Pageable pageable) {
+        String tenantId = TenantContext.getTenantId();
+        if (uploadJobRepository.findByIdAndTenantIdAndDeletedFalse(id, tenantId).isEmpty()) {
+            throw new UploadJobNotFoundException(id);
+        }
+        return uploadJobRowRepository.findAllByUploadJobIdAndTenantIdAndRowStatus(id, tenantId, status, pageable)
+                .map(uploadJobMapper::toRowResponse);
+    }
+
+    private String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private void deleteQuietly(String storageKey) {
+        try {
+            fileStorage.delete(storageKey);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to delete orphaned upload {}: {}", storageKey, e.getMessage());
+        }
+    }
+
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new InvalidFileException("Uploaded file is empty");
         }
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
-            throw new InvalidFileException("Invalid file type. Only CSV and Excel files are supported.");
+        if (UploadJob.FileType.of(file.getOriginalFilename(), file.getContentType()) == null) {
+            throw new InvalidFileException("Invalid file type. Only CSV and Excel files (or CSV as .csv.gz / .csv.zst) are supported.");
         }
-    }
-
-    private UploadJob.FileType resolveFileType(MultipartFile file) {
-        String contentType = file.getContentType();
-        if ("text/csv".equals(contentType)) {
-            return UploadJob.FileType.CSV;
+        UploadJob.Compression compression = UploadJob.Compression.fromFilename(file.getOriginalFilename());
+        if (compression != UploadJob.Compression.NONE) {
+            try (InputStream in = file.getInputStream()) {
+                if (!compression.matches(in.readNBytes(compression.magicLength()))) {
+                    throw new InvalidFileException("File is not " + compression.name().toLowerCase(Locale.ROOT) + "-compressed");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read uploaded file " + file.getOriginalFilename(), e);
+            }
         }
-        return UploadJob.FileType.EXCEL;
     }
 }
@@ -0,0 +1,70 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.config.UploadSessionProperties;
+import com.workforce.upload.domain.UploadSession;
+import com.workforce.upload.repository.UploadSessionChunkRepository;
+import com.workforce.upload.repository.UploadSessionRepository;
+import com.workforce.upload.storage.FileStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Expires upload sessions that were opened but never completed, discarding
+ * their stored chunks (abandoned S3 multipart parts are otherwise billed
+ * indefinitely). Sessions stuck COMPLETING past
+ * upload.sessions.completing-timeout are reopened first, so the client can
+ * complete them again or they expire like any other open session; an object
+ * a stalled completion already assembled is deleted with them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionReaper {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadSessionChunkRepository chunkRepository;
+    private final FileStorage fileStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final UploadSessionProperties properties;
+
+    @Scheduled(fixedDelayString = "${upload.sessions.reap-interval:5m}")
+    public void reapExpired() {
+        Integer reopened = transactionTemplate.execute(status ->
+                sessionRepository.reopenStalled(Instant.now().minus(properties.getCompletingTimeout())));
+        if (reopened != null && reopened > 0) {
+            log.warn("Reopened {} upload session(s) whose completion stalled", reopened);
+        }
+
+        List<UploadSession> expired;
+        do {
+            expired = transactionTemplate.execute(status -> {
+                List<UploadSession> claimed = sessionRepository.claimExpired(Instant.now(), BATCH_SIZE);
+                for (UploadSession session : claimed) {
+                    session.setStatus(UploadSession.SessionStatus.EXPIRED);
+                    chunkRepository.deleteAllBySessionId(session.getId());
+                }
+                return claimed;
+            });
+            for (UploadSession session : expired) {
+                try {
+                    fileStorage.delete(session.getStorageKey());
+                    fileStorage.abortChunked(session.getStorageKey(), session.getStorageUploadId());
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Failed to discard expired upload session {}: {}", session.getId(), e.getMessage());
+                }
+            }
+            if (!expired.isEmpty()) {
+                log.info("Expired {} abandoned upload session(s)", expired.size());
+            }
+        } while (expired.size() >= BATCH_SIZE);
+    }
+}
@@ -0,0 +1,28 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.dto.request.CreateUploadSessionRequest;
+import com.workforce.upload.dto.response.UploadChunkResponse;
+import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadSessionResponse;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface UploadSessionService {
+
+    UploadSessionResponse createSession(CreateUploadSessionRequest request);
+
+    UploadSessionResponse getSession(UUID id);
+
+    UploadChunkResponse uploadChunk(UUID id, int index, long contentLength, String contentRange,
+                                    String sha256, InputStream body);
+
+    /**
+     * @param mode  DIFF to treat the file as a full snapshot of the tenant's employees
+     * @param force process the file even if it is identical to the tenant's previous upload
+     */
+    UploadJobResponse completeSession(UUID id, UploadJob.IngestMode mode, boolean force);
+
+    void abortSession(UUID id);
+}
@@ -0,0 +1,449 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.config.PreflightProperties;
+import com.workforce.upload.config.UploadSessionProperties;
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.domain.UploadSession;
+import com.workforce.upload.domain.UploadSessionChunk;
+import com.workforce.upload.dto.request.CreateUploadSessionRequest;
+import com.workforce.upload.dto.response.UploadChunkResponse;
+import com.workforce.upload.dto.response.UploadJobResponse;
+import com.workforce.upload.dto.response.UploadSessionResponse;
+import com.workforce.upload.exception.InvalidFileException;
+import com.workforce.upload.exception.UploadSessionNotFoundException;
+import com.workforce.upload.exception.UploadSessionStateException;
+import com.workforce.upload.mapper.UploadJobMapper;
+import com.workforce.upload.messaging.UploadEventOutbox;
+import com.workforce.upload.repository.UploadJobRepository;
+import com.workforce.upload.repository.UploadSessionChunkRepository;
+import com.workforce.upload.repository.UploadSessionRepository;
+import com.workforce.upload.storage.FileStorage;
+import com.workforce.upload.storage.StorageKeys;
+import com.workforce.upload.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resumable uploads: initiate a session, PUT chunks (in parallel, in any
+ * order, retrying any that fail), then complete it to create the UploadJob.
+ *
+ * Chunk bodies are streamed straight into storage while their SHA-256 is
+ * computed; a chunk is only recorded once its digest matches the one the
+ * client sent, so a corrupted chunk is simply re-sent. Every write lands in a
+ * new storage part and only recorded parts are assembled, so a bad re-send
+ * cannot damage a chunk that was already verified. No request holds a pooled
+ * DB connection while bytes are moving.
+ *
+ * Completion that fails or is interrupted after the session left OPEN can be
+ * retried: a failure reopens the session, and a session left COMPLETING by a
+ * crashed instance is resumed by the next complete call once it is older than
+ * upload.sessions.completing-timeout (the reaper reopens it after that too).
+ *
+ * CSV files get the same pre-flight check as single-request uploads (see
+ * {@link UploadPreflight}), run over the assembled object because chunks
+ * arrive out of order. A file it rejects cannot be repaired by re-sending
+ * chunks, so the session is aborted and the object deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    /** S3 allows at most 10,000 parts per multipart upload */
+    private static final int MAX_CHUNKS = 10_000;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final UploadSessionRepository sessionRepository;
+    private final UploadSessionChunkRepository chunkRepository;
+    private final UploadJobRepository uploadJobRepository;
+    private final UploadJobMapper uploadJobMapper;
+    private final UploadEventOutbox uploadEventOutbox;
+    private final FileStorage fileStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final UploadSessionProperties properties;
+    private final UploadDeduplicator deduplicator;
+    private final PreflightProperties preflightProperties;
+
+    @Override
+    public UploadSessionResponse createSession(CreateUploadSessionRequest request) {
+        String tenantId = TenantContext.getTenantId();
+        if (request.getFilename() == null || request.getFilename().isBlank()) {
+            throw new InvalidFileException("filename is required");
+        }
+        UploadJob.FileType fileType = UploadJob.FileType.of(request.getFilename(), request.getContentType());
+        if (fileType == null) {
+            throw new InvalidFileException("Invalid file type. Only CSV and Excel files (or CSV as .csv.gz / .csv.zst) are supported.");
+        }
+        long fileSize = request.getFileSize() == null ? 0 : request.getFileSize();
+        if (fileSize <= 0) {
+            throw new InvalidFileException("fileSize must be positive");
+        }
+        if (fileSize > properties.getMaxFileSize().toBytes()) {
+            throw new InvalidFileException("File size exceeds the maximum allowed limit of " + properties.getMaxFileSize());
+        }
+        long chunkSize = request.getChunkSize() != null
+                ? request.getChunkSize()
+                : properties.getDefaultChunkSize().toBytes();
+        if (chunkSize < properties.getMinChunkSize().toBytes() || chunkSize > properties.getMaxChunkSize().toBytes()) {
+            throw new InvalidFileException("chunkSize must be between " + properties.getMinChunkSize()
+                    + " and " + properties.getMaxChunkSize());
+        }
+        long totalChunks = (fileSize + chunkSize - 1) / chunkSize;
+        if (totalChunks > MAX_CHUNKS) {
+            throw new InvalidFileException("File needs " + totalChunks + " chunks; use a chunkSize of at least "
+                    + ((fileSize + MAX_CHUNKS - 1) / MAX_CHUNKS) + " bytes");
+        }
+
+        String storageKey = StorageKeys.newKey(tenantId, request.getFilename());
+        String storageUploadId;
+        try {
+            storageUploadId = fileStorage.beginChunked(storageKey, fileSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start chunked upload for " + request.getFilename(), e);
+        }
+
+        UploadSession session;
+        try {
+            session = sessionRepository.save(UploadSession.builder()
+                    .tenantId(tenantId)
+                    .originalFilename(request.getFilename())
+                    .fileType(fileType)
+                    .fileSize(fileSize)
+                    .chunkSize((int) chunkSize)
+                    .totalChunks((int) totalChunks)
+                    .storageKey(storageKey)
+                    .storageUploadId(storageUploadId)
+                    .status(UploadSession.SessionStatus.OPEN)
+                    .createdBy(currentUserId())
+                    .expiresAt(Instant.now().plus(properties.getTtl()))
+                    .build());
+        } catch (RuntimeException e) {
+            abortQuietly(storageKey, storageUploadId);
+            throw e;
+        }
+        log.info("Upload session {} opened for {} ({} bytes in {} chunks), tenant: {}",
+                session.getId(), request.getFilename(), fileSize, totalChunks, tenantId);
+        return uploadJobMapper.toSessionResponse(session, List.of());
+    }
+
+    @Override
+    public UploadSessionResponse getSession(UUID id) {
+        UploadSession session = findSession(id);
+        return uploadJobMapper.toSessionResponse(session, chunkRepository.findChunkIndexes(id));
+    }
+
+    @Override
+    public UploadChunkResponse uploadChunk(UUID id, int index, long contentLength, String contentRange,
+                                           String sha256, InputStream body) {
+        UploadSession session = findSession(id);
+        requireOpen(session);
+        if (index < 0 || index >= session.getTotalChunks()) {
+            throw new InvalidFileException("Chunk index " + index + " is outside 0.." + (session.getTotalChunks() - 1));
+        }
+        long offset = session.offsetOf(index);
+        long size = session.sizeOf(index);
+        if (contentLength != size) {
+            throw new InvalidFileException("Chunk " + index + " must be " + size + " bytes, got " + contentLength);
+        }
+        if (contentRange != null) {
+            verifyContentRange(session, contentRange, offset, size);
+        }
+        String expectedSha256 = sha256 == null ? "" : sha256.trim().toLowerCase(Locale.ROOT);
+        if (!SHA256_HEX.matcher(expectedSha256).matches()) {
+            throw new InvalidFileException("X-Chunk-SHA256 header must be the hex SHA-256 of the chunk");
+        }
+        Optional<UploadSessionChunk> recordedChunk = chunkRepository.findById(new UploadSessionChunk.Key(id, index));
+        if (recordedChunk.isPresent() && recordedChunk.get().getSha256().equals(expectedSha256)) {
+            // A retry of a chunk that already arrived intact; nothing to store
+            return UploadChunkResponse.builder()
+                    .chunkIndex(index)
+                    .size(size)
+                    .sha256(expectedSha256)
+                    .build();
+        }
+
+        MessageDigest digest = UploadContentHash.sha256();
+        String partEtag;
+        try {
+            partEtag = fileStorage.writeChunk(session.getStorageKey(), session.getStorageUploadId(),
+                    index, offset, new DigestInputStream(body, digest), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store chunk " + index + " of upload session " + id, e);
+        }
+
+        String actualSha256 = HexFormat.of().formatHex(digest.digest());
+        if (!actualSha256.equals(expectedSha256)) {
+            // Not recorded, so the part is never assembled; the client re-sends the chunk
+            throw new InvalidFileException("Checksum mismatch for chunk " + index + "; re-send the chunk");
+        }
+
+        Integer recorded = transactionTemplate.execute(status ->
+                chunkRepository.record(id, index, size, actualSha256, partEtag == null ? "" : partEtag));
+        if (recorded == null || recorded == 0) {
+            throw new UploadSessionStateException("Upload session " + id + " is no longer open");
+        }
+        log.debug("Stored chunk {}/{} of upload session {}", index + 1, session.getTotalChunks(), id);
+        return UploadChunkResponse.builder()
+                .chunkIndex(index)
+                .size(size)
+                .sha256(actualSha256)
+                .build();
+    }
+
+    @Override
+    public UploadJobResponse completeSession(UUID id, UploadJob.IngestMode mode, boolean force) {
+        String tenantId = TenantContext.getTenantId();
+
+        // Phase 1: under the row lock, check every chunk is present and close the session to new chunks
+        UploadSession session = transactionTemplate.execute(status -> {
+            UploadSession locked = sessionRepository.findForUpdate(id, tenantId)
+                    .orElseThrow(() -> new UploadSessionNotFoundException(id));
+            if (locked.getStatus() == UploadSession.SessionStatus.COMPLETED) {
+                return locked;
+            }
+            if (locked.getStatus() == UploadSession.SessionStatus.COMPLETING) {
+                // Resume only a completion abandoned by its instance; a live one is still running
+                if (locked.getUpdatedAt().isAfter(Instant.now().minus(properties.getCompletingTimeout()))) {
+                    throw new UploadSessionStateException("Upload session " + id + " is already being completed");
+                }
+                log.info("Resuming stalled completion of upload session {}", id);
+                locked.setUpdatedAt(Instant.now());
+            } else {
+                requireOpen(locked);
+            }
+            List<Integer> received = chunkRepository.findChunkIndexes(id);
+            if (received.size() != locked.getTotalChunks()) {
+                throw new UploadSessionStateException("Upload session " + id + " is missing "
+                        + (locked.getTotalChunks() - received.size()) + " of " + locked.getTotalChunks()
+                        + " chunks, starting at chunk " + firstMissing(received));
+            }
+            locked.setStatus(UploadSession.SessionStatus.COMPLETING);
+            return locked;
+        });
+
+        if (session.getStatus() == UploadSession.SessionStatus.COMPLETED) {
+            // Repeated complete (e.g. the client retried after a timeout): report the job it created
+            return uploadJobRepository.findById(session.getUploadJobId())
+                    .map(uploadJobMapper::toResponse)
+                    .orElseThrow(() -> new UploadSessionStateException("Upload session " + id + " has no upload job"));
+        }
+
+        List<UploadSessionChunk> chunks = chunkRepository.findAllBySessionIdOrderByChunkIndex(id);
+        UploadJob job = UploadJob.builder()
+                .tenantId(session.getTenantId())
+                .originalFilename(session.getOriginalFilename())
+                .fileType(session.getFileType())
+                .compression(UploadJob.Compression.fromFilename(session.getOriginalFilename()))
+                .storageKey(session.getStorageKey())
+                .contentHash(UploadContentHash.ofChunks(session.getChunkSize(),
+                        chunks.stream().map(UploadSessionChunk::getSha256).toList()))
+                .ingestMode(mode)
+                .createdBy(session.getCreatedBy())
+                .status(UploadJob.UploadStatus.PENDING)
+                .processedRows(0)
+                .failedRows(0)
+                .build();
+
+        // An identical re-upload reuses the earlier result; its parts are discarded without being assembled
+        if (!force) {
+            Optional<UploadJob> duplicate = transactionTemplate.execute(status -> {
+                Optional<UploadJob> resolved = deduplicator.resolve(job);
+                resolved.ifPresent(existing -> {
+                    sessionRepository.markCompleted(id, existing.getId());
+                    chunkRepository.deleteAllBySessionId(id);
+                });
+                return resolved;
+            });
+            if (duplicate != null && duplicate.isPresent()) {
+                abortQuietly(session.getStorageKey(), session.getStorageUploadId());
+                return uploadJobMapper.toResponse(duplicate.get());
+            }
+        }
+
+        // Phase 2: assemble the object outside any transaction
+        List<String> partEtags = chunks.stream().map(UploadSessionChunk::getPartEtag).toList();
+        try {
+            fileStorage.completeChunked(session.getStorageKey(), session.getStorageUploadId(), partEtags);
+        } catch (IOException | RuntimeException e) {
+            reopen(id);
+            if (e instanceof IOException io) {
+                throw new UncheckedIOException("Failed to assemble upload session " + id, io);
+            }
+            throw (RuntimeException) e;
+        }
+
+        try {
+            job.setTotalRows(preflight(session, job.getCompression()));
+        } catch (InvalidFileException e) {
+            discardRejected(id, session.getStorageKey());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            reopen(id);
+            if (e instanceof IOException io) {
+                throw new UncheckedIOException("Failed to read assembled upload session " + id, io);
+            }
+            throw (RuntimeException) e;
+        }
+
+        // Phase 3: job row, its outbox event and the session's completion commit together
+        UploadJob saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                UploadJob persisted = uploadJobRepository.save(job);
+                uploadEventOutbox.uploadRequested(persisted);
+                sessionRepository.markCompleted(id, persisted.getId());
+                chunkRepository.deleteAllBySessionId(id);
+                return persisted;
+            });
+        } catch (RuntimeException e) {
+            // The object is assembled; completeChunked is idempotent, so a retried complete finishes the job
+            reopen(id);
+            throw e;
+        }
+        log.info("Upload session {} completed as upload job {}", id, saved.getId());
+        return uploadJobMapper.toResponse(saved);
+    }
+
+    @Override
+    public void abortSession(UUID id) {
+        UploadSession session = findSession(id);
+        Integer aborted = transactionTemplate.execute(status -> {
+            int updated = sessionRepository.transition(id,
+                    UploadSession.SessionStatus.OPEN, UploadSession.SessionStatus.ABORTED);
+            if (updated > 0) {
+                chunkRepository.deleteAllBySessionId(id);
+            }
+            return updated;
+        });
+        if (aborted == null || aborted == 0) {
+            if (session.getStatus() == UploadSession.SessionStatus.ABORTED) {
+                return;
+            }
+            throw new UploadSessionStateException("Upload session " + id + " is " + session.getStatus());
+        }
+        abortQuietly(session.getStorageKey(), session.getStorageUploadId());
+        log.info("Upload session {} aborted", id);
+    }
+
+    /** Scans the assembled CSV object; returns its row count, or null when no scan applies. */
+    private Integer preflight(UploadSession session, UploadJob.Compression compression) throws IOException {
+        if (!preflightProperties.isEnabled() || session.getFileType() != UploadJob.FileType.CSV) {
+            return null;
+        }
+        UploadPreflight preflight = new UploadPreflight(compression, preflightProperties.getSampleRows());
+        try (InputStream in = new BufferedInputStream(fileStorage.open(session.getStorageKey()))) {
+            if (compression != UploadJob.Compression.NONE) {
+                in.mark(compression.magicLength());
+                if (!compression.matches(in.readNBytes(compression.magicLength()))) {
+                    throw new InvalidFileException("File is not " + compression.name().toLowerCase(Locale.ROOT) + "-compressed");
+                }
+                in.reset();
+            }
+            preflight.scan(in);
+        }
+        return preflight.checkedRows(preflightProperties.getMaxInvalidRatio());
+    }
+
+    /** Aborts a session whose assembled file was rejected and deletes the object. */
+    private void discardRejected(UUID id, String storageKey) {
+        log.info("Upload session {} rejected by the pre-flight check", id);
+        try {
+            fileStorage.delete(storageKey);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to delete rejected upload {}: {}", storageKey, e.getMessage());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (sessionRepository.transition(id,
+                        UploadSession.SessionStatus.COMPLETING, UploadSession.SessionStatus.ABORTED) > 0) {
+                    chunkRepository.deleteAllBySessionId(id);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Left COMPLETING: the reaper reopens it and it expires like any abandoned session
+            log.warn("Failed to abort rejected upload session {}: {}", id, e.getMessage());
+        }
+    }
+
+    private void reopen(UUID id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> sessionRepository.transition(id,
+                    UploadSession.SessionStatus.COMPLETING, UploadSession.SessionStatus.OPEN));
+        } catch (RuntimeException e) {
+            // Left COMPLETING: resumable after upload.sessions.completing-timeout
+            log.warn("Failed to reopen upload session {}: {}", id, e.getMessage());
+        }
+    }
+
+    private UploadSession findSession(UUID id) {
+        return sessionRepository.findByIdAndTenantId(id, TenantContext.getTenantId())
+                .orElseThrow(() -> new UploadSessionNotFoundException(id));
+    }
+
+    private static void requireOpen(UploadSession session) {
+        if (session.getStatus() != UploadSession.SessionStatus.OPEN) {
+            throw new UploadSessionStateException("Upload session " + session.getId() + " is " + session.getStatus());
+        }
+        if (session.getExpiresAt().isBefore(Instant.now())) {
+            throw new UploadSessionStateException("Upload session " + session.getId() + " has expired");
+        }
+    }
+
+    private static void verifyContentRange(UploadSession session, String contentRange, long offset, long size) {
+        Matcher m = CONTENT_RANGE.matcher(contentRange.trim());
+        if (!m.matches()) {
+            throw new InvalidFileException("Malformed Content-Range: " + contentRange);
+        }
+        long start = Long.parseLong(m.group(1));
+        long end = Long.parseLong(m.group(2));
+        boolean totalMatches = "*".equals(m.group(3)) || Long.parseLong(m.group(3)) == session.getFileSize();
+        if (start != offset || end != offset + size - 1 || !totalMatches) {
+            throw new InvalidFileException("Content-Range " + contentRange + " does not match chunk bytes "
+                    + offset + "-" + (offset + size - 1) + "/" + session.getFileSize());
+        }
+    }
+
+    private static int firstMissing(List<Integer> received) {
+        int expected = 0;
+        for (int index : received) {
+            if (index != expected) {
+                break;
+            }
+            expected++;
+        }
+        return expected;
+    }
+
+    private void abortQuietly(String storageKey, String storageUploadId) {
+        try {
+            fileStorage.abortChunked(storageKey, storageUploadId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to discard chunked upload {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    private String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.workforce.upload.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Object store for uploaded workforce files.
+ *
+ * Keys are opaque to callers; they are recorded on the UploadJob and handed
+ * to workforce-processing-service, which resolves them against the same store.
+ */
+public interface FileStorage {
+
+    /**
+     * Persists the multipart content under {@code key}. Implementations must
+     * stream (or move) the spooled part rather than buffering it on the heap.
+     */
+    void store(String key, MultipartFile file) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /** Opens the stored object for reading; the caller closes the stream. */
+    InputStream open(String key) throws IOException;
+
+    /*
+     * Chunked uploads: the object under {@code key} is assembled from parts
+     * written independently and in any order, then made visible by
+     * completeChunked. Until then nothing exists under {@code key}.
+     */
+
+    /**
+     * Starts a chunked upload of a {@code size}-byte object and returns the
+     * backend handle that the other chunked calls take (null if none is needed).
+     */
+    String beginChunked(String key, long size) throws IOException;
+
+    /**
+     * Writes exactly {@code length} bytes from {@code in} as part {@code index},
+     * which starts at byte {@code offset} of the object. Returns the part
+     * identifier needed by completeChunked; only the parts whose identifiers
+     * are passed there end up in the object.
+     */
+    String writeChunk(String key, String uploadId, int index, long offset, InputStream in, long length)
+            throws IOException;
+
+    /**
+     * Assembles the object from {@code partEtags}, ordered by part index.
+     * Repeating the call after it succeeded must not fail.
+     */
+    void completeChunked(String key, String uploadId, List<String> partEtags) throws IOException;
+
+    /** Discards a chunked upload that will not be completed. */
+    void abortChunked(String key, String uploadId) throws IOException;
+}
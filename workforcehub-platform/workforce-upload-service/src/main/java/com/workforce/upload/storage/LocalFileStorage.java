@@ -0,0 +1,144 @@
+package com.workforce.upload.storage;
+
+import com.workforce.upload.config.StorageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filesystem-backed {@link FileStorage}.
+ *
+ * Uses {@link MultipartFile#transferTo(Path)}: Tomcat has already spooled the
+ * part to disk, so this is a rename when the temp dir and storage share a
+ * filesystem, and a kernel-side file copy otherwise — the bytes never pass
+ * through a heap buffer on the servlet thread.
+ *
+ * Chunked uploads mirror S3 multipart parts: every chunk write goes to a new
+ * file under {@code <key>.parts/} and returns that file's name as the part
+ * identifier, so chunks can arrive in parallel and out of order and a re-sent
+ * chunk never touches bytes already verified. Completion concatenates the
+ * recorded parts into {@code <key>.partial}, renames it into place and
+ * removes the parts directory; unrecorded parts (failed checksums) go with it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalFileStorage implements FileStorage {
+
+    private final Path baseDir;
+
+    public LocalFileStorage(StorageProperties properties) {
+        this.baseDir = Path.of(properties.getLocal().getBaseDir()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void store(String key, MultipartFile file) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        file.transferTo(target);
+        log.debug("Stored upload at {} ({} bytes)", target, file.getSize());
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public String beginChunked(String key, long size) throws IOException {
+        Files.createDirectories(parts(key));
+        return null;
+    }
+
+    @Override
+    public String writeChunk(String key, String uploadId, int index, long offset, InputStream in, long length)
+            throws IOException {
+        String partName = index + "-" + UUID.randomUUID();
+        Path part = parts(key).resolve(partName);
+        ReadableByteChannel source = Channels.newChannel(in);
+        try (FileChannel target = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long written = 0;
+            while (written < length) {
+                long n = target.transferFrom(source, written, length - written);
+                if (n <= 0) {
+                    throw new IOException("Chunk " + index + " ended after " + written + " of " + length + " bytes");
+                }
+                written += n;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        return partName;
+    }
+
+    /** Idempotent: completing an upload that was already assembled is a no-op. */
+    @Override
+    public void completeChunked(String key, String uploadId, List<String> partEtags) throws IOException {
+        Path parts = parts(key);
+        if (!Files.isDirectory(parts) && Files.exists(resolve(key))) {
+            return;
+        }
+        Path partial = resolve(key + ".partial");
+        try (FileChannel target = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (String partEtag : partEtags) {
+                try (FileChannel source = FileChannel.open(part(parts, partEtag), StandardOpenOption.READ)) {
+                    long size = source.size();
+                    long copied = 0;
+                    while (copied < size) {
+                        copied += source.transferTo(copied, size - copied, target);
+                    }
+                }
+            }
+        }
+        Files.move(partial, resolve(key), StandardCopyOption.ATOMIC_MOVE);
+        FileSystemUtils.deleteRecursively(parts);
+        log.debug("Assembled chunked upload at {} from {} chunks", resolve(key), partEtags.size());
+    }
+
+    @Override
+    public void abortChunked(String key, String uploadId) throws IOException {
+        FileSystemUtils.deleteRecursively(parts(key));
+        Files.deleteIfExists(resolve(key + ".partial"));
+    }
+
+    private Path parts(String key) {
+        return resolve(key + ".parts");
+    }
+
+    private static Path part(Path parts, String partEtag) {
+        Path part = parts.resolve(partEtag).normalize();
+        if (!part.getParent().equals(parts)) {
+            throw new IllegalArgumentException("Invalid part identifier: " + partEtag);
+        }
+        return part;
+    }
+
+    Path resolve(String key) {
+        Path path = baseDir.resolve(key).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("Storage key escapes base directory: " + key);
+        }
+        return path;
+    }
+}
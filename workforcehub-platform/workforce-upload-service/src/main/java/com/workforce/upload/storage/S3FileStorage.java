@@ -0,0 +1,129 @@
+package com.workforce.upload.storage;
+
+import com.workforce.upload.config.StorageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * S3-compatible {@link FileStorage} (AWS S3, MinIO, LocalStack).
+ *
+ * The part is streamed from Tomcat's spool file straight into the PUT request
+ * body with a known content length, so the SDK never buffers the object.
+ *
+ * Chunked uploads map one-to-one onto S3 multipart uploads: chunk N is part
+ * N+1, so every chunk but the last must be at least 5MB.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "s3")
+public class S3FileStorage implements FileStorage, DisposableBean {
+
+    private final S3Client s3;
+    private final String bucket;
+
+    public S3FileStorage(StorageProperties properties) {
+        StorageProperties.S3 config = properties.getS3();
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(config.getRegion()))
+                .forcePathStyle(config.isPathStyleAccess());
+        if (config.getEndpoint() != null && !config.getEndpoint().isBlank()) {
+            builder.endpointOverride(URI.create(config.getEndpoint()));
+        }
+        if (config.getAccessKey() != null && !config.getAccessKey().isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(config.getAccessKey(), config.getSecretKey())));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+        this.s3 = builder.build();
+        this.bucket = config.getBucket();
+    }
+
+    @Override
+    public void store(String key, MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            s3.putObject(req -> req.bucket(bucket).key(key).contentLength(file.getSize()),
+                    RequestBody.fromInputStream(in, file.getSize()));
+        }
+        log.debug("Stored upload at s3://{}/{} ({} bytes)", bucket, key, file.getSize());
+    }
+
+    @Override
+    public void delete(String key) {
+        s3.deleteObject(req -> req.bucket(bucket).key(key));
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return s3.getObject(req -> req.bucket(bucket).key(key));
+    }
+
+    @Override
+    public String beginChunked(String key, long size) {
+        return s3.createMultipartUpload(req -> req.bucket(bucket).key(key)).uploadId();
+    }
+
+    @Override
+    public String writeChunk(String key, String uploadId, int index, long offset, InputStream in, long length) {
+        return s3.uploadPart(req -> req.bucket(bucket).key(key).uploadId(uploadId)
+                                .partNumber(index + 1).contentLength(length),
+                        RequestBody.fromInputStream(in, length))
+                .eTag();
+    }
+
+    @Override
+    public void completeChunked(String key, String uploadId, List<String> partEtags) {
+        List<CompletedPart> parts = new ArrayList<>(partEtags.size());
+        for (int i = 0; i < partEtags.size(); i++) {
+            parts.add(CompletedPart.builder().partNumber(i + 1).eTag(partEtags.get(i)).build());
+        }
+        try {
+            s3.completeMultipartUpload(req -> req.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(mpu -> mpu.parts(parts)));
+        } catch (NoSuchUploadException e) {
+            // Completed by an earlier attempt whose session update did not commit
+            if (!exists(key)) {
+                throw e;
+            }
+        }
+        log.debug("Assembled multipart upload at s3://{}/{} from {} parts", bucket, key, parts.size());
+    }
+
+    private boolean exists(String key) {
+        try {
+            s3.headObject(req -> req.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void abortChunked(String key, String uploadId) {
+        s3.abortMultipartUpload(req -> req.bucket(bucket).key(key).uploadId(uploadId));
+    }
+
+    @Override
+    public void destroy() {
+        s3.close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.workforce.upload.storage;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Builds storage keys of the form {@code {tenant}/{uuid}.{ext}}.
+ * The tenant segment is sanitised so a tenant id can never introduce path separators.
+ */
+public final class StorageKeys {
+
+    private StorageKeys() {}
+
+    public static String newKey(String tenantId, String originalFilename) {
+        return sanitize(tenantId) + "/" + UUID.randomUUID() + extension(originalFilename);
+    }
+
+    private static String sanitize(String segment) {
+        String cleaned = segment == null ? "" : segment.replaceAll("[^A-Za-z0-9._-]", "_");
+        return cleaned.isEmpty() || cleaned.startsWith(".") ? "_" + cleaned : cleaned;
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        if (dot < 0 || dot == filename.length() - 1) {
+            return "";
+        }
+        String ext = filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return ext.matches("[a-z0-9]{1,8}") ? "." + ext : "";
+    }
+}
@@ -0,0 +1,106 @@
+package com.workforce.upload.messaging;
+
+import com.workforce.upload.config.OutboxProperties;
+import com.workforce.upload.domain.OutboxEvent;
+import com.workforce.upload.repository.OutboxEventRepository;
+import com.workforce.upload.repository.UploadJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEvents = Mockito.mock(OutboxEventRepository.class);
+    private final UploadJobRepository uploadJobs = Mockito.mock(UploadJobRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final SendResult<String, String> acked = Mockito.mock(SendResult.class);
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    private final OutboxProperties properties = new OutboxProperties();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(transactionManager.getTransaction(any())).thenAnswer(i -> new SimpleTransactionStatus());
+        properties.setSendTimeout(Duration.ofMillis(100));
+        properties.setClaimLease(Duration.ofMinutes(3));
+        relay = new OutboxRelay(outboxEvents, uploadJobs, kafkaTemplate, new TransactionTemplate(transactionManager), properties);
+    }
+
+    @Test
+    void waitsForAcksAfterTheClaimTransactionHasCommitted() {
+        OutboxEvent event = claimed("topic-a");
+        Mockito.when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(acked));
+
+        relay.relayBatch();
+
+        InOrder order = Mockito.inOrder(transactionManager, kafkaTemplate);
+        order.verify(transactionManager).commit(any());
+        order.verify(kafkaTemplate).send("topic-a", event.getEventKey(), event.getPayload());
+        order.verify(transactionManager).commit(any());
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.PUBLISHED);
+        assertThat(event.getPublishedAt()).isNotNull();
+    }
+
+    @Test
+    void unacknowledgedSendStaysClaimedWithoutCountingAnAttempt() {
+        OutboxEvent event = claimed("topic-a");
+        Mockito.when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+        Instant before = Instant.now();
+
+        relay.relayBatch();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isZero();
+        assertThat(event.getNextAttemptAt()).isAfterOrEqualTo(before.plus(Duration.ofMinutes(3)));
+        Mockito.verify(outboxEvents, Mockito.never()).findAllById(any());
+    }
+
+    @Test
+    void rejectedSendBacksOff() {
+        OutboxEvent event = claimed("topic-a");
+        Mockito.when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.relayBatch();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).contains("broker down");
+        assertThat(event.getNextAttemptAt()).isBefore(Instant.now().plus(Duration.ofMinutes(1)));
+    }
+
+    private OutboxEvent claimed(String topic) {
+        OutboxEvent event = OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .aggregateId(UUID.randomUUID())
+                .tenantId("tenant-1")
+                .topic(topic)
+                .eventKey("key-1")
+                .payload("{}")
+                .status(OutboxEvent.OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .build();
+        Mockito.when(outboxEvents.claimDue(any(), anyInt())).thenReturn(List.of(event));
+        Mockito.when(outboxEvents.findAllById(any())).thenReturn(List.of(event));
+        return event;
+    }
+}
@@ -0,0 +1,146 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.dto.event.EmployeeUploadProcessedEvent;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the rank-guarded UPDATE … FROM (VALUES …) against Postgres 16 with the
+ * real schema.
+ */
+class UploadJobStatusUpdaterTest {
+
+    private static final String TENANT = "tenant-1";
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static UploadJobStatusUpdater updater;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.execute(Files.readString(Path.of("../db/init.sql")));
+        updater = new UploadJobStatusUpdater(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void appliesStatusAndCountsAndReturnsTouchedJobs() {
+        UUID job = job("PENDING", false);
+
+        List<UploadJobStatusUpdater.UpdatedJob> updated = updater.apply(List.of(event(job, "COMPLETED", 10, 8, 2)));
+
+        assertThat(updated).containsExactly(new UploadJobStatusUpdater.UpdatedJob(job, TENANT));
+        assertThat(row(job)).containsEntry("status", "COMPLETED")
+                .containsEntry("total_rows", 10).containsEntry("processed_rows", 8).containsEntry("failed_rows", 2);
+    }
+
+    @Test
+    void lateProgressEventDoesNotReopenFinishedJob() {
+        UUID job = job("PENDING", false);
+        updater.apply(List.of(event(job, "PARTIAL", 10, 9, 1)));
+
+        List<UploadJobStatusUpdater.UpdatedJob> updated = updater.apply(List.of(event(job, "PROCESSING", null, 5, 0)));
+
+        assertThat(updated).isEmpty();
+        assertThat(row(job)).containsEntry("status", "PARTIAL").containsEntry("processed_rows", 9);
+    }
+
+    @Test
+    void progressEventKeepsKnownTotal() {
+        UUID job = job("PENDING", false);
+        updater.apply(List.of(event(job, "PROCESSING", 100, 10, 0)));
+
+        updater.apply(List.of(event(job, "PROCESSING", null, 40, 1)));
+
+        assertThat(row(job)).containsEntry("status", "PROCESSING")
+                .containsEntry("total_rows", 100).containsEntry("processed_rows", 40);
+    }
+
+    @Test
+    void failedEventRecordsErrorAndRetriedJobCanStillComplete() {
+        UUID job = job("PROCESSING", false);
+        EmployeeUploadProcessedEvent failed = event(job, "FAILED", null, 3, 0);
+        failed.setErrorMessage("storage unreachable");
+
+        updater.apply(List.of(failed));
+        assertThat(row(job)).containsEntry("status", "FAILED").containsEntry("error_message", "storage unreachable");
+
+        updater.apply(List.of(event(job, "COMPLETED", 10, 10, 0)));
+        assertThat(row(job)).containsEntry("status", "COMPLETED").containsEntry("error_message", "storage unreachable");
+    }
+
+    @Test
+    void skipsUnknownStatusesMissingIdsAndDeletedJobs() {
+        UUID live = job("PENDING", false);
+        UUID deleted = job("PENDING", true);
+
+        List<UploadJobStatusUpdater.UpdatedJob> updated = updater.apply(List.of(
+                event(live, "DONE", 1, 1, 0),
+                event(null, "COMPLETED", 1, 1, 0),
+                event(deleted, "COMPLETED", 1, 1, 0)));
+
+        assertThat(updated).isEmpty();
+        assertThat(row(live)).containsEntry("status", "PENDING");
+        assertThat(row(deleted)).containsEntry("status", "PENDING");
+    }
+
+    @Test
+    void appliesMoreEventsThanOneStatementHolds() {
+        List<EmployeeUploadProcessedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 1_201; i++) {
+            events.add(event(job("PENDING", false), "COMPLETED", i, i, 0));
+        }
+
+        List<UploadJobStatusUpdater.UpdatedJob> updated = updater.apply(events);
+
+        assertThat(updated).hasSize(1_201);
+        assertThat(row(events.get(1_200).getUploadJobId())).containsEntry("status", "COMPLETED")
+                .containsEntry("processed_rows", 1_200);
+    }
+
+    private static UUID job(String status, boolean deleted) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                        INSERT INTO upload_jobs (id, tenant_id, original_filename, file_type, status, deleted)
+                        VALUES (?, ?, 'employees.csv', 'CSV', ?, ?)""",
+                id, TENANT, status, deleted);
+        return id;
+    }
+
+    private static Map<String, Object> row(UUID id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT status, total_rows, processed_rows, failed_rows, error_message FROM upload_jobs WHERE id = ?", id);
+    }
+
+    private static EmployeeUploadProcessedEvent event(UUID job, String status, Integer total, int processed, int failed) {
+        return EmployeeUploadProcessedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .uploadJobId(job)
+                .status(status)
+                .totalRows(total)
+                .processedRows(processed)
+                .failedRows(failed)
+                .build();
+    }
+}
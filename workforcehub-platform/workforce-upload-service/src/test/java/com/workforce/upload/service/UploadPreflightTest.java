@@ -0,0 +1,72 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.exception.InvalidFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UploadPreflightTest {
+
+    @Test
+    void countsRowsLikeTheProcessingReader() throws IOException {
+        String csv = "\uFEFFFirst Name;Last Name;E-Mail\r\n"
+                + "\"Doe; Jr\";\"multi\r\nline\";doe@example.com\r\n"
+                + "\r\n"
+                + "   \n"
+                + "Jane;Roe;jane@example.com\r"
+                + "Max;\"Say \"\"hi\"\"\";not-an-email";
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+        }
+
+        UploadPreflight plain = scan(csv.getBytes(StandardCharsets.UTF_8), UploadJob.Compression.NONE);
+        UploadPreflight compressed = scan(gzip.toByteArray(), UploadJob.Compression.GZIP);
+
+        for (UploadPreflight preflight : new UploadPreflight[] {plain, compressed}) {
+            assertThat(preflight.completed()).isTrue();
+            assertThat(preflight.rows()).isEqualTo(3);
+            assertThat(preflight.sampled()).isEqualTo(3);
+            assertThat(preflight.invalid()).isEqualTo(1);
+            assertThat(preflight.problems()).containsExactly("row 3: invalid email 'not-an-email'");
+        }
+    }
+
+    @Test
+    void countsUtf16FilesThroughTheSharedDecoder() throws IOException {
+        String csv = "\uFEFFfirst_name\tlast_name\temail\r\nJosé\tNuñez\tjose@example.com\r\nAnna\tLee\tanna@example.com\r\n";
+
+        UploadPreflight preflight = scan(csv.getBytes(StandardCharsets.UTF_16LE), UploadJob.Compression.NONE);
+
+        assertThat(preflight.completed()).isTrue();
+        assertThat(preflight.rows()).isEqualTo(2);
+        assertThat(preflight.invalid()).isZero();
+    }
+
+    @Test
+    void whenRequiredColumnMissingOrQuoteUnterminated_rejectsFile() {
+        byte[] noEmail = "first_name,last_name\nJohn,Doe\n".getBytes(StandardCharsets.UTF_8);
+        byte[] unterminated = "first_name,last_name,email\nJohn,\"Doe,john@example.com\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> scan(noEmail, UploadJob.Compression.NONE))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessage("Missing required column(s): [EMAIL]");
+        assertThatThrownBy(() -> scan(unterminated, UploadJob.Compression.NONE))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("Unterminated quoted field");
+    }
+
+    private static UploadPreflight scan(byte[] bytes, UploadJob.Compression compression) throws IOException {
+        UploadPreflight preflight = new UploadPreflight(compression, 100);
+        preflight.scan(new ByteArrayInputStream(bytes));
+        return preflight;
+    }
+}
@@ -1,13 +1,26 @@
 package com.workforce.upload.service;
 
+import com.workforce.upload.config.PreflightProperties;
 import com.workforce.upload.domain.UploadJob;
 import com.workforce.upload.dto.response.UploadJobResponse;
 import com.workforce.upload.exception.InvalidFileException;
+import com.workforce.upload.mapper.UploadJobMapper;
+import com.workforce.upload.messaging.UploadEventOutbox;
 import com.workforce.upload.repository.UploadJobRepository;
+import com.workforce.upload.repository.UploadJobRowRepository;
+import com.workforce.upload.storage.FileStorage;
+import com.workforce.upload.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -15,29 +28,74 @@ class UploadServiceImplTest {
 
     private UploadServiceImpl service;
     private UploadJobRepository repo;
+    private FileStorage fileStorage;
+    private UploadEventOutbox outbox;
+    private UploadDeduplicator deduplicator;
 
     @BeforeEach
     void setUp() {
+        TenantContext.setTenantId("tenant-1");
         repo = Mockito.mock(UploadJobRepository.class);
-        service = new UploadServiceImpl(repo, UploadJobMapper.INSTANCE);
+        fileStorage = Mockito.mock(FileStorage.class);
+        outbox = Mockito.mock(UploadEventOutbox.class);
+        deduplicator = Mockito.mock(UploadDeduplicator.class);
+        service = new UploadServiceImpl(repo, Mockito.mock(UploadJobRowRepository.class), new UploadJobMapper(), fileStorage, outbox,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                new UploadProgressBroadcaster(), deduplicator, new PreflightProperties());
         // stub save to return the passed job with an id
         Mockito.when(repo.save(Mockito.any(UploadJob.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
     }
 
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
     @Test
-    void whenCsvFileProvided_initiateUploadSucceeds() {
+    void whenCsvFileProvided_initiateUploadSucceeds() throws Exception {
         MockMultipartFile file = new MockMultipartFile(
                 "file",
                 "employees.csv",
                 "text/csv",
-                "first_name,last_name\nJohn,Doe".getBytes()
+                "first_name,last_name,email\nJohn,Doe,john@example.com".getBytes()
         );
 
-        UploadJobResponse response = service.initiateUpload(file, "test csv");
+        UploadJobResponse response = service.initiateUpload(file, "test csv", UploadJob.IngestMode.UPSERT, false);
         assertThat(response).isNotNull();
         assertThat(response.getFileType()).isEqualTo(UploadJob.FileType.CSV);
         assertThat(response.getOriginalFilename()).isEqualTo("employees.csv");
+
+        ArgumentCaptor<UploadJob> saved = ArgumentCaptor.forClass(UploadJob.class);
+        Mockito.verify(repo).save(saved.capture());
+        assertThat(saved.getValue().getStorageKey()).startsWith("tenant-1/").endsWith(".csv");
+        Mockito.verify(fileStorage).store(saved.getValue().getStorageKey(), file);
+        Mockito.verify(outbox).uploadRequested(saved.getValue());
+        assertThat(saved.getValue().getContentHash()).hasSize(64);
+        assertThat(saved.getValue().getTotalRows()).isEqualTo(1);
+    }
+
+    @Test
+    void whenIdenticalToPreviousUpload_previousResultIsReusedWithoutStoringOrPublishing() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "employees.csv",
+                "text/csv",
+                "first_name,last_name,email\nJohn,Doe,john@example.com".getBytes()
+        );
+        UUID originalId = UUID.randomUUID();
+        Mockito.when(deduplicator.resolve(Mockito.any(UploadJob.class))).thenAnswer(invocation -> {
+            UploadJob candidate = invocation.getArgument(0);
+            candidate.setStatus(UploadJob.UploadStatus.COMPLETED);
+            candidate.setDuplicateOf(originalId);
+            return Optional.of(candidate);
+        });
+
+        UploadJobResponse response = service.initiateUpload(file, "again", UploadJob.IngestMode.UPSERT, false);
+
+        assertThat(response.getDuplicateOf()).isEqualTo(originalId);
+        assertThat(response.getStatus()).isEqualTo(UploadJob.UploadStatus.COMPLETED);
+        Mockito.verifyNoInteractions(fileStorage, outbox);
     }
 
     @Test
@@ -49,8 +107,22 @@ class UploadServiceImplTest {
                 new byte[]{0,1,2}
         );
 
-        assertThatThrownBy(() -> service.initiateUpload(file, "bad"))
+        assertThatThrownBy(() -> service.initiateUpload(file, "bad", UploadJob.IngestMode.UPSERT, false))
                 .isInstanceOf(InvalidFileException.class)
                 .hasMessageContaining("Invalid file type");
     }
+
+    @Test
+    void whenCompressedFileIsNotInItsNamedFormat_throwsInvalidFileException() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "employees.csv.gz",
+                "application/gzip",
+                "first_name,last_name,email\nJohn,Doe,john@example.com".getBytes()
+        );
+
+        assertThatThrownBy(() -> service.initiateUpload(file, "bad", UploadJob.IngestMode.UPSERT, false))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("not gzip-compressed");
+    }
 }
@@ -0,0 +1,136 @@
+package com.workforce.upload.service;
+
+import com.workforce.upload.config.PreflightProperties;
+import com.workforce.upload.config.StorageProperties;
+import com.workforce.upload.config.UploadSessionProperties;
+import com.workforce.upload.domain.UploadJob;
+import com.workforce.upload.domain.UploadSession;
+import com.workforce.upload.domain.UploadSessionChunk;
+import com.workforce.upload.exception.InvalidFileException;
+import com.workforce.upload.mapper.UploadJobMapper;
+import com.workforce.upload.messaging.UploadEventOutbox;
+import com.workforce.upload.repository.UploadJobRepository;
+import com.workforce.upload.repository.UploadSessionChunkRepository;
+import com.workforce.upload.repository.UploadSessionRepository;
+import com.workforce.upload.storage.LocalFileStorage;
+import com.workforce.upload.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UploadSessionServiceImplTest {
+
+    @TempDir
+    Path baseDir;
+
+    private UploadSessionServiceImpl service;
+    private UploadSessionRepository sessionRepository;
+    private UploadSessionChunkRepository chunkRepository;
+    private UploadJobRepository jobRepository;
+    private LocalFileStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId("tenant-1");
+        sessionRepository = Mockito.mock(UploadSessionRepository.class);
+        chunkRepository = Mockito.mock(UploadSessionChunkRepository.class);
+        jobRepository = Mockito.mock(UploadJobRepository.class);
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.getLocal().setBaseDir(baseDir.toString());
+        storage = new LocalFileStorage(storageProperties);
+        service = new UploadSessionServiceImpl(sessionRepository, chunkRepository, jobRepository, new UploadJobMapper(),
+                Mockito.mock(UploadEventOutbox.class), storage,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                new UploadSessionProperties(), Mockito.mock(UploadDeduplicator.class), new PreflightProperties());
+        Mockito.when(jobRepository.save(Mockito.any(UploadJob.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void completedCsvSessionCarriesTheScannedRowCount() throws Exception {
+        UploadSession session = uploaded("""
+                first_name,last_name,email
+                John,Doe,john@example.com
+                Jane,Roe,jane@example.com
+                """);
+
+        service.completeSession(session.getId(), UploadJob.IngestMode.UPSERT, true);
+
+        ArgumentCaptor<UploadJob> saved = ArgumentCaptor.forClass(UploadJob.class);
+        Mockito.verify(jobRepository).save(saved.capture());
+        assertThat(saved.getValue().getTotalRows()).isEqualTo(2);
+        Mockito.verify(sessionRepository).markCompleted(session.getId(), saved.getValue().getId());
+    }
+
+    @Test
+    void mostlyInvalidCsvIsRejectedAndTheSessionAborted() throws Exception {
+        UploadSession session = uploaded("""
+                first_name,last_name,email
+                John,Doe,not-an-email
+                Jane,Roe,also-not-an-email
+                """);
+
+        assertThatThrownBy(() -> service.completeSession(session.getId(), UploadJob.IngestMode.UPSERT, true))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("2 of the first 2 rows are invalid");
+
+        Mockito.verify(jobRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(sessionRepository).transition(session.getId(),
+                UploadSession.SessionStatus.COMPLETING, UploadSession.SessionStatus.ABORTED);
+        assertThat(baseDir.resolve(session.getStorageKey())).doesNotExist();
+    }
+
+    /** An OPEN session whose single chunk has been written and recorded. */
+    private UploadSession uploaded(String csv) throws Exception {
+        byte[] content = csv.getBytes(StandardCharsets.UTF_8);
+        UUID id = UUID.randomUUID();
+        String key = "tenant-1/" + id + ".csv";
+        storage.beginChunked(key, content.length);
+        String part = storage.writeChunk(key, null, 0, 0, new ByteArrayInputStream(content), content.length);
+
+        UploadSession session = UploadSession.builder()
+                .id(id)
+                .tenantId("tenant-1")
+                .originalFilename("employees.csv")
+                .fileType(UploadJob.FileType.CSV)
+                .fileSize(content.length)
+                .chunkSize(content.length)
+                .totalChunks(1)
+                .storageKey(key)
+                .status(UploadSession.SessionStatus.OPEN)
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        Mockito.when(sessionRepository.findForUpdate(id, "tenant-1")).thenReturn(Optional.of(session));
+        Mockito.when(sessionRepository.transition(Mockito.eq(id), Mockito.any(), Mockito.any())).thenReturn(1);
+        Mockito.when(chunkRepository.findChunkIndexes(id)).thenReturn(List.of(0));
+        Mockito.when(chunkRepository.findAllBySessionIdOrderByChunkIndex(id)).thenReturn(List.of(
+                UploadSessionChunk.builder()
+                        .sessionId(id)
+                        .chunkIndex(0)
+                        .size(content.length)
+                        .sha256("0".repeat(64))
+                        .partEtag(part)
+                        .build()));
+        return session;
+    }
+}
@@ -0,0 +1,102 @@
+package com.workforce.upload.storage;
+
+import com.workforce.upload.config.StorageProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LocalFileStorageTest {
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void chunksWrittenOutOfOrderAssembleIntoTheOriginalFile() throws Exception {
+        LocalFileStorage storage = storage();
+        byte[] content = "first_name,last_name\nJohn,Doe\nJane,Roe\n".getBytes(StandardCharsets.UTF_8);
+        int chunkSize = 16;
+        String key = "tenant-1/upload.csv";
+
+        storage.beginChunked(key, content.length);
+        String[] parts = new String[3];
+        for (int index : new int[]{2, 0, 1}) {
+            parts[index] = writeChunk(storage, key, content, index, chunkSize);
+        }
+        assertThat(baseDir.resolve(key)).doesNotExist();
+
+        storage.completeChunked(key, null, List.of(parts));
+
+        assertThat(Files.readAllBytes(baseDir.resolve(key))).isEqualTo(content);
+        assertThat(baseDir.resolve(key + ".partial")).doesNotExist();
+        assertThat(baseDir.resolve(key + ".parts")).doesNotExist();
+    }
+
+    @Test
+    void corruptResendDoesNotTouchTheRecordedPart() throws Exception {
+        LocalFileStorage storage = storage();
+        byte[] content = "first_name,last_name\nJohn,Doe\n".getBytes(StandardCharsets.UTF_8);
+        String key = "tenant-1/upload.csv";
+        storage.beginChunked(key, content.length);
+        String first = writeChunk(storage, key, content, 0, 16);
+        String second = writeChunk(storage, key, content, 1, 16);
+
+        // Re-send of chunk 0 whose checksum fails: never recorded, so never passed to completeChunked
+        storage.writeChunk(key, null, 0, 0, new ByteArrayInputStream(new byte[16]), 16);
+        storage.completeChunked(key, null, List.of(first, second));
+
+        assertThat(Files.readAllBytes(baseDir.resolve(key))).isEqualTo(content);
+    }
+
+    @Test
+    void repeatedCompleteIsANoOp() throws Exception {
+        LocalFileStorage storage = storage();
+        byte[] content = "first_name\nJohn\n".getBytes(StandardCharsets.UTF_8);
+        String key = "tenant-1/upload.csv";
+        storage.beginChunked(key, content.length);
+        List<String> parts = List.of(writeChunk(storage, key, content, 0, 16));
+
+        storage.completeChunked(key, null, parts);
+        storage.completeChunked(key, null, parts);
+
+        assertThat(Files.readAllBytes(baseDir.resolve(key))).isEqualTo(content);
+    }
+
+    @Test
+    void partIdentifiersCannotEscapeThePartsDirectory() throws Exception {
+        LocalFileStorage storage = storage();
+        storage.beginChunked("tenant-1/upload.csv", 16);
+
+        assertThatThrownBy(() -> storage.completeChunked("tenant-1/upload.csv", null, List.of("../other.csv")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void truncatedChunkIsRejected() throws Exception {
+        LocalFileStorage storage = storage();
+        storage.beginChunked("tenant-1/upload.csv", 32);
+
+        assertThatThrownBy(() -> storage.writeChunk("tenant-1/upload.csv", null, 0, 0,
+                new ByteArrayInputStream(new byte[10]), 16))
+                .hasMessageContaining("ended after 10 of 16 bytes");
+    }
+
+    private static String writeChunk(LocalFileStorage storage, String key, byte[] content, int index, int chunkSize)
+            throws Exception {
+        int offset = index * chunkSize;
+        int length = Math.min(chunkSize, content.length - offset);
+        return storage.writeChunk(key, null, index, offset, new ByteArrayInputStream(content, offset, length), length);
+    }
+
+    private LocalFileStorage storage() {
+        StorageProperties properties = new StorageProperties();
+        properties.getLocal().setBaseDir(baseDir.toString());
+        return new LocalFileStorage(properties);
+    }
+}